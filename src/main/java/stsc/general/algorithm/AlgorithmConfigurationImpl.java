@@ -1,12 +1,14 @@
 package stsc.general.algorithm;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import stsc.common.algorithms.AlgorithmConfiguration;
 import stsc.common.algorithms.MutableAlgorithmConfiguration;
 
 /**
@@ -15,7 +17,9 @@ import stsc.common.algorithms.MutableAlgorithmConfiguration;
  * 2. double; <br/>
  * 3. string; <br/>
  * 4. sub-execution (string like but store order). <br/>
- * Also implements writeExternal / read (external).
+ * Also implements writeExternal / read (external). <br/>
+ * {@link #fingerprint()} is calculated once and cached until the configuration is changed by setters (changes through maps returned by getters
+ * are not tracked).
  */
 public final class AlgorithmConfigurationImpl implements MutableAlgorithmConfiguration {
 
@@ -24,6 +28,9 @@ public final class AlgorithmConfigurationImpl implements MutableAlgorithmConfigu
 	private final HashMap<String, String> strings;
 	private final ArrayList<String> subExecutions;
 
+	// reset by setters; Fingerprint is immutable, so concurrent calculation is harmless
+	private Fingerprint fingerprint;
+
 	public AlgorithmConfigurationImpl() {
 		this.integers = new HashMap<>();
 		this.doubles = new HashMap<>();
@@ -46,30 +53,35 @@ public final class AlgorithmConfigurationImpl implements MutableAlgorithmConfigu
 	@Override
 	public AlgorithmConfigurationImpl setString(final String key, final String value) {
 		strings.put(key, value);
+		fingerprint = null;
 		return this;
 	}
 
 	@Override
 	public AlgorithmConfigurationImpl setInteger(final String key, final Integer value) {
 		integers.put(key, value);
+		fingerprint = null;
 		return this;
 	}
 
 	@Override
 	public AlgorithmConfigurationImpl setDouble(final String key, final Double value) {
 		doubles.put(key, value);
+		fingerprint = null;
 		return this;
 	}
 
 	@Override
 	public AlgorithmConfigurationImpl addSubExecutionName(final String subExecutionName) {
 		subExecutions.add(subExecutionName);
+		fingerprint = null;
 		return this;
 	}
 
 	@Override
 	public AlgorithmConfigurationImpl setSubExecutionName(int index, String value) {
 		subExecutions.set(index, value);
+		fingerprint = null;
 		return this;
 	}
 
@@ -141,6 +153,59 @@ public final class AlgorithmConfigurationImpl implements MutableAlgorithmConfigu
 		}
 	}
 
+	/**
+	 * @return stable fingerprint of the configuration (keys are sorted, sub-executions are in order).
+	 */
+	public Fingerprint fingerprint() {
+		Fingerprint result = fingerprint;
+		if (result == null) {
+			result = calculateFingerprint(this);
+			fingerprint = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Calculates fingerprint for any {@link AlgorithmConfiguration} (for {@link AlgorithmConfigurationImpl} cached value is returned).
+	 */
+	public static Fingerprint fingerprint(final AlgorithmConfiguration configuration) {
+		if (configuration instanceof AlgorithmConfigurationImpl) {
+			return ((AlgorithmConfigurationImpl) configuration).fingerprint();
+		}
+		return calculateFingerprint(configuration);
+	}
+
+	private static Fingerprint calculateFingerprint(final AlgorithmConfiguration configuration) {
+		final Fingerprint.Builder builder = Fingerprint.getBuilder();
+		final Map<String, Integer> integers = configuration.getIntegers();
+		builder.add(integers.size());
+		for (String key : sortedKeys(integers)) {
+			builder.add(key).add(integers.get(key).intValue());
+		}
+		final Map<String, Double> doubles = configuration.getDoubles();
+		builder.add(doubles.size());
+		for (String key : sortedKeys(doubles)) {
+			builder.add(key).add(doubles.get(key).doubleValue());
+		}
+		final Map<String, String> strings = configuration.getStrings();
+		builder.add(strings.size());
+		for (String key : sortedKeys(strings)) {
+			builder.add(key).add(strings.get(key));
+		}
+		final List<String> subExecutions = configuration.getSubExecutions();
+		builder.add(subExecutions.size());
+		for (String subExecution : subExecutions) {
+			builder.add(subExecution);
+		}
+		return builder.build();
+	}
+
+	private static String[] sortedKeys(final Map<String, ?> map) {
+		final String[] keys = map.keySet().toArray(new String[map.size()]);
+		Arrays.sort(keys);
+		return keys;
+	}
+
 	// common methods
 
 	@Override
@@ -0,0 +1,121 @@
+package stsc.general.algorithm;
+
+/**
+ * Stable 128 bit fingerprint of algorithm settings / executions. <br/>
+ * It is not a cryptographic hash, but two lanes of 64 bit mixing make accidental collisions practically impossible for settings spaces
+ * that we search. Use {@link #getBuilder()} to create it; value of fingerprint depends only on the order of added values (so callers have
+ * to add values in canonical order, for example by sorted keys).
+ */
+public final class Fingerprint {
+
+	private static final long C1 = 0x87c37b91114253d5L;
+	private static final long C2 = 0x4cf5ad432745937fL;
+
+	private final long high;
+	private final long low;
+
+	public static Builder getBuilder() {
+		return new Builder();
+	}
+
+	public Fingerprint(final long high, final long low) {
+		this.high = high;
+		this.low = low;
+	}
+
+	public long getHigh() {
+		return high;
+	}
+
+	public long getLow() {
+		return low;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (low ^ (low >>> 32));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		final Fingerprint other = (Fingerprint) obj;
+		return high == other.high && low == other.low;
+	}
+
+	/**
+	 * @return 32 hex digits.
+	 */
+	@Override
+	public String toString() {
+		return String.format("%016x%016x", high, low);
+	}
+
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+		return value;
+	}
+
+	/**
+	 * Accumulates values (no allocations per added value).
+	 */
+	public static final class Builder {
+
+		private long h1 = 0x9368e53c2f6af274L;
+		private long h2 = 0x586dcd208f7cd3fdL;
+		private long length = 0;
+
+		private Builder() {
+		}
+
+		public Builder add(final long value) {
+			h1 = Long.rotateLeft(h1 ^ mix(value * C1), 27) * 5 + 0x52dce729;
+			h2 = Long.rotateLeft(h2 ^ mix(value * C2), 31) * 5 + 0x38495ab5;
+			length += 1;
+			return this;
+		}
+
+		public Builder add(final int value) {
+			return add((long) value);
+		}
+
+		public Builder add(final double value) {
+			return add(Double.doubleToLongBits(value));
+		}
+
+		/**
+		 * null and empty string are different values.
+		 */
+		public Builder add(final String value) {
+			if (value == null) {
+				return add(-1L);
+			}
+			add((long) value.length());
+			for (int i = 0; i < value.length(); ++i) {
+				add((long) value.charAt(i));
+			}
+			return this;
+		}
+
+		public Builder add(final Fingerprint value) {
+			return add(value.high).add(value.low);
+		}
+
+		public Fingerprint build() {
+			final long a = mix(h1 ^ length);
+			final long b = mix(h2 ^ length);
+			return new Fingerprint(a + b, b + a * 31);
+		}
+
+	}
+
+}
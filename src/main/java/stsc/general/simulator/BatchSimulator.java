@@ -0,0 +1,105 @@
+package stsc.general.simulator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import stsc.common.BadSignalException;
+import stsc.common.algorithms.BadAlgorithmException;
+import stsc.common.storage.SignalsStorage;
+import stsc.general.statistic.Metrics;
+import stsc.general.statistic.pruning.SimulationPruningPolicy;
+import stsc.general.trading.BatchTradeProcessor;
+import stsc.general.trading.BrokerImpl;
+import stsc.general.trading.TradeProcessorInit;
+
+/**
+ * Batch evaluation of several {@link Execution}s (usually parameterizations from one grid or genetic population) in one pass over market
+ * data (see {@link BatchTradeProcessor}). All executions of batch should share stock storage (by reference), period and stock names (see
+ * {@link #isBatchable(Execution, Execution)}). Results are available by execution index.
+ */
+public final class BatchSimulator implements AutoCloseable {
+
+	private static Logger logger = LogManager.getLogger(BatchSimulator.class.getName());
+
+	private final Optional<SimulationPruningPolicy> pruningPolicy;
+
+	private List<Metrics> metrics = new ArrayList<>();
+	private BatchTradeProcessor tradeProcessor;
+	private List<BrokerImpl> brokers = new ArrayList<>();
+
+	public BatchSimulator() {
+		this(Optional.empty());
+	}
+
+	public BatchSimulator(final Optional<SimulationPruningPolicy> pruningPolicy) {
+		this.pruningPolicy = pruningPolicy;
+	}
+
+	/**
+	 * @return true if executions could be simulated in one batch (same stock storage, period and stock names).
+	 */
+	public static boolean isBatchable(final Execution left, final Execution right) {
+		final TradeProcessorInit l = left.getInit();
+		final TradeProcessorInit r = right.getInit();
+		return l.getBrokerImpl().getStockStorage() == r.getBrokerImpl().getStockStorage() && //
+				l.getPeriod().getFrom().equals(r.getPeriod().getFrom()) && //
+				l.getPeriod().getTo().equals(r.getPeriod().getTo()) && //
+				left.getStockNames().equals(right.getStockNames());
+	}
+
+	public void simulateMarketTrading(final List<? extends Execution> executions) throws BadAlgorithmException, BadSignalException {
+		Validate.notEmpty(executions, "batch should contain at least one execution");
+		final Execution first = executions.get(0);
+		final List<TradeProcessorInit> settings = new ArrayList<>(executions.size());
+		for (Execution execution : executions) {
+			Validate.isTrue(isBatchable(first, execution), "executions of batch should share stock storage, period and stock names");
+			settings.add(execution.getInit());
+			brokers.add(execution.getInit().getBrokerImpl());
+		}
+		logger.info("Batch simulator starting for " + executions.size() + " executions");
+		tradeProcessor = new BatchTradeProcessor(settings, pruningPolicy);
+		metrics = tradeProcessor.simulate(first.getInit().getPeriod(), first.getStockNames());
+		logger.info("Batch simulation finished");
+	}
+
+	public int size() {
+		return metrics.size();
+	}
+
+	public Metrics getMetrics(final int index) {
+		return metrics.get(index);
+	}
+
+	public SignalsStorage getSignalsStorage(final int index) {
+		return tradeProcessor.getExecutionStorage(index).getSignalsStorage();
+	}
+
+	/**
+	 * @return true if simulation of execution with index was stopped before the end of period.
+	 */
+	public boolean isPruned(final int index) {
+		return tradeProcessor.isPruned(index);
+	}
+
+	/**
+	 * Closes brokers of simulated executions (see {@link SimulatorImpl#close()}).
+	 */
+	@Override
+	public void close() {
+		for (BrokerImpl broker : brokers) {
+			try {
+				broker.close();
+			} catch (IOException e) {
+				logger.error("Trading log could not be closed: " + e.getMessage());
+			}
+		}
+		brokers.clear();
+	}
+
+}
@@ -3,6 +3,7 @@ package stsc.general.simulator;
 import java.util.Optional;
 import java.util.Set;
 
+import stsc.general.algorithm.Fingerprint;
 import stsc.general.trading.TradeProcessorInit;
 
 public interface Execution extends Cloneable {
@@ -13,6 +14,15 @@ public interface Execution extends Cloneable {
 
 	String stringHashCode();
 
+	/**
+	 * Stable (deterministic) fingerprint of execution settings, cheap replacement of {@link #stringHashCode()} for equality checks. <br/>
+	 * Default implementation fingerprints {@link #stringHashCode()}, implementations should override it when fingerprint could be
+	 * calculated without building string.
+	 */
+	default Fingerprint fingerprint() {
+		return Fingerprint.getBuilder().add(stringHashCode()).build();
+	}
+
 	Execution clone();
 
 	Optional<Set<String>> getStockNames();
@@ -5,6 +5,7 @@ import java.util.Set;
 
 import org.apache.commons.lang3.Validate;
 
+import stsc.general.algorithm.Fingerprint;
 import stsc.general.statistic.Metrics;
 import stsc.general.trading.TradeProcessor;
 import stsc.general.trading.TradeProcessorInit;
@@ -46,6 +47,11 @@ public final class ExecutionImpl implements Execution {
 		return tradeProcessorInit.stringHashCode();
 	}
 
+	@Override
+	public Fingerprint fingerprint() {
+		return tradeProcessorInit.fingerprint();
+	}
+
 	@Override
 	public long getId() {
 		return id;
@@ -0,0 +1,209 @@
+package stsc.general.simulator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import stsc.common.BadSignalException;
+import stsc.common.algorithms.BadAlgorithmException;
+import stsc.common.storage.SignalsStorage;
+import stsc.general.algorithm.Fingerprint;
+import stsc.general.statistic.Metrics;
+import stsc.general.trading.TradeProcessorInit;
+
+/**
+ * {@link SimulatorFactory} decorator that memoize {@link Metrics} of simulated {@link Execution}s. <br/>
+ * Key is a 128 bit {@link Fingerprint} of execution settings ({@link Execution#fingerprint()}), period and (sorted) stock names set. Stock prices are not
+ * part of the key, so on-disk store should be reused only over the same stock storage data. <br/>
+ * Cached {@link Metrics} are stored at bounded (LRU) in-memory map and optionally at on-disk store (directory with file per key, equity
+ * curve is not stored on disk, files written by other {@link Metrics} format version are treated as missing). Pruned simulations are not
+ * cached. For cached results {@link Simulator#getSignalsStorage()} returns null.
+ */
+public final class MemoizingSimulatorFactory implements SimulatorFactory {
+
+	private static Logger logger = LogManager.getLogger(MemoizingSimulatorFactory.class.getName());
+
+	private static final String FILE_EXTENSION = ".metrics";
+
+	private final SimulatorFactory simulatorFactory;
+	private final Map<Fingerprint, Metrics> cache;
+	private final Optional<Path> storeDirectory;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public MemoizingSimulatorFactory(final SimulatorFactory simulatorFactory, final int maximumSize) {
+		this(simulatorFactory, maximumSize, Optional.empty());
+	}
+
+	public MemoizingSimulatorFactory(final SimulatorFactory simulatorFactory, final int maximumSize, final Optional<Path> storeDirectory) {
+		Validate.notNull(simulatorFactory);
+		Validate.isTrue(maximumSize > 0, "maximum size of simulation cache should be bigger then 0");
+		this.simulatorFactory = simulatorFactory;
+		this.cache = new LinkedHashMap<Fingerprint, Metrics>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Fingerprint, Metrics> eldest) {
+				return size() > maximumSize;
+			}
+		};
+		this.storeDirectory = storeDirectory;
+		if (storeDirectory.isPresent()) {
+			try {
+				Files.createDirectories(storeDirectory.get());
+			} catch (IOException e) {
+				throw new UncheckedIOException("Simulation cache directory could not be created at " + storeDirectory.get(), e);
+			}
+		}
+	}
+
+	@Override
+	public Simulator createSimulator() {
+		return new MemoizingSimulator();
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	static Fingerprint calculateKey(final Execution execution) {
+		final TradeProcessorInit init = execution.getInit();
+		final Fingerprint.Builder builder = Fingerprint.getBuilder();
+		builder.add(execution.fingerprint());
+		builder.add(init.getPeriod().getFrom().getTime());
+		builder.add(init.getPeriod().getTo().getTime());
+		final Set<String> stockNames = new TreeSet<>(execution.getStockNames().orElseGet(() -> init.getBrokerImpl().getStockStorage().getStockNames()));
+		builder.add(stockNames.size());
+		for (String stockName : stockNames) {
+			builder.add(stockName);
+		}
+		return builder.build();
+	}
+
+	private Optional<Metrics> get(final Fingerprint key) {
+		synchronized (cache) {
+			final Metrics metrics = cache.get(key);
+			if (metrics != null) {
+				return Optional.of(metrics);
+			}
+		}
+		if (storeDirectory.isPresent()) {
+			final Optional<Metrics> metrics = read(storeDirectory.get().resolve(key.toString() + FILE_EXTENSION));
+			if (metrics.isPresent()) {
+				synchronized (cache) {
+					cache.put(key, metrics.get());
+				}
+			}
+			return metrics;
+		}
+		return Optional.empty();
+	}
+
+	private void put(final Fingerprint key, final Metrics metrics) {
+		synchronized (cache) {
+			cache.put(key, metrics);
+		}
+		if (storeDirectory.isPresent()) {
+			write(storeDirectory.get().resolve(key.toString() + FILE_EXTENSION), metrics);
+		}
+	}
+
+	private static Optional<Metrics> read(final Path file) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			return Optional.of(Metrics.read(in));
+		} catch (NoSuchFileException e) {
+			return Optional.empty();
+		} catch (IOException e) {
+			logger.error("Cached metrics could not be read from " + file + ": " + e.getMessage());
+			return Optional.empty();
+		}
+	}
+
+	private static void write(final Path file, final Metrics metrics) {
+		try {
+			final Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+				metrics.write(out);
+			}
+			Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			logger.error("Metrics could not be cached to " + file + ": " + e.getMessage());
+		}
+	}
+
+	private final class MemoizingSimulator implements Simulator {
+
+		private Metrics metrics;
+		private SignalsStorage signalsStorage;
+		private boolean pruned = false;
+		private Optional<Simulator> simulated = Optional.empty();
+
+		@Override
+		public void simulateMarketTrading(final Execution simulatorSettings) throws BadAlgorithmException, BadSignalException {
+			final Fingerprint key = calculateKey(simulatorSettings);
+			final Optional<Metrics> cached = get(key);
+			if (cached.isPresent()) {
+				hits.incrementAndGet();
+				metrics = cached.get();
+				return;
+			}
+			misses.incrementAndGet();
+			final Simulator simulator = simulatorFactory.createSimulator();
+			simulated = Optional.of(simulator);
+			simulator.simulateMarketTrading(simulatorSettings);
+			metrics = simulator.getMetrics();
+			signalsStorage = simulator.getSignalsStorage();
+			pruned = simulator.isPruned();
+			if (!pruned) {
+				put(key, metrics);
+			}
+		}
+
+		@Override
+		public Metrics getMetrics() {
+			return metrics;
+		}
+
+		@Override
+		public SignalsStorage getSignalsStorage() {
+			return signalsStorage;
+		}
+
+		@Override
+		public boolean isPruned() {
+			return pruned;
+		}
+
+		@Override
+		public void close() {
+			if (simulated.isPresent()) {
+				simulated.get().close();
+				simulated = Optional.empty();
+			}
+		}
+
+	}
+
+}
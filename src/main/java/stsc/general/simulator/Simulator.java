@@ -8,7 +8,7 @@ import stsc.general.statistic.Metrics;
 /**
  * Simulator interface - each simulator should automatically execute simulation on start and set {@link Metrics} and {@link SignalsStorage}.
  */
-public interface Simulator {
+public interface Simulator extends AutoCloseable {
 
 	public void simulateMarketTrading(final Execution simulatorSettings) throws BadAlgorithmException, BadSignalException;
 
@@ -16,4 +16,21 @@ public interface Simulator {
 
 	public SignalsStorage getSignalsStorage();
 
+	/**
+	 * @return true if simulation was stopped before the end of period (so
+	 *         {@link Metrics} should not be used for strategy selection).
+	 *         Simulators without pruning support always run whole period.
+	 */
+	public default boolean isPruned() {
+		return false;
+	}
+
+	/**
+	 * Releases resources of simulation (for example memory mapped trading log of simulated execution broker), so it should be called after
+	 * {@link Metrics} and trading log are used.
+	 */
+	@Override
+	public default void close() {
+	}
+
 }
@@ -1,10 +1,24 @@
 package stsc.general.simulator;
 
+import java.util.Optional;
+
+import stsc.general.statistic.pruning.SimulationPruningPolicy;
+
 public final class SimulatorFactoryImpl implements SimulatorFactory {
 
+	private final Optional<SimulationPruningPolicy> pruningPolicy;
+
+	public SimulatorFactoryImpl() {
+		this(Optional.empty());
+	}
+
+	public SimulatorFactoryImpl(final Optional<SimulationPruningPolicy> pruningPolicy) {
+		this.pruningPolicy = pruningPolicy;
+	}
+
 	@Override
 	public Simulator createSimulator() {
-		return new SimulatorImpl();
+		return new SimulatorImpl(pruningPolicy);
 	}
 
 }
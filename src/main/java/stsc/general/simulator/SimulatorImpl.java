@@ -1,6 +1,7 @@
 package stsc.general.simulator;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TimeZone;
@@ -15,6 +16,8 @@ import stsc.common.algorithms.BadAlgorithmException;
 import stsc.common.storage.SignalsStorage;
 import stsc.common.storage.StockStorage;
 import stsc.general.statistic.Metrics;
+import stsc.general.statistic.pruning.SimulationPruningPolicy;
+import stsc.general.trading.BrokerImpl;
 import stsc.general.trading.TradeProcessor;
 import stsc.general.trading.TradeProcessorInit;
 
@@ -34,8 +37,16 @@ public final class SimulatorImpl implements Simulator {
 
 	private Metrics metrics;
 	private SignalsStorage signalsStorage;
+	private boolean pruned = false;
+	private Optional<BrokerImpl> broker = Optional.empty();
+	private final Optional<SimulationPruningPolicy> pruningPolicy;
 
 	public SimulatorImpl() {
+		this(Optional.empty());
+	}
+
+	public SimulatorImpl(final Optional<SimulationPruningPolicy> pruningPolicy) {
+		this.pruningPolicy = pruningPolicy;
 	}
 
 	@Override
@@ -46,10 +57,12 @@ public final class SimulatorImpl implements Simulator {
 		} else {
 			logger.info("Simulator starting on all possible stocks");
 		}
-		final TradeProcessor tradeProcessor = new TradeProcessor(simulatorSettings.getInit());
+		broker = Optional.of(simulatorSettings.getInit().getBrokerImpl());
+		final TradeProcessor tradeProcessor = new TradeProcessor(simulatorSettings.getInit(), pruningPolicy);
 		metrics = tradeProcessor.simulate(simulatorSettings.getInit().getPeriod(), simulatorSettings.getStockNames());
 		signalsStorage = tradeProcessor.getExecutionStorage().getSignalsStorage();
-		logger.info("Simulated finished");
+		pruned = tradeProcessor.isPruned();
+		logger.info(pruned ? "Simulated pruned" : "Simulated finished");
 	}
 
 	public static Simulator fromConfig(final StockStorage stockStorage, final FromToPeriod period, final String config)
@@ -75,4 +88,24 @@ public final class SimulatorImpl implements Simulator {
 		return signalsStorage;
 	}
 
+	@Override
+	public boolean isPruned() {
+		return pruned;
+	}
+
+	/**
+	 * Closes broker of simulated execution, so its trading log should be used (printed out) before it.
+	 */
+	@Override
+	public void close() {
+		if (broker.isPresent()) {
+			try {
+				broker.get().close();
+			} catch (IOException e) {
+				logger.error("Trading log could not be closed: " + e.getMessage());
+			}
+			broker = Optional.empty();
+		}
+	}
+
 }
@@ -0,0 +1,54 @@
+package stsc.general.simulator.distributed;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import stsc.common.FromToPeriod;
+import stsc.common.storage.StockStorage;
+import stsc.general.trading.MarketDataTimeline;
+
+/**
+ * Internal (package-private) memo of {@link MarketDataTimeline}s over {@link StockStorage} of {@link SimulationWorker}. <br/>
+ * Executions received from coordinator usually share period and stock set (one search), so timeline is prepared once per (period, stock
+ * set) instead of once per execution. Amount of stored timelines is bounded (least recently used timeline is removed).
+ */
+final class MarketDataTimelineCache {
+
+	private static final int MAXIMUM_SIZE = 16;
+
+	private final StockStorage stockStorage;
+	private final Map<List<Object>, MarketDataTimeline> timelines = new LinkedHashMap<List<Object>, MarketDataTimeline>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<Object>, MarketDataTimeline> eldest) {
+			return size() > MAXIMUM_SIZE;
+		}
+	};
+
+	MarketDataTimelineCache(final StockStorage stockStorage) {
+		this.stockStorage = stockStorage;
+	}
+
+	StockStorage getStockStorage() {
+		return stockStorage;
+	}
+
+	/**
+	 * Timeline is prepared under lock, so simulation threads that need the same timeline wait for it instead of preparing own copy.
+	 */
+	synchronized MarketDataTimeline get(final FromToPeriod period, final Optional<Set<String>> stockNames) {
+		final List<Object> key = Arrays.asList(period.getFrom().getTime(), period.getTo().getTime(), stockNames);
+		MarketDataTimeline timeline = timelines.get(key);
+		if (timeline == null) {
+			timeline = MarketDataTimeline.create(stockStorage, period, stockNames);
+			timelines.put(key, timeline);
+		}
+		return timeline;
+	}
+
+}
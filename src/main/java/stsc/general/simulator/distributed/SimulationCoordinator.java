@@ -0,0 +1,275 @@
+package stsc.general.simulator.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import stsc.common.algorithms.BadAlgorithmException;
+import stsc.common.storage.SignalsStorage;
+import stsc.general.simulator.Execution;
+import stsc.general.simulator.Simulator;
+import stsc.general.simulator.SimulatorFactory;
+import stsc.general.statistic.Metrics;
+
+/**
+ * {@link SimulationCoordinator} is a {@link SimulatorFactory} that executes simulations on remote {@link SimulationWorker}s (other processes
+ * or other nodes). <br/>
+ * Coordinator listens TCP port, each worker connection receives one encoded {@link Execution} at a time and answers with {@link Metrics}
+ * (see {@link SimulationProtocol}). {@link Simulator#simulateMarketTrading(Execution)} of created simulators blocks till some worker
+ * returns result, so coordinator could be used by any searcher (for example thread amount of genetic searcher should be equal to sum of
+ * worker threads). <br/>
+ * When worker connection dies in-flight task is re-queued and executed by other worker, task fails when max attempts amount of connections
+ * died with it (so one execution that kills workers could not kill all of them). {@link Simulator#getSignalsStorage()} of remote simulators
+ * returns null (signals are not transferred).
+ */
+public final class SimulationCoordinator implements SimulatorFactory, AutoCloseable {
+
+	private static Logger logger = LogManager.getLogger(SimulationCoordinator.class.getName());
+
+	public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+	private static final class RemoteTask {
+		private final byte[] request;
+		private final CompletableFuture<RemoteResult> result = new CompletableFuture<>();
+		// amount of worker connections that received this task
+		private int attempts = 0;
+
+		RemoteTask(final byte[] request) {
+			this.request = request;
+		}
+	}
+
+	private static final class RemoteResult {
+		private final Metrics metrics;
+		private final boolean pruned;
+
+		RemoteResult(final Metrics metrics, final boolean pruned) {
+			this.metrics = metrics;
+			this.pruned = pruned;
+		}
+	}
+
+	private final ServerSocket serverSocket;
+	private final Thread acceptThread;
+	private final BlockingDeque<RemoteTask> tasks = new LinkedBlockingDeque<>();
+	private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+	private final Set<Thread> connectionThreads = ConcurrentHashMap.newKeySet();
+	private final int maxAttempts;
+	private final AtomicLong requeuedTasks = new AtomicLong();
+	private volatile boolean closed = false;
+
+	/**
+	 * Creates coordinator on loopback interface (for workers at the same node).
+	 *
+	 * @param port
+	 *            - port to listen (0 - any free port, see {@link #getPort()}).
+	 */
+	public SimulationCoordinator(final int port) throws IOException {
+		this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+	}
+
+	public SimulationCoordinator(final InetSocketAddress bindAddress) throws IOException {
+		this(bindAddress, DEFAULT_MAX_ATTEMPTS);
+	}
+
+	/**
+	 * @param maxAttempts
+	 *            - maximal amount of worker connections that could die with the same task in flight (task fails after that).
+	 */
+	public SimulationCoordinator(final InetSocketAddress bindAddress, final int maxAttempts) throws IOException {
+		Validate.isTrue(maxAttempts > 0, "max attempts amount should be bigger then 0");
+		this.maxAttempts = maxAttempts;
+		this.serverSocket = new ServerSocket();
+		this.serverSocket.bind(bindAddress);
+		this.acceptThread = new Thread(this::acceptConnections, "simulation-coordinator-accept");
+		this.acceptThread.setDaemon(true);
+		this.acceptThread.start();
+	}
+
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	public int getWorkerConnectionsAmount() {
+		return connections.size();
+	}
+
+	/**
+	 * @return amount of tasks that were re-queued because worker connection died before result was received.
+	 */
+	public long getRequeuedTasksAmount() {
+		return requeuedTasks.get();
+	}
+
+	@Override
+	public Simulator createSimulator() {
+		return new RemoteSimulator();
+	}
+
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		serverSocket.close();
+		for (Socket connection : connections) {
+			connection.close();
+		}
+		// wakes connection threads that wait for tasks
+		for (Thread connectionThread : connectionThreads) {
+			connectionThread.interrupt();
+		}
+		failQueuedTasks();
+	}
+
+	private void failQueuedTasks() {
+		RemoteTask task;
+		while ((task = tasks.poll()) != null) {
+			task.result.completeExceptionally(new BadAlgorithmException("Simulation coordinator closed"));
+		}
+	}
+
+	private void acceptConnections() {
+		while (!closed) {
+			try {
+				final Socket connection = serverSocket.accept();
+				final Thread connectionThread = new Thread(() -> serveConnection(connection), "simulation-coordinator-" + connection.getRemoteSocketAddress());
+				connectionThread.setDaemon(true);
+				connectionThreads.add(connectionThread);
+				connectionThread.start();
+			} catch (IOException e) {
+				if (!closed) {
+					logger.error("Simulation worker connection could not be accepted: " + e.getMessage());
+				}
+			}
+		}
+	}
+
+	private void serveConnection(final Socket connection) {
+		connections.add(connection);
+		RemoteTask task = null;
+		try {
+			connection.setTcpNoDelay(true);
+			final DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+			final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+			SimulationProtocol.readHandshake(in);
+			while (!closed) {
+				task = tasks.take();
+				if (task.result.isDone()) {
+					task = null;
+					continue;
+				}
+				task.attempts += 1;
+				SimulationProtocol.writeRequest(out, task.request);
+				out.flush();
+				final byte status = in.readByte();
+				if (status == SimulationProtocol.RESPONSE_ERROR) {
+					task.result.completeExceptionally(new BadAlgorithmException(in.readUTF()));
+				} else {
+					task.result.complete(new RemoteResult(Metrics.read(in), status == SimulationProtocol.RESPONSE_PRUNED));
+				}
+				task = null;
+			}
+		} catch (IOException e) {
+			if (!closed) {
+				logger.warn("Simulation worker " + connection.getRemoteSocketAddress() + " disconnected: " + e.getMessage());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			connections.remove(connection);
+			connectionThreads.remove(Thread.currentThread());
+			if (task != null) {
+				requeue(task);
+			}
+			try {
+				connection.close();
+			} catch (IOException e) {
+				logger.error("Simulation worker connection could not be closed: " + e.getMessage());
+			}
+		}
+	}
+
+	private void requeue(final RemoteTask task) {
+		if (closed) {
+			task.result.completeExceptionally(new BadAlgorithmException("Simulation coordinator closed"));
+			return;
+		}
+		if (task.attempts >= maxAttempts) {
+			task.result.completeExceptionally(new BadAlgorithmException("Remote simulation failed: " + task.attempts + " worker connections died with it"));
+			return;
+		}
+		requeuedTasks.incrementAndGet();
+		tasks.addFirst(task);
+	}
+
+	private final class RemoteSimulator implements Simulator {
+
+		private Metrics metrics;
+		private boolean pruned = false;
+
+		@Override
+		public void simulateMarketTrading(final Execution simulatorSettings) throws BadAlgorithmException {
+			if (closed) {
+				throw new BadAlgorithmException("Simulation coordinator closed");
+			}
+			final RemoteTask task;
+			try {
+				task = new RemoteTask(SimulationProtocol.encodeExecution(simulatorSettings));
+			} catch (IOException e) {
+				throw new BadAlgorithmException("Execution could not be encoded: " + e.getMessage());
+			}
+			tasks.add(task);
+			if (closed) {
+				// coordinator could be closed after check above and before task was added
+				failQueuedTasks();
+			}
+			try {
+				final RemoteResult result = task.result.get();
+				metrics = result.metrics;
+				pruned = result.pruned;
+			} catch (InterruptedException e) {
+				task.result.cancel(false);
+				Thread.currentThread().interrupt();
+				throw new BadAlgorithmException("Remote simulation interrupted");
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof BadAlgorithmException) {
+					throw (BadAlgorithmException) e.getCause();
+				}
+				throw new BadAlgorithmException("Remote simulation failed: " + e.getCause());
+			}
+		}
+
+		@Override
+		public Metrics getMetrics() {
+			return metrics;
+		}
+
+		@Override
+		public SignalsStorage getSignalsStorage() {
+			return null;
+		}
+
+		@Override
+		public boolean isPruned() {
+			return pruned;
+		}
+
+	}
+
+}
@@ -0,0 +1,221 @@
+package stsc.general.simulator.distributed;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import stsc.common.FromToPeriod;
+import stsc.common.algorithms.AlgorithmConfiguration;
+import stsc.common.algorithms.EodAlgorithm;
+import stsc.common.algorithms.EodExecutionInstance;
+import stsc.common.algorithms.ExecutionInstance;
+import stsc.common.algorithms.StockAlgorithm;
+import stsc.common.algorithms.StockExecutionInstance;
+import stsc.general.algorithm.AlgorithmConfigurationImpl;
+import stsc.general.simulator.Execution;
+import stsc.general.simulator.ExecutionImpl;
+import stsc.general.statistic.Metrics;
+import stsc.general.trading.TradeProcessorInit;
+import stsc.storage.ExecutionInstancesStorage;
+
+/**
+ * Internal (package-private) binary protocol between {@link SimulationCoordinator} and {@link SimulationWorker}. <br/>
+ * 1. Worker connection starts with handshake (magic, version); <br/>
+ * 2. Coordinator sends request: length prefixed encoded {@link Execution} (id, period, optional stock names, stock and eod executions with
+ * algorithm class names and settings); <br/>
+ * 3. Worker answers with response: status and {@link Metrics} (without equity curve) or error message. <br/>
+ * Request is length prefixed, so worker could answer with error (and keep connection) when execution could not be decoded (for example
+ * algorithm class is not available at worker class path). <br/>
+ * There is only one request in flight per connection (worker opens one connection per simulation thread).
+ */
+final class SimulationProtocol {
+
+	static final int MAGIC = 0x53545357;
+	static final int VERSION = 1;
+
+	static final byte RESPONSE_METRICS = 0;
+	static final byte RESPONSE_PRUNED = 1;
+	static final byte RESPONSE_ERROR = 2;
+
+	private static final int MAX_ERROR_LENGTH = 4096;
+
+	private SimulationProtocol() {
+	}
+
+	static void writeHandshake(final DataOutput out) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+	}
+
+	static void readHandshake(final DataInput in) throws IOException {
+		if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+			throw new IOException("Not a simulation worker (or unsupported protocol version)");
+		}
+	}
+
+	// request
+
+	static byte[] encodeExecution(final Execution execution) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		writeExecution(out, execution);
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decoded execution is simulated over stock storage of timelines (with prepared timeline for its period and stock set).
+	 */
+	static Execution decodeExecution(final byte[] request, final MarketDataTimelineCache timelines) throws IOException {
+		return readExecution(new DataInputStream(new ByteArrayInputStream(request)), timelines);
+	}
+
+	static void writeRequest(final DataOutput out, final byte[] request) throws IOException {
+		out.writeInt(request.length);
+		out.write(request);
+	}
+
+	static byte[] readRequest(final DataInput in) throws IOException {
+		final int length = in.readInt();
+		if (length < 0) {
+			throw new IOException("Wrong request length: " + length);
+		}
+		final byte[] request = new byte[length];
+		in.readFully(request);
+		return request;
+	}
+
+	private static void writeExecution(final DataOutput out, final Execution execution) throws IOException {
+		final TradeProcessorInit init = execution.getInit();
+		out.writeLong(execution.getId());
+		out.writeLong(init.getPeriod().getFrom().getTime());
+		out.writeLong(init.getPeriod().getTo().getTime());
+		final Optional<Set<String>> stockNames = execution.getStockNames();
+		out.writeBoolean(stockNames.isPresent());
+		if (stockNames.isPresent()) {
+			out.writeInt(stockNames.get().size());
+			for (String stockName : stockNames.get()) {
+				out.writeUTF(stockName);
+			}
+		}
+		final ExecutionInstancesStorage executionsStorage = init.getExecutionsStorage();
+		writeExecutionInstances(out, executionsStorage.getStockExecutions());
+		writeExecutionInstances(out, executionsStorage.getEodExecutions());
+	}
+
+	private static void writeExecutionInstances(final DataOutput out, final List<? extends ExecutionInstance<?>> executions) throws IOException {
+		out.writeInt(executions.size());
+		for (ExecutionInstance<?> e : executions) {
+			out.writeUTF(e.getExecutionName());
+			out.writeUTF(e.getAlgorithmType().getName());
+			writeConfiguration(out, e.getSettings());
+		}
+	}
+
+	private static void writeConfiguration(final DataOutput out, final AlgorithmConfiguration configuration) throws IOException {
+		out.writeInt(configuration.getIntegers().size());
+		for (Map.Entry<String, Integer> e : configuration.getIntegers().entrySet()) {
+			out.writeUTF(e.getKey());
+			out.writeInt(e.getValue());
+		}
+		out.writeInt(configuration.getDoubles().size());
+		for (Map.Entry<String, Double> e : configuration.getDoubles().entrySet()) {
+			out.writeUTF(e.getKey());
+			out.writeDouble(e.getValue());
+		}
+		out.writeInt(configuration.getStrings().size());
+		for (Map.Entry<String, String> e : configuration.getStrings().entrySet()) {
+			out.writeUTF(e.getKey());
+			out.writeUTF(e.getValue());
+		}
+		out.writeInt(configuration.getSubExecutions().size());
+		for (String subExecution : configuration.getSubExecutions()) {
+			out.writeUTF(subExecution);
+		}
+	}
+
+	private static Execution readExecution(final DataInput in, final MarketDataTimelineCache timelines) throws IOException {
+		final long id = in.readLong();
+		final FromToPeriod period = new FromToPeriod(new Date(in.readLong()), new Date(in.readLong()));
+		Optional<Set<String>> stockNames = Optional.empty();
+		if (in.readBoolean()) {
+			final int size = in.readInt();
+			final Set<String> names = new HashSet<>(size);
+			for (int i = 0; i < size; ++i) {
+				names.add(in.readUTF());
+			}
+			stockNames = Optional.of(names);
+		}
+		final ExecutionInstancesStorage executionsStorage = new ExecutionInstancesStorage();
+		final int stockExecutionsSize = in.readInt();
+		for (int i = 0; i < stockExecutionsSize; ++i) {
+			final String executionName = in.readUTF();
+			final Class<? extends StockAlgorithm> algorithm = loadAlgorithm(in.readUTF(), StockAlgorithm.class);
+			executionsStorage.addStockExecution(new StockExecutionInstance(executionName, algorithm, readConfiguration(in)));
+		}
+		final int eodExecutionsSize = in.readInt();
+		for (int i = 0; i < eodExecutionsSize; ++i) {
+			final String executionName = in.readUTF();
+			final Class<? extends EodAlgorithm> algorithm = loadAlgorithm(in.readUTF(), EodAlgorithm.class);
+			executionsStorage.addEodExecution(new EodExecutionInstance(executionName, algorithm, readConfiguration(in)));
+		}
+		final TradeProcessorInit init = new TradeProcessorInit(timelines.getStockStorage(), period, executionsStorage, timelines.get(period, stockNames));
+		if (stockNames.isPresent()) {
+			return new ExecutionImpl(id, init, stockNames.get());
+		}
+		return new ExecutionImpl(id, init);
+	}
+
+	private static <T> Class<? extends T> loadAlgorithm(final String className, final Class<T> algorithmType) throws IOException {
+		try {
+			return Class.forName(className).asSubclass(algorithmType);
+		} catch (ClassNotFoundException | ClassCastException e) {
+			throw new IOException("Algorithm " + className + " could not be loaded", e);
+		}
+	}
+
+	private static AlgorithmConfigurationImpl readConfiguration(final DataInput in) throws IOException {
+		final AlgorithmConfigurationImpl configuration = new AlgorithmConfigurationImpl();
+		final int integersSize = in.readInt();
+		for (int i = 0; i < integersSize; ++i) {
+			configuration.setInteger(in.readUTF(), in.readInt());
+		}
+		final int doublesSize = in.readInt();
+		for (int i = 0; i < doublesSize; ++i) {
+			configuration.setDouble(in.readUTF(), in.readDouble());
+		}
+		final int stringsSize = in.readInt();
+		for (int i = 0; i < stringsSize; ++i) {
+			configuration.setString(in.readUTF(), in.readUTF());
+		}
+		final int subExecutionsSize = in.readInt();
+		for (int i = 0; i < subExecutionsSize; ++i) {
+			configuration.addSubExecutionName(in.readUTF());
+		}
+		return configuration;
+	}
+
+	// response
+
+	static void writeMetrics(final DataOutput out, final Metrics metrics, final boolean pruned) throws IOException {
+		out.writeByte(pruned ? RESPONSE_PRUNED : RESPONSE_METRICS);
+		metrics.write(out);
+	}
+
+	static void writeError(final DataOutput out, final String message) throws IOException {
+		out.writeByte(RESPONSE_ERROR);
+		final String text = message == null ? "" : message;
+		out.writeUTF(text.length() > MAX_ERROR_LENGTH ? text.substring(0, MAX_ERROR_LENGTH) : text);
+	}
+
+}
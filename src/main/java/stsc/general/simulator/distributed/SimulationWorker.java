@@ -0,0 +1,159 @@
+package stsc.general.simulator.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import stsc.common.algorithms.BadAlgorithmException;
+import stsc.common.storage.StockStorage;
+import stsc.general.simulator.Execution;
+import stsc.general.simulator.Simulator;
+import stsc.general.simulator.SimulatorFactory;
+import stsc.general.simulator.SimulatorFactoryImpl;
+import stsc.general.trading.MarketDataTimeline;
+import stsc.general.trading.TradeProcessorInit;
+
+/**
+ * {@link SimulationWorker} executes simulations for {@link SimulationCoordinator}. <br/>
+ * Worker holds preloaded {@link StockStorage} (executions received from coordinator are simulated over it, {@link MarketDataTimeline} is
+ * prepared once per period and stock set) and opens one connection per simulation thread. Algorithm classes of received executions should
+ * be available at worker class path. <br/>
+ * Worker could be started as separate process (on the same or other node), see {@link #main(String[])}.
+ */
+public final class SimulationWorker implements AutoCloseable {
+
+	private static Logger logger = LogManager.getLogger(SimulationWorker.class.getName());
+
+	private final MarketDataTimelineCache timelines;
+	private final SimulatorFactory simulatorFactory;
+	private final InetSocketAddress coordinatorAddress;
+	private final int threadAmount;
+
+	private final List<Socket> connections = new ArrayList<>();
+	private final List<Thread> threads = new ArrayList<>();
+	private volatile boolean stopped = false;
+
+	public SimulationWorker(final StockStorage stockStorage, final InetSocketAddress coordinatorAddress, final int threadAmount) {
+		this(stockStorage, new SimulatorFactoryImpl(), coordinatorAddress, threadAmount);
+	}
+
+	public SimulationWorker(final StockStorage stockStorage, final SimulatorFactory simulatorFactory, final InetSocketAddress coordinatorAddress,
+			final int threadAmount) {
+		Validate.notNull(stockStorage);
+		Validate.notNull(simulatorFactory);
+		Validate.notNull(coordinatorAddress);
+		Validate.isTrue(threadAmount > 0, "thread amount should be bigger then 0");
+		this.timelines = new MarketDataTimelineCache(stockStorage);
+		this.simulatorFactory = simulatorFactory;
+		this.coordinatorAddress = coordinatorAddress;
+		this.threadAmount = threadAmount;
+	}
+
+	/**
+	 * Worker process entry point, arguments: &lt;simulator config&gt; &lt;coordinator host&gt; &lt;coordinator port&gt; [thread amount]. <br/>
+	 * Stock storage is loaded by simulator config as for {@link TradeProcessorInit#TradeProcessorInit(File)} (Data.filter.folder and Stocks
+	 * settings), by default thread amount is amount of available processors. Process finishes when coordinator closes connections.
+	 */
+	public static void main(final String[] args) throws IOException, BadAlgorithmException, InterruptedException {
+		Validate.isTrue(args.length == 3 || args.length == 4,
+				"Usage: SimulationWorker <simulator config> <coordinator host> <coordinator port> [thread amount]");
+		final StockStorage stockStorage = new TradeProcessorInit(new File(args[0])).getBrokerImpl().getStockStorage();
+		final InetSocketAddress coordinatorAddress = new InetSocketAddress(args[1], Integer.parseInt(args[2]));
+		final int threadAmount = args.length == 4 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		try (SimulationWorker worker = new SimulationWorker(stockStorage, coordinatorAddress, threadAmount).start()) {
+			logger.info("Simulation worker connected to " + coordinatorAddress + " with " + threadAmount + " threads");
+			worker.join();
+		}
+	}
+
+	/**
+	 * Connects to coordinator (thread amount connections) and starts simulation threads.
+	 */
+	public synchronized SimulationWorker start() throws IOException {
+		Validate.isTrue(connections.isEmpty(), "worker already started");
+		for (int i = 0; i < threadAmount; ++i) {
+			final Socket connection = new Socket();
+			connection.connect(coordinatorAddress);
+			connection.setTcpNoDelay(true);
+			connections.add(connection);
+		}
+		for (Socket connection : connections) {
+			final Thread thread = new Thread(() -> serveConnection(connection), "simulation-worker-" + threads.size());
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+		return this;
+	}
+
+	/**
+	 * Waits till coordinator closes all connections of this worker.
+	 */
+	public void join() throws InterruptedException {
+		for (Thread thread : threads) {
+			thread.join();
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		stopped = true;
+		for (Socket connection : connections) {
+			connection.close();
+		}
+	}
+
+	private void serveConnection(final Socket connection) {
+		try {
+			final DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+			final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+			SimulationProtocol.writeHandshake(out);
+			out.flush();
+			while (!stopped) {
+				final byte[] request = SimulationProtocol.readRequest(in);
+				simulate(out, request);
+				out.flush();
+			}
+		} catch (EOFException e) {
+			logger.info("Simulation coordinator closed connection");
+		} catch (IOException e) {
+			if (!stopped) {
+				logger.error("Simulation coordinator connection failed: " + e.getMessage());
+			}
+		} finally {
+			try {
+				connection.close();
+			} catch (IOException e) {
+				logger.error("Simulation coordinator connection could not be closed: " + e.getMessage());
+			}
+		}
+	}
+
+	private void simulate(final DataOutputStream out, final byte[] request) throws IOException {
+		try (final Simulator simulator = simulatorFactory.createSimulator()) {
+			try {
+				final Execution execution = SimulationProtocol.decodeExecution(request, timelines);
+				simulator.simulateMarketTrading(execution);
+			} catch (Exception | LinkageError | StackOverflowError e) {
+				// algorithm errors are answered as failed simulation (connection is kept), other errors break connection
+				logger.error("Remote simulation failed: " + e.getMessage());
+				SimulationProtocol.writeError(out, e.toString());
+				return;
+			}
+			SimulationProtocol.writeMetrics(out, simulator.getMetrics(), simulator.isPruned());
+		}
+	}
+
+}
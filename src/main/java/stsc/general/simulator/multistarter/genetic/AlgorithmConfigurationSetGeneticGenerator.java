@@ -1,8 +1,14 @@
 package stsc.general.simulator.multistarter.genetic;
 
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.function.BiPredicate;
 
+import org.apache.commons.lang3.Validate;
+
+import stsc.common.Settings;
 import stsc.common.algorithms.AlgorithmConfiguration;
 import stsc.common.algorithms.MutableAlgorithmConfiguration;
 import stsc.general.algorithm.AlgorithmConfigurationImpl;
@@ -11,6 +17,8 @@ import stsc.general.simulator.multistarter.MpIterator;
 import stsc.general.simulator.multistarter.MpTextIterator;
 import stsc.general.simulator.multistarter.ParameterList;
 
+import com.google.common.math.DoubleMath;
+
 /**
  * This class implement list of algorithm settings for genetic search. So we can:<br/>
  * 1. Generate new population of algorithm setting {@link AlgorithmCGeneticList#generateRandom()};<br/>
@@ -212,6 +220,79 @@ public final class AlgorithmConfigurationSetGeneticGenerator {
 		return mutatedValue;
 	}
 
+	// Genome methods (indexes of values at parameter domains)
+
+	/**
+	 * Stores indexes of settings values (integers, doubles, strings and then
+	 * sub-executions) to genome from offset.
+	 * 
+	 * @return offset after stored indexes.
+	 */
+	int encode(final AlgorithmConfiguration settings, final int[] genome, int offset) {
+		offset = encode(algorithmConfigurationSet.getIntegers().getParams(), settings.getIntegers(), Integer::equals, genome, offset);
+		offset = encode(algorithmConfigurationSet.getDoubles().getParams(), settings.getDoubles(),
+				(l, r) -> DoubleMath.fuzzyEquals(l, r, Settings.doubleEpsilon), genome, offset);
+		offset = encode(algorithmConfigurationSet.getStrings().getParams(), settings.getStrings(), String::equals, genome, offset);
+		final List<String> subExecutions = settings.getSubExecutions();
+		int subExecutionIndex = 0;
+		for (MpIterator<String, ?> p : algorithmConfigurationSet.getSubExecutions().getParams()) {
+			genome[offset++] = indexOf(p, subExecutions.get(subExecutionIndex++), String::equals);
+		}
+		return offset;
+	}
+
+	private static <T> int encode(final List<? extends MpIterator<T, ?>> params, final Map<String, T> values, final BiPredicate<T, T> equality,
+			final int[] genome, int offset) {
+		for (int i = 0; i < params.size(); ++i) {
+			final MpIterator<T, ?> p = params.get(i);
+			// value of parameter with the same name that is set later wins
+			genome[offset++] = isShadowed(params, i) ? 0 : indexOf(p, values.get(p.getName()), equality);
+		}
+		return offset;
+	}
+
+	private static boolean isShadowed(final List<? extends MpIterator<?, ?>> params, final int index) {
+		final String name = params.get(index).getName();
+		for (int i = index + 1; i < params.size(); ++i) {
+			if (params.get(i).getName().equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static <T> int indexOf(final MpIterator<T, ?> p, final T value, final BiPredicate<T, T> equality) {
+		Validate.notNull(value, "No value for " + p.getName());
+		final int index = p.getIndexByValue(value);
+		Validate.isTrue(index >= 0 && index < p.size() && equality.test(p.parameter(index), value), "Value " + value + " is out of " + p.getName() + " domen");
+		return index;
+	}
+
+	/**
+	 * Creates settings from genome indexes (see
+	 * {@link #encode(AlgorithmConfiguration, int[], int)}).
+	 */
+	MutableAlgorithmConfiguration decode(final int[] genome, int offset) {
+		final AlgorithmConfigurationImpl algoSettings = new AlgorithmConfigurationImpl();
+		for (MpIterator<Integer, ?> p : algorithmConfigurationSet.getIntegers().getParams()) {
+			algoSettings.setInteger(p.getName(), p.parameter(genome[offset++]));
+		}
+		for (MpIterator<Double, ?> p : algorithmConfigurationSet.getDoubles().getParams()) {
+			algoSettings.setDouble(p.getName(), p.parameter(genome[offset++]));
+		}
+		for (MpIterator<String, ?> p : algorithmConfigurationSet.getStrings().getParams()) {
+			algoSettings.setString(p.getName(), p.parameter(genome[offset++]));
+		}
+		for (MpIterator<String, ?> p : algorithmConfigurationSet.getSubExecutions().getParams()) {
+			algoSettings.addSubExecutionName(p.parameter(genome[offset++]));
+		}
+		return algoSettings;
+	}
+
+	int parametersSize() {
+		return algorithmConfigurationSet.parametersSize();
+	}
+
 	public AlgorithmConfigurationSet getParameters() {
 		return algorithmConfigurationSet;
 	}
@@ -3,6 +3,8 @@ package stsc.general.simulator.multistarter.genetic;
 import java.util.List;
 
 import stsc.common.FromToPeriod;
+import stsc.common.algorithms.BadAlgorithmException;
+import stsc.general.simulator.Execution;
 
 public interface ExternalizableGeneticList extends GeneticList {
 
@@ -18,6 +20,13 @@ public interface ExternalizableGeneticList extends GeneticList {
 
 	public List<GeneticExecutionInitializer> getEodInitializers();
 
-	//
+	// genome: indexes of settings values at parameter domains of all
+	// initializers (stock initializers and then eod initializers)
+
+	public int genomeSize();
+
+	public int[] encode(final Execution execution);
+
+	public Execution decode(final int[] genome) throws BadAlgorithmException;
 
 }
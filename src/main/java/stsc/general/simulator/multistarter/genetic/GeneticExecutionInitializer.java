@@ -1,6 +1,7 @@
 package stsc.general.simulator.multistarter.genetic;
 
 import stsc.common.algorithms.EodExecutionInstance;
+import stsc.common.algorithms.ExecutionInstance;
 import stsc.common.algorithms.MutableAlgorithmConfiguration;
 import stsc.common.algorithms.StockExecutionInstance;
 import stsc.general.simulator.Execution;
@@ -63,4 +64,16 @@ public final class GeneticExecutionInitializer {
 		return geneticAlgorithmSettings.size();
 	}
 
+	int parametersSize() {
+		return geneticAlgorithmSettings.parametersSize();
+	}
+
+	int encode(final ExecutionInstance<?> execution, final int[] genome, final int offset) {
+		return geneticAlgorithmSettings.encode(execution.getSettings(), genome, offset);
+	}
+
+	MutableAlgorithmConfiguration decode(final int[] genome, final int offset) {
+		return geneticAlgorithmSettings.decode(genome, offset);
+	}
+
 }
@@ -0,0 +1,126 @@
+package stsc.general.simulator.multistarter.genetic;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import stsc.common.algorithms.BadAlgorithmException;
+import stsc.general.simulator.Execution;
+import stsc.general.statistic.Metrics;
+import stsc.general.strategy.TradingStrategy;
+
+/**
+ * Internal (package-private) snapshot of {@link StrategyGeneticSearcher} state. <br/>
+ * Binary format: executions are stored as genomes (indexes of settings values at {@link ExternalizableGeneticList} parameter domains),
+ * {@link Metrics} are stored as (ordinal, value) pairs (equity curve is not stored). <br/>
+ * Snapshot is written to temporary file and then moved to target, so partially written snapshot never replace previous one.
+ */
+final class GeneticSearchCheckpoint {
+
+	private static final int MAGIC = 0x53475343;
+	private static final int VERSION = 1;
+
+	final int currentSelectionIndex;
+	final double maxPopulationCost;
+	final double lastCostSum;
+	final List<TradingStrategy> selectorStrategies;
+	final List<TradingStrategy> population;
+	final List<Execution> pendingExecutions;
+
+	GeneticSearchCheckpoint(int currentSelectionIndex, double maxPopulationCost, double lastCostSum, List<TradingStrategy> selectorStrategies,
+			List<TradingStrategy> population, List<Execution> pendingExecutions) {
+		this.currentSelectionIndex = currentSelectionIndex;
+		this.maxPopulationCost = maxPopulationCost;
+		this.lastCostSum = lastCostSum;
+		this.selectorStrategies = selectorStrategies;
+		this.population = population;
+		this.pendingExecutions = pendingExecutions;
+	}
+
+	void write(final Path file, final ExternalizableGeneticList geneticList) throws IOException {
+		final Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(geneticList.genomeSize());
+			out.writeInt(currentSelectionIndex);
+			out.writeDouble(maxPopulationCost);
+			out.writeDouble(lastCostSum);
+			writeStrategies(out, geneticList, selectorStrategies);
+			writeStrategies(out, geneticList, population);
+			out.writeInt(pendingExecutions.size());
+			for (Execution e : pendingExecutions) {
+				writeGenome(out, geneticList.encode(e));
+			}
+		}
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	static GeneticSearchCheckpoint read(final Path file, final ExternalizableGeneticList geneticList) throws BadAlgorithmException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Not a genetic search checkpoint (or unsupported version)");
+			}
+			final int genomeSize = in.readInt();
+			if (genomeSize != geneticList.genomeSize()) {
+				throw new IOException("Checkpoint genome size " + genomeSize + " is different from genetic list " + geneticList.genomeSize());
+			}
+			final int currentSelectionIndex = in.readInt();
+			final double maxPopulationCost = in.readDouble();
+			final double lastCostSum = in.readDouble();
+			final List<TradingStrategy> selectorStrategies = readStrategies(in, geneticList);
+			final List<TradingStrategy> population = readStrategies(in, geneticList);
+			final int pendingSize = in.readInt();
+			final List<Execution> pendingExecutions = new ArrayList<>(pendingSize);
+			for (int i = 0; i < pendingSize; ++i) {
+				pendingExecutions.add(geneticList.decode(readGenome(in, genomeSize)));
+			}
+			return new GeneticSearchCheckpoint(currentSelectionIndex, maxPopulationCost, lastCostSum, selectorStrategies, population, pendingExecutions);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Genetic search checkpoint could not be read from " + file, e);
+		}
+	}
+
+	private static void writeStrategies(final DataOutputStream out, final ExternalizableGeneticList geneticList, final List<TradingStrategy> strategies)
+			throws IOException {
+		out.writeInt(strategies.size());
+		for (TradingStrategy s : strategies) {
+			writeGenome(out, geneticList.encode(s.getSettings()));
+			s.getMetrics().write(out);
+		}
+	}
+
+	private static List<TradingStrategy> readStrategies(final DataInputStream in, final ExternalizableGeneticList geneticList)
+			throws IOException, BadAlgorithmException {
+		final int size = in.readInt();
+		final List<TradingStrategy> result = new ArrayList<>(size);
+		for (int i = 0; i < size; ++i) {
+			final Execution execution = geneticList.decode(readGenome(in, geneticList.genomeSize()));
+			result.add(new TradingStrategy(execution, Metrics.read(in)));
+		}
+		return result;
+	}
+
+	private static void writeGenome(final DataOutputStream out, final int[] genome) throws IOException {
+		for (int value : genome) {
+			out.writeInt(value);
+		}
+	}
+
+	private static int[] readGenome(final DataInputStream in, final int genomeSize) throws IOException {
+		final int[] genome = new int[genomeSize];
+		for (int i = 0; i < genomeSize; ++i) {
+			genome[i] = in.readInt();
+		}
+		return genome;
+	}
+
+}
@@ -16,8 +16,8 @@ final class GeneticSearchSettings {
 	private final int mutationSize;
 	private final int tasksSize;
 
-	GeneticSearchSettings(final StrategyGeneticSearcherBuilder builder) {
-		this(builder.maxPopulationsAmount, builder.populationSize, builder.bestPart, builder.crossoverPart, builder.getStrategySelector().maxPossibleAmount());
+	GeneticSearchSettings(final StrategyGeneticSearcherBuilder builder, final int selectorSize) {
+		this(builder.maxPopulationsAmount, builder.populationSize, builder.bestPart, builder.crossoverPart, selectorSize);
 	}
 
 	private GeneticSearchSettings(int maxPopulationsAmount, int populationSize, double bestPart, double crossoverPart, int selectorSize) {
@@ -0,0 +1,99 @@
+package stsc.general.simulator.multistarter.genetic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.Validate;
+
+import stsc.general.simulator.multistarter.StrategySearcher;
+import stsc.general.simulator.multistarter.StrategySearcherException;
+import stsc.general.strategy.TradingStrategy;
+import stsc.general.strategy.selector.StrategySelector;
+
+/**
+ * {@link IslandGeneticSearcher} is an island model of genetic search: several {@link StrategyGeneticSearcher} populations evolve
+ * independently (each island has own {@link StrategySelector} and own thread pool), there is no generation barrier between islands. <br/>
+ * Each migration interval island sends its best strategies to the next island (ring topology, see {@link IslandMigration}). <br/>
+ * When all islands finished, strategies of all islands are added to the builder's {@link StrategySelector}, which is returned by
+ * {@link #waitAndGetSelector()}. Use {@link StrategyGeneticSearcherBuilder#withIslands(int, int, int, Supplier)} and
+ * {@link StrategyGeneticSearcherBuilder#buildIslands()} to create it.
+ */
+public final class IslandGeneticSearcher implements StrategySearcher {
+
+	private final StrategySelector strategySelector;
+	private final List<StrategyGeneticSearcher> islands = new ArrayList<>();
+	private final ExecutorService islandsExecutor;
+	// progress of each island (double bits)
+	private final AtomicLongArray islandsProgress;
+
+	IslandGeneticSearcher(final StrategyGeneticSearcherBuilder builder) {
+		Validate.notNull(builder.getStrategySelector());
+		Validate.notNull(builder.getIslandSelectorFactory());
+		Validate.isTrue(!builder.getCheckpointFile().isPresent() && !builder.getResumeFile().isPresent(), "checkpoints are not supported for island model");
+		final int islandsAmount = builder.islandsAmount;
+		final IslandMigration migration = new IslandMigration(islandsAmount, builder.migrationInterval, builder.migrantsAmount);
+		final int threadsPerIsland = Math.max(1, builder.threadAmount / islandsAmount);
+
+		this.strategySelector = builder.getStrategySelector();
+		this.islandsExecutor = Executors.newFixedThreadPool(islandsAmount);
+		this.islandsProgress = new AtomicLongArray(islandsAmount);
+		for (int i = 0; i < islandsAmount; ++i) {
+			final StrategySelector islandSelector = builder.getIslandSelectorFactory().get();
+			islands.add(new StrategyGeneticSearcher(builder, islandSelector, threadsPerIsland, Optional.of(migration), i));
+		}
+	}
+
+	@Override
+	public void addIndicatorProgress(final IndicatorProgressListener listener) {
+		for (int i = 0; i < islands.size(); ++i) {
+			final int islandIndex = i;
+			islands.get(i).addIndicatorProgress(percent -> {
+				islandsProgress.set(islandIndex, Double.doubleToLongBits(percent));
+				listener.processed(calculateProgress());
+			});
+		}
+	}
+
+	private double calculateProgress() {
+		double sum = 0.0;
+		for (int i = 0; i < islandsProgress.length(); ++i) {
+			sum += Double.longBitsToDouble(islandsProgress.get(i));
+		}
+		return sum / islandsProgress.length();
+	}
+
+	@Override
+	public StrategySelector waitAndGetSelector() throws StrategySearcherException {
+		final List<Future<StrategySelector>> results = new ArrayList<>();
+		for (StrategyGeneticSearcher island : islands) {
+			results.add(islandsExecutor.submit(() -> island.waitAndGetSelector()));
+		}
+		try {
+			for (Future<StrategySelector> result : results) {
+				for (TradingStrategy strategy : result.get().getStrategies()) {
+					strategySelector.addStrategy(strategy);
+				}
+			}
+		} catch (InterruptedException | ExecutionException e) {
+			throw new StrategySearcherException(e.getMessage());
+		} finally {
+			islandsExecutor.shutdown();
+		}
+		return strategySelector;
+	}
+
+	@Override
+	public void stopSearch() {
+		for (StrategyGeneticSearcher island : islands) {
+			island.stopSearch();
+		}
+	}
+
+}
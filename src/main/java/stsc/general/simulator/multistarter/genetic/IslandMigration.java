@@ -0,0 +1,59 @@
+package stsc.general.simulator.multistarter.genetic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.commons.lang3.Validate;
+
+import stsc.general.strategy.TradingStrategy;
+
+/**
+ * Internal (package-private) migration channels between islands of {@link IslandGeneticSearcher}. <br/>
+ * Islands are connected in a ring: island i sends its best strategies to island (i + 1) % islandsAmount. Islands exchange strategies
+ * without waiting for each other (each island reads its inbox on its own generation boundary).
+ */
+final class IslandMigration {
+
+	private final int migrationInterval;
+	private final int migrantsAmount;
+	private final List<Queue<TradingStrategy>> inboxes;
+
+	IslandMigration(final int islandsAmount, final int migrationInterval, final int migrantsAmount) {
+		Validate.isTrue(islandsAmount > 1, "island model requires at least two islands");
+		Validate.isTrue(migrationInterval > 0, "migration interval should be bigger then 0");
+		Validate.isTrue(migrantsAmount > 0, "migrants amount should be bigger then 0");
+		this.migrationInterval = migrationInterval;
+		this.migrantsAmount = migrantsAmount;
+		this.inboxes = new ArrayList<>(islandsAmount);
+		for (int i = 0; i < islandsAmount; ++i) {
+			inboxes.add(new ConcurrentLinkedQueue<>());
+		}
+	}
+
+	boolean isMigrationPopulation(final int populationIndex) {
+		return populationIndex > 0 && populationIndex % migrationInterval == 0;
+	}
+
+	/**
+	 * Sends first migrantsAmount strategies (best ones for {@link StrategyGeneticSearcher} population) to the next island.
+	 */
+	void emigrate(final int islandIndex, final List<TradingStrategy> strategies) {
+		final Queue<TradingStrategy> inbox = inboxes.get((islandIndex + 1) % inboxes.size());
+		for (int i = 0; i < Math.min(migrantsAmount, strategies.size()); ++i) {
+			inbox.add(strategies.get(i));
+		}
+	}
+
+	List<TradingStrategy> immigrate(final int islandIndex) {
+		final Queue<TradingStrategy> inbox = inboxes.get(islandIndex);
+		final List<TradingStrategy> result = new ArrayList<>();
+		TradingStrategy strategy;
+		while ((strategy = inbox.poll()) != null) {
+			result.add(strategy);
+		}
+		return result;
+	}
+
+}
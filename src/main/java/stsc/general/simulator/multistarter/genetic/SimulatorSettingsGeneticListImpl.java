@@ -2,9 +2,11 @@ package stsc.general.simulator.multistarter.genetic;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.commons.lang3.Validate;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.config.XMLConfigurationFactory;
@@ -18,9 +20,13 @@ import stsc.common.storage.StockStorage;
 import stsc.general.simulator.Execution;
 import stsc.general.simulator.ExecutionImpl;
 import stsc.general.strategy.TradingStrategy;
+import stsc.general.trading.MarketDataTimeline;
 import stsc.general.trading.TradeProcessorInit;
 import stsc.storage.ExecutionInstancesStorage;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+
 /**
  * Stores all possible values from {@link ExecutionImpl} for Genetic {@link TradingStrategy} Search.<br/>
  * 
@@ -42,6 +48,8 @@ public final class SimulatorSettingsGeneticListImpl implements ExternalizableGen
 	private final List<GeneticExecutionInitializer> stockInitializers;
 	private final List<GeneticExecutionInitializer> eodInitializers;
 
+	private final Supplier<MarketDataTimeline> marketDataTimeline;
+
 	SimulatorSettingsGeneticListImpl(StockStorage stockStorage, FromToPeriod period, List<GeneticExecutionInitializer> stockInitializers,
 			List<GeneticExecutionInitializer> eodInitializers) {
 		super();
@@ -50,6 +58,7 @@ public final class SimulatorSettingsGeneticListImpl implements ExternalizableGen
 		this.period = period;
 		this.stockInitializers = stockInitializers;
 		this.eodInitializers = eodInitializers;
+		this.marketDataTimeline = Suppliers.memoize(() -> MarketDataTimeline.create(stockStorage, period, Optional.empty()));
 	}
 
 	@Override
@@ -64,7 +73,7 @@ public final class SimulatorSettingsGeneticListImpl implements ExternalizableGen
 			final EodExecutionInstance e = new EodExecutionInstance(i.getExecutionName(), i.algorithmName, i.generateRandom());
 			executionsStorage.addEodExecution(e);
 		}
-		final TradeProcessorInit init = new TradeProcessorInit(stockStorage, period, executionsStorage);
+		final TradeProcessorInit init = new TradeProcessorInit(stockStorage, period, executionsStorage, marketDataTimeline.get());
 		final ExecutionImpl ss = new ExecutionImpl(id.getAndIncrement(), init);
 		return ss;
 	}
@@ -87,7 +96,7 @@ public final class SimulatorSettingsGeneticListImpl implements ExternalizableGen
 
 	@Override
 	public Execution merge(Execution left, Execution right) {
-		final TradeProcessorInit init = new TradeProcessorInit(stockStorage, period);
+		final TradeProcessorInit init = new TradeProcessorInit(stockStorage, period, new ExecutionInstancesStorage(), marketDataTimeline.get());
 		final ExecutionInstancesStorage resultEs = init.getExecutionsStorage();
 
 		mergeStocks(resultEs, left, right);
@@ -186,4 +195,50 @@ public final class SimulatorSettingsGeneticListImpl implements ExternalizableGen
 		return result;
 	}
 
+	@Override
+	public int genomeSize() {
+		int result = 0;
+		for (GeneticExecutionInitializer ei : stockInitializers) {
+			result += ei.parametersSize();
+		}
+		for (GeneticExecutionInitializer ei : eodInitializers) {
+			result += ei.parametersSize();
+		}
+		return result;
+	}
+
+	@Override
+	public int[] encode(final Execution execution) {
+		final ExecutionInstancesStorage executionsStorage = execution.getInit().getExecutionsStorage();
+		final List<StockExecutionInstance> stocks = executionsStorage.getStockExecutions();
+		final List<EodExecutionInstance> eods = executionsStorage.getEodExecutions();
+		Validate.isTrue(stocks.size() == stockInitializers.size() && eods.size() == eodInitializers.size(), "Execution is not from this genetic list");
+		final int[] genome = new int[genomeSize()];
+		int offset = 0;
+		for (int i = 0; i < stockInitializers.size(); ++i) {
+			offset = stockInitializers.get(i).encode(stocks.get(i), genome, offset);
+		}
+		for (int i = 0; i < eodInitializers.size(); ++i) {
+			offset = eodInitializers.get(i).encode(eods.get(i), genome, offset);
+		}
+		return genome;
+	}
+
+	@Override
+	public ExecutionImpl decode(final int[] genome) throws BadAlgorithmException {
+		Validate.isTrue(genome.length == genomeSize(), "Genome size is different from genetic list");
+		final ExecutionInstancesStorage executionsStorage = new ExecutionInstancesStorage();
+		int offset = 0;
+		for (GeneticExecutionInitializer i : stockInitializers) {
+			executionsStorage.addStockExecution(new StockExecutionInstance(i.getExecutionName(), i.algorithmName, i.decode(genome, offset)));
+			offset += i.parametersSize();
+		}
+		for (GeneticExecutionInitializer i : eodInitializers) {
+			executionsStorage.addEodExecution(new EodExecutionInstance(i.getExecutionName(), i.algorithmName, i.decode(genome, offset)));
+			offset += i.parametersSize();
+		}
+		final TradeProcessorInit init = new TradeProcessorInit(stockStorage, period, executionsStorage, marketDataTimeline.get());
+		return new ExecutionImpl(id.getAndIncrement(), init);
+	}
+
 }
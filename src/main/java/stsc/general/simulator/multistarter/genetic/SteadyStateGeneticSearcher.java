@@ -0,0 +1,224 @@
+package stsc.general.simulator.multistarter.genetic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import stsc.common.algorithms.BadAlgorithmException;
+import stsc.general.simulator.Execution;
+import stsc.general.simulator.Simulator;
+import stsc.general.simulator.SimulatorFactory;
+import stsc.general.simulator.multistarter.StrategySearcher;
+import stsc.general.simulator.multistarter.StrategySearcherException;
+import stsc.general.simulator.multistarter.genetic.tasks.GenerateRandomPopulationsTask;
+import stsc.general.simulator.multistarter.genetic.tasks.GeneticTaskController;
+import stsc.general.simulator.multistarter.genetic.tasks.SimulatorCalculatingTask;
+import stsc.general.strategy.TradingStrategy;
+import stsc.general.strategy.selector.StrategySelector;
+
+/**
+ * {@link SteadyStateGeneticSearcher} is a steady-state alternative to {@link StrategyGeneticSearcher} (there is no generation barrier).<br/>
+ * Algorithm details:<br/>
+ * 1. Starts {@link GenerateRandomPopulationsTask} for population size random executions;<br/>
+ * 2. Each time when {@link SimulatorCalculatingTask} finished new child is bred from current {@link StrategySelector} strategies (crossover
+ * with crossover part probability, mutation otherwise) and submitted, so executor is always saturated;<br/>
+ * 3. Search stops after (max populations amount * population size) evaluations.<br/>
+ * Selector strategies are copied for breeding once per thread amount finished evaluations. Use
+ * {@link StrategyGeneticSearcherBuilder#buildSteadyState()} to create it.
+ */
+public final class SteadyStateGeneticSearcher implements StrategySearcher, GeneticTaskController {
+
+	private static final Logger logger = LogManager.getLogger(SteadyStateGeneticSearcher.class.getName());
+
+	private final GeneticList geneticList;
+	private final StrategySelector strategySelector;
+	private final SimulatorFactory simulatorFactory;
+	private final ExecutorService executor;
+	private final double crossoverPart;
+	private final int parentsRefreshInterval;
+
+	private final int maxEvaluationsAmount;
+	private final AtomicInteger submittedEvaluations = new AtomicInteger();
+	private final AtomicInteger finishedEvaluations = new AtomicInteger();
+	private final AtomicInteger failedBreedings = new AtomicInteger();
+	private final CountDownLatch evaluationsLatch;
+
+	private volatile List<TradingStrategy> parents = Collections.emptyList();
+	private final long startTime;
+	private volatile long finishTime = 0;
+
+	private volatile boolean stoppedByRequest = false;
+	private final List<IndicatorProgressListener> indicatorProgressListeners = new CopyOnWriteArrayList<>();
+
+	SteadyStateGeneticSearcher(final StrategyGeneticSearcherBuilder builder) {
+		Validate.notNull(builder.getGeneticList());
+		Validate.notNull(builder.getStrategySelector());
+		Validate.notNull(builder.getSimulatorFactory());
+		Validate.isTrue(builder.populationSize > 0, "population size should be bigger then 0");
+
+		this.geneticList = builder.getGeneticList();
+		this.strategySelector = builder.getStrategySelector();
+		this.simulatorFactory = builder.getSimulatorFactory();
+		this.executor = Executors.newFixedThreadPool(builder.threadAmount);
+		this.crossoverPart = builder.crossoverPart;
+		this.parentsRefreshInterval = builder.threadAmount;
+		this.maxEvaluationsAmount = Math.max(builder.populationSize, builder.maxPopulationsAmount * builder.populationSize);
+		this.evaluationsLatch = new CountDownLatch(maxEvaluationsAmount);
+		this.startTime = System.nanoTime();
+
+		submittedEvaluations.set(builder.populationSize);
+		executor.submit(new GenerateRandomPopulationsTask(this, builder.populationSize));
+	}
+
+	@Override
+	public StrategySelector waitAndGetSelector() throws StrategySearcherException {
+		try {
+			evaluationsLatch.await();
+		} catch (InterruptedException e) {
+			throw new StrategySearcherException(e.getMessage());
+		}
+		finishTime = System.nanoTime();
+		executor.shutdown();
+		logger.info("Steady-state genetic search finished: " + finishedEvaluations.get() + " evaluations, " + getEvaluationsPerSecond()
+				+ " evaluations per second");
+		return strategySelector;
+	}
+
+	@Override
+	public void stopSearch() {
+		this.stoppedByRequest = true;
+		this.executor.shutdownNow();
+		while (evaluationsLatch.getCount() > 0) {
+			evaluationsLatch.countDown();
+		}
+	}
+
+	@Override
+	public void addIndicatorProgress(final IndicatorProgressListener indicatorProgressListener) {
+		indicatorProgressListeners.add(indicatorProgressListener);
+	}
+
+	/**
+	 * @return throughput of finished evaluations (simulations) per second since start (till finish if search finished).
+	 */
+	public double getEvaluationsPerSecond() {
+		final long finish = finishTime == 0 ? System.nanoTime() : finishTime;
+		final double seconds = (finish - startTime) / 1e9;
+		if (seconds <= 0.0) {
+			return 0.0;
+		}
+		return finishedEvaluations.get() / seconds;
+	}
+
+	public int getFinishedEvaluationsAmount() {
+		return finishedEvaluations.get();
+	}
+
+	/**
+	 * @return amount of children that were not bred ({@link BadAlgorithmException}), each of them spends one evaluation of search budget
+	 *         but is not counted as finished evaluation.
+	 */
+	public int getFailedBreedingsAmount() {
+		return failedBreedings.get();
+	}
+
+	// GeneticTaskController (callbacks from SimulatorCalculatingTask and GenerateRandomPopulationsTask)
+
+	@Override
+	public Execution getRandomSimulatorSettings() throws BadAlgorithmException {
+		return geneticList.generateRandom();
+	}
+
+	@Override
+	public void addTaskToExecutor(final Callable<Boolean> callableTask) {
+		executor.submit(callableTask);
+	}
+
+	@Override
+	public boolean addTradingStrategy(final TradingStrategy strategy) {
+		final List<TradingStrategy> deletedStrategies = strategySelector.addStrategy(strategy);
+		return !deletedStrategies.contains(strategy);
+	}
+
+	@Override
+	public void simulationCalculationFinished() {
+		try {
+			final int finished = finishedEvaluations.incrementAndGet();
+			if (finished % parentsRefreshInterval == 0 || parents.isEmpty()) {
+				parents = new ArrayList<>(strategySelector.getStrategies());
+			}
+			updateProgressIndicator((double) (finished + failedBreedings.get()) / maxEvaluationsAmount);
+			submitChild();
+		} catch (RuntimeException e) {
+			logger.error("Problem while breeding simulator settings.", e);
+		} finally {
+			evaluationsLatch.countDown();
+		}
+	}
+
+	@Override
+	public Simulator createSimulator() {
+		return simulatorFactory.createSimulator();
+	}
+
+	@Override
+	public Logger getLogger() {
+		return logger;
+	}
+
+	/**
+	 * Submits next child while evaluations budget is not spent. Failed breeding spends budget (latch is counted down) and next child is bred
+	 * instead of it.
+	 */
+	private void submitChild() {
+		while (!stoppedByRequest && submittedEvaluations.getAndIncrement() < maxEvaluationsAmount) {
+			try {
+				executor.submit(new SimulatorCalculatingTask(this, breedChild()));
+				return;
+			} catch (BadAlgorithmException e) {
+				logger.error("Problem while breeding simulator settings.", e);
+				failedBreedings.incrementAndGet();
+				evaluationsLatch.countDown();
+			} catch (RejectedExecutionException e) {
+				if (!stoppedByRequest) {
+					throw e;
+				}
+				return;
+			}
+		}
+	}
+
+	private Execution breedChild() throws BadAlgorithmException {
+		final List<TradingStrategy> currentParents = parents;
+		final int size = currentParents.size();
+		if (size == 0) {
+			return geneticList.generateRandom();
+		}
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		final Execution left = currentParents.get(random.nextInt(size)).getSettings();
+		if (random.nextDouble() < crossoverPart) {
+			final Execution right = currentParents.get(random.nextInt(size)).getSettings();
+			return geneticList.merge(left, right);
+		}
+		return geneticList.mutate(left);
+	}
+
+	private void updateProgressIndicator(double value) {
+		for (IndicatorProgressListener indicatorProgressListener : indicatorProgressListeners) {
+			indicatorProgressListener.processed(value);
+		}
+	}
+
+}
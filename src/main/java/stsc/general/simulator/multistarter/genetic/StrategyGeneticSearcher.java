@@ -1,8 +1,11 @@
 package stsc.general.simulator.multistarter.genetic;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -10,6 +13,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.Validate;
 import org.apache.logging.log4j.LogManager;
@@ -56,6 +60,10 @@ import stsc.general.strategy.selector.StrategySelector;
  * 5.a.3 Mutation stage: we mutate random elements from old population and add them to new population;<br/>
  * 5.b. Create additional special check that population actually changed (we compare sum of cost function for Metrics from old population and new population).
  * 6. Also check amount of already processed populations (we have restriction in there).
+ * <hr/>
+ * Checkpoints: when {@link StrategyGeneticSearcherBuilder#withCheckpoint(Path, int)} is set searcher state (selected strategies, population,
+ * pending simulations and counters) is written by separate thread after genetic iteration, so simulation threads are not stalled.
+ * {@link StrategyGeneticSearcherBuilder#withResumeFrom(Path)} restores that state and continues with pending simulations.
  */
 public final class StrategyGeneticSearcher implements StrategySearcher {
 
@@ -76,13 +84,22 @@ public final class StrategyGeneticSearcher implements StrategySearcher {
 	private final CostFunction populationCostFunction;
 	private final GeneticSearchSettings settings;
 
+	// island model: migration channel and index of this island
+	private final Optional<IslandMigration> islandMigration;
+	private final int islandIndex;
+
+	private final Optional<Path> checkpointFile;
+	private final int checkpointInterval;
+	private final ExecutorService checkpointExecutor;
+
 	private int currentSelectionIndex = 0;
 	// maximum found population cost: we reset it each time when we found
 	private double maxPopulationCost = -Double.MAX_VALUE;
+	private double lastCostSum = -Double.MAX_VALUE;
 	// we reset it after each genetic search iteration
 	private CountDownLatch populationCalculationTasksLatch;
 
-	private final List<Callable<Boolean>> simulatorCalculatingTasks = new ArrayList<>();
+	private final List<SimulatorCalculatingTask> simulatorCalculatingTasks = new ArrayList<>();
 	private final List<TradingStrategy> population = Collections.synchronizedList(new ArrayList<TradingStrategy>());
 
 	private boolean stoppedByRequest = false;
@@ -93,20 +110,60 @@ public final class StrategyGeneticSearcher implements StrategySearcher {
 	}
 
 	StrategyGeneticSearcher(final StrategyGeneticSearcherBuilder builder) {
+		this(builder, builder.getStrategySelector(), builder.threadAmount, Optional.empty(), 0);
+	}
+
+	/**
+	 * Island of {@link IslandGeneticSearcher} (or standalone searcher when islandMigration is empty).
+	 */
+	StrategyGeneticSearcher(final StrategyGeneticSearcherBuilder builder, final StrategySelector strategySelector, final int threadAmount,
+			final Optional<IslandMigration> islandMigration, final int islandIndex) {
 		Validate.notNull(builder.getGeneticList());
-		Validate.notNull(builder.getStrategySelector());
+		Validate.notNull(strategySelector);
 		Validate.notNull(builder.getPopulationCostFunction());
 		Validate.notNull(builder.getSimulatorFactory());
 
 		this.geneticTaskController = new GeneticTaskControllerImpl(this, builder.getGeneticList(), builder.getSimulatorFactory());
 		this.simulatorSettingsGeneticList = builder.getGeneticList();
-		this.strategySelector = builder.getStrategySelector();
-		this.executor = Executors.newFixedThreadPool(builder.threadAmount);
+		this.strategySelector = strategySelector;
+		this.executor = Executors.newFixedThreadPool(threadAmount);
 		this.populationCostFunction = builder.getPopulationCostFunction();
-		this.settings = new GeneticSearchSettings(builder);
-		this.populationCalculationTasksLatch = new CountDownLatch(settings.getPopulationSize());
+		this.settings = new GeneticSearchSettings(builder, strategySelector.maxPossibleAmount());
+		this.islandMigration = islandMigration;
+		this.islandIndex = islandIndex;
+		this.checkpointFile = builder.getCheckpointFile();
+		this.checkpointInterval = builder.checkpointInterval;
+		this.checkpointExecutor = Executors.newSingleThreadExecutor();
+		if (checkpointFile.isPresent() || builder.getResumeFile().isPresent()) {
+			Validate.isTrue(simulatorSettingsGeneticList instanceof ExternalizableGeneticList, "checkpoints require ExternalizableGeneticList");
+		}
+
+		if (builder.getResumeFile().isPresent()) {
+			resume(builder.getResumeFile().get());
+		} else {
+			this.populationCalculationTasksLatch = new CountDownLatch(settings.getPopulationSize());
+			startSearcher(settings.getPopulationSize());
+		}
+	}
 
-		startSearcher(settings.getPopulationSize());
+	private void resume(final Path resumeFile) {
+		final GeneticSearchCheckpoint checkpoint;
+		try {
+			checkpoint = GeneticSearchCheckpoint.read(resumeFile, (ExternalizableGeneticList) simulatorSettingsGeneticList);
+		} catch (BadAlgorithmException e) {
+			throw new IllegalArgumentException("Genetic search checkpoint could not be decoded: " + e.getMessage(), e);
+		}
+		for (TradingStrategy strategy : checkpoint.selectorStrategies) {
+			strategySelector.addStrategy(strategy);
+		}
+		population.addAll(checkpoint.population);
+		currentSelectionIndex = checkpoint.currentSelectionIndex;
+		maxPopulationCost = checkpoint.maxPopulationCost;
+		lastCostSum = checkpoint.lastCostSum;
+		for (Execution execution : checkpoint.pendingExecutions) {
+			simulatorCalculatingTasks.add(new SimulatorCalculatingTask(geneticTaskController, execution));
+		}
+		startExecutionTasks();
 	}
 
 	private void startSearcher(int randomPopulationSize) {
@@ -125,13 +182,27 @@ public final class StrategyGeneticSearcher implements StrategySearcher {
 			throw new StrategySearcherException(e.getMessage());
 		}
 		executor.shutdown();
+		awaitCheckpoints();
 		return strategySelector;
 	}
 
+	/**
+	 * Checkpoint thread finishes already submitted checkpoint (so last checkpoint is written when selector is returned).
+	 */
+	private void awaitCheckpoints() {
+		checkpointExecutor.shutdown();
+		try {
+			checkpointExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	@Override
 	public void stopSearch() {
 		this.stoppedByRequest = true;
 		this.executor.shutdownNow();
+		this.checkpointExecutor.shutdown();
 		while (populationCalculationTasksLatch.getCount() > 0) {
 			populationCalculationTasksLatch.countDown();
 		}
@@ -143,7 +214,6 @@ public final class StrategyGeneticSearcher implements StrategySearcher {
 	}
 
 	private void waitResults() throws InterruptedException, BadAlgorithmException {
-		double lastCostSum = maxPopulationCost;
 		while (!stoppedByRequest && currentSelectionIndex < settings.getMaxPopulationsAmount()) {
 			populationCalculationTasksLatch.await();
 			lastCostSum = geneticAlgorithmIteration(lastCostSum);
@@ -155,16 +225,53 @@ public final class StrategyGeneticSearcher implements StrategySearcher {
 		final List<TradingStrategy> currentPopulation = new ArrayList<>(population);
 
 		createNewPopulation();
+		if (islandMigration.isPresent() && islandMigration.get().isMigrationPopulation(currentSelectionIndex)) {
+			migrate(islandMigration.get());
+		}
 		crossover(currentPopulation);
 		mutation(currentPopulation);
 		final boolean shouldWeContinue = checkResult(newCostSum, lastCostSum);
 		if (shouldWeContinue) {
 			generateRandomTasksForTail();
+			if (checkpointFile.isPresent() && currentSelectionIndex % checkpointInterval == 0) {
+				writeCheckpoint(newCostSum);
+			}
 			startExecutionTasks();
 		}
 		return newCostSum;
 	}
 
+	/**
+	 * Copies references to current state (strategies and executions are immutable) and encode / write them at checkpoint thread.
+	 */
+	private void writeCheckpoint(final double newCostSum) {
+		final GeneticSearchCheckpoint checkpoint = createCheckpoint(newCostSum);
+		final Path file = checkpointFile.get();
+		checkpointExecutor.submit(() -> {
+			try {
+				checkpoint.write(file, (ExternalizableGeneticList) simulatorSettingsGeneticList);
+			} catch (IOException | RuntimeException e) {
+				logger.error("Error while writing genetic search checkpoint to " + file + ": " + e.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * Current state of searcher (should be called when search is finished, for example by tests).
+	 */
+	GeneticSearchCheckpoint createCheckpoint() {
+		return createCheckpoint(lastCostSum);
+	}
+
+	private GeneticSearchCheckpoint createCheckpoint(final double costSum) {
+		final List<Execution> pendingExecutions = new ArrayList<>(simulatorCalculatingTasks.size());
+		for (SimulatorCalculatingTask task : simulatorCalculatingTasks) {
+			pendingExecutions.add(task.getExecution());
+		}
+		return new GeneticSearchCheckpoint(currentSelectionIndex, maxPopulationCost, costSum, new ArrayList<>(strategySelector.getStrategies()),
+				new ArrayList<>(population), pendingExecutions);
+	}
+
 	private void generateRandomTasksForTail() throws BadAlgorithmException {
 		final int sizeOfTasks = simulatorCalculatingTasks.size();
 		if (population.size() + sizeOfTasks < settings.getPopulationSize()) {
@@ -214,6 +321,17 @@ public final class StrategyGeneticSearcher implements StrategySearcher {
 		}
 	}
 
+	/**
+	 * Sends best strategies to next island and adds strategies from other islands to selector and population (so they take part at next
+	 * crossover / mutation).
+	 */
+	private void migrate(final IslandMigration migration) {
+		migration.emigrate(islandIndex, new ArrayList<>(population));
+		for (TradingStrategy migrant : migration.immigrate(islandIndex)) {
+			addTradingStrategy(migrant);
+		}
+	}
+
 	private void crossover(final List<TradingStrategy> currentPopulation) {
 		final int size = currentPopulation.size();
 		if (size == 0) {
@@ -254,7 +372,7 @@ public final class StrategyGeneticSearcher implements StrategySearcher {
 	private double calculateCostSum() {
 		double lastCostSum = 0.0;
 		for (TradingStrategy e : population) {
-			lastCostSum += populationCostFunction.calculate(e.getMetrics());
+			lastCostSum += e.getCost(populationCostFunction);
 		}
 		return lastCostSum;
 	}
@@ -1,5 +1,9 @@
 package stsc.general.simulator.multistarter.genetic;
 
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Supplier;
+
 import org.apache.commons.lang3.Validate;
 
 import stsc.general.simulator.Simulator;
@@ -34,6 +38,16 @@ public final class StrategyGeneticSearcherBuilder {
 	double bestPart = BEST_DEFAULT_PART;
 	double crossoverPart = CROSSOVER_DEFAULT_PART;
 
+	private Optional<Path> checkpointFile = Optional.empty();
+	int checkpointInterval = 1;
+	private Optional<Path> resumeFile = Optional.empty();
+
+	// island model
+	int islandsAmount = 1;
+	int migrationInterval = 1;
+	int migrantsAmount = 1;
+	private Supplier<StrategySelector> islandSelectorFactory;
+
 	StrategyGeneticSearcherBuilder() {
 	}
 
@@ -109,10 +123,57 @@ public final class StrategyGeneticSearcherBuilder {
 		return this;
 	}
 
+	/**
+	 * Searcher state will be written (asynchronously) to checkpointFile each populationsInterval populations. Requires
+	 * {@link ExternalizableGeneticList} as genetic list.
+	 */
+	public StrategyGeneticSearcherBuilder withCheckpoint(final Path checkpointFile, int populationsInterval) {
+		Validate.isTrue(populationsInterval > 0, "checkpoint populations interval should be bigger then 0");
+		this.checkpointFile = Optional.of(checkpointFile);
+		this.checkpointInterval = populationsInterval;
+		return this;
+	}
+
+	/**
+	 * Searcher will continue search from state stored at resumeFile (see {@link #withCheckpoint(Path, int)}). Strategy selector should be
+	 * empty.
+	 */
+	public StrategyGeneticSearcherBuilder withResumeFrom(final Path resumeFile) {
+		this.resumeFile = Optional.of(resumeFile);
+		return this;
+	}
+
+	/**
+	 * Island model settings for {@link #buildIslands()}: islandsAmount populations evolve independently (thread amount is divided between
+	 * them), each migrationInterval populations island sends migrantsAmount best strategies to the next island. Each island uses its own
+	 * {@link StrategySelector} created by islandSelectorFactory; {@link #withStrategySelector(StrategySelector)} collects the result.
+	 */
+	public StrategyGeneticSearcherBuilder withIslands(int islandsAmount, int migrationInterval, int migrantsAmount,
+			final Supplier<StrategySelector> islandSelectorFactory) {
+		Validate.isTrue(islandsAmount > 1, "island model requires at least two islands");
+		this.islandsAmount = islandsAmount;
+		this.migrationInterval = migrationInterval;
+		this.migrantsAmount = migrantsAmount;
+		this.islandSelectorFactory = islandSelectorFactory;
+		return this;
+	}
+
 	public StrategyGeneticSearcher build() {
 		return new StrategyGeneticSearcher(this);
 	}
 
+	public IslandGeneticSearcher buildIslands() {
+		return new IslandGeneticSearcher(this);
+	}
+
+	/**
+	 * Steady-state scheduler (without generation barrier): max populations amount * population size evaluations, crossover part is used as
+	 * crossover probability for each bred child.
+	 */
+	public SteadyStateGeneticSearcher buildSteadyState() {
+		return new SteadyStateGeneticSearcher(this);
+	}
+
 	// getters
 
 	public GeneticList getGeneticList() {
@@ -134,4 +195,16 @@ public final class StrategyGeneticSearcherBuilder {
 	public SimulatorFactory getSimulatorFactory() {
 		return this.simulatorFactory;
 	}
+
+	public Optional<Path> getCheckpointFile() {
+		return checkpointFile;
+	}
+
+	public Optional<Path> getResumeFile() {
+		return resumeFile;
+	}
+
+	public Supplier<StrategySelector> getIslandSelectorFactory() {
+		return islandSelectorFactory;
+	}
 }
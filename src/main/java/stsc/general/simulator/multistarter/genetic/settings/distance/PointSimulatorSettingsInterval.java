@@ -0,0 +1,14 @@
+package stsc.general.simulator.multistarter.genetic.settings.distance;
+
+import stsc.general.simulator.Execution;
+
+/**
+ * {@link SimulatorSettingsInterval} that could be calculated as distance between {@link SimulatorSettingsPoint}s: interval is
+ * {@link SimulatorSettingsPoint#calculateDistance(SimulatorSettingsPoint)} for points with same key and maximal value for others.
+ * Selectors use it to store settings in {@link SimulatorSettingsPointIndex} instead of comparing with all stored settings.
+ */
+public interface PointSimulatorSettingsInterval extends SimulatorSettingsInterval {
+
+	public SimulatorSettingsPoint getPoint(final Execution execution);
+
+}
@@ -1,15 +1,17 @@
 package stsc.general.simulator.multistarter.genetic.settings.distance;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 
 import stsc.common.algorithms.EodExecutionInstance;
 import stsc.common.algorithms.ExecutionInstance;
 import stsc.common.algorithms.MutableAlgorithmConfiguration;
 import stsc.general.simulator.Execution;
 
-public final class SimulatorSettingsIntervalImpl implements SimulatorSettingsInterval {
+public final class SimulatorSettingsIntervalImpl implements PointSimulatorSettingsInterval {
 
 	public static final double MAX_INTERVAL_VALUE = Double.MAX_VALUE;
 
@@ -35,6 +37,33 @@ public final class SimulatorSettingsIntervalImpl implements SimulatorSettingsInt
 		return result;
 	}
 
+	/**
+	 * Key contains algorithms and names of double and integer parameters (sorted by name), coordinates are values of these parameters.
+	 */
+	@Override
+	public SimulatorSettingsPoint getPoint(final Execution execution) {
+		final StringBuilder key = new StringBuilder();
+		final List<Double> values = new ArrayList<>();
+		for (EodExecutionInstance eod : execution.getInit().getExecutionsStorage().getEodExecutions()) {
+			key.append(eod.getAlgorithmType().getName()).append('|').append(eod.getAlgorithmName()).append('|').append(eod.getExecutionName());
+			final MutableAlgorithmConfiguration settings = eod.getSettings();
+			for (Entry<String, Double> e : new TreeMap<>(settings.getDoubles()).entrySet()) {
+				key.append("|d:").append(e.getKey());
+				values.add(e.getValue());
+			}
+			for (Entry<String, Integer> e : new TreeMap<>(settings.getIntegers()).entrySet()) {
+				key.append("|i:").append(e.getKey());
+				values.add(e.getValue().doubleValue());
+			}
+			key.append(';');
+		}
+		final double[] coordinates = new double[values.size()];
+		for (int i = 0; i < coordinates.length; ++i) {
+			coordinates[i] = values.get(i);
+		}
+		return new SimulatorSettingsPoint(key.toString(), coordinates);
+	}
+
 	private double calculateExecutionInterval(final MutableAlgorithmConfiguration left, final MutableAlgorithmConfiguration right) {
 		final Map<String, Double> leftDoubles = left.getDoubles();
 		final Map<String, Double> rightDoubles = right.getDoubles();
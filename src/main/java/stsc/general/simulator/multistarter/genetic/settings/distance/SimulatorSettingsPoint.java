@@ -0,0 +1,45 @@
+package stsc.general.simulator.multistarter.genetic.settings.distance;
+
+import java.util.Arrays;
+
+import stsc.general.simulator.Execution;
+
+/**
+ * Numeric representation of {@link Execution} settings: key describes structure (algorithms and parameter names), coordinates are
+ * parameter values. Distance is defined only between points with same key (see {@link SimulatorSettingsPointIndex}).
+ */
+public final class SimulatorSettingsPoint {
+
+	private final String key;
+	private final double[] coordinates;
+
+	public SimulatorSettingsPoint(final String key, final double[] coordinates) {
+		this.key = key;
+		this.coordinates = coordinates;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public double[] getCoordinates() {
+		return coordinates;
+	}
+
+	/**
+	 * @return sum of absolute coordinate differences (points should have same key).
+	 */
+	public double calculateDistance(final SimulatorSettingsPoint other) {
+		double result = 0.0;
+		for (int i = 0; i < coordinates.length; ++i) {
+			result += Math.abs(coordinates[i] - other.coordinates[i]);
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return key + Arrays.toString(coordinates);
+	}
+
+}
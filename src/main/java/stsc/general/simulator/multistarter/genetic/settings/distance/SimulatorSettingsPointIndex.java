@@ -0,0 +1,170 @@
+package stsc.general.simulator.multistarter.genetic.settings.distance;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of values by {@link SimulatorSettingsPoint} for radius queries. <br/>
+ * Points with same key are stored in separate k-d tree (splitting axis changes with depth), so radius query visits only subtrees that
+ * could contain points closer then radius instead of all stored points. Values are removed by identity: node is marked as deleted and
+ * trees are rebuilt (balanced) when there are more deleted nodes then stored values.
+ */
+public final class SimulatorSettingsPointIndex<T> {
+
+	private static final class Node<T> {
+
+		private final SimulatorSettingsPoint point;
+		private final T value;
+		private final int axis;
+		private Node<T> left;
+		private Node<T> right;
+		private boolean deleted;
+
+		Node(final SimulatorSettingsPoint point, final T value, final int depth) {
+			this.point = point;
+			this.value = value;
+			final int dimensions = point.getCoordinates().length;
+			this.axis = dimensions == 0 ? 0 : depth % dimensions;
+		}
+
+		double coordinate(final SimulatorSettingsPoint p) {
+			final double[] coordinates = p.getCoordinates();
+			return coordinates.length == 0 ? 0.0 : coordinates[axis];
+		}
+
+	}
+
+	private final Map<String, Node<T>> roots = new HashMap<>();
+	private final Map<T, Node<T>> nodes = new IdentityHashMap<>();
+	private int deletedAmount = 0;
+
+	public SimulatorSettingsPointIndex() {
+	}
+
+	public void add(final SimulatorSettingsPoint point, final T value) {
+		final Node<T> root = roots.get(point.getKey());
+		if (root == null) {
+			final Node<T> node = new Node<>(point, value, 0);
+			roots.put(point.getKey(), node);
+			nodes.put(value, node);
+			return;
+		}
+		Node<T> current = root;
+		int depth = 1;
+		while (true) {
+			if (point.getCoordinates().length > 0 && current.coordinate(point) < current.coordinate(current.point)) {
+				if (current.left == null) {
+					current.left = new Node<>(point, value, depth);
+					nodes.put(value, current.left);
+					return;
+				}
+				current = current.left;
+			} else {
+				if (current.right == null) {
+					current.right = new Node<>(point, value, depth);
+					nodes.put(value, current.right);
+					return;
+				}
+				current = current.right;
+			}
+			depth += 1;
+		}
+	}
+
+	/**
+	 * @return true if value (compared by identity) was stored.
+	 */
+	public boolean remove(final T value) {
+		final Node<T> node = nodes.remove(value);
+		if (node == null) {
+			return false;
+		}
+		node.deleted = true;
+		deletedAmount += 1;
+		if (deletedAmount > nodes.size()) {
+			rebuild();
+		}
+		return true;
+	}
+
+	/**
+	 * @return values with points (with same key) closer to point then radius.
+	 */
+	public List<T> find(final SimulatorSettingsPoint point, final double radius) {
+		final List<T> result = new ArrayList<>();
+		final Node<T> root = roots.get(point.getKey());
+		if (root == null) {
+			return result;
+		}
+		final Deque<Node<T>> nodesToVisit = new ArrayDeque<>();
+		nodesToVisit.push(root);
+		while (!nodesToVisit.isEmpty()) {
+			final Node<T> node = nodesToVisit.pop();
+			if (!node.deleted && node.point.calculateDistance(point) < radius) {
+				result.add(node.value);
+			}
+			final double difference = node.coordinate(point) - node.coordinate(node.point);
+			// points of other side are not closer then difference by axis
+			if (node.left != null && difference < radius) {
+				nodesToVisit.push(node.left);
+			}
+			if (node.right != null && -difference < radius) {
+				nodesToVisit.push(node.right);
+			}
+		}
+		return result;
+	}
+
+	public int size() {
+		return nodes.size();
+	}
+
+	private void rebuild() {
+		final Map<String, List<Node<T>>> nodesByKey = new HashMap<>();
+		for (Node<T> node : nodes.values()) {
+			nodesByKey.computeIfAbsent(node.point.getKey(), k -> new ArrayList<>()).add(node);
+		}
+		roots.clear();
+		nodes.clear();
+		deletedAmount = 0;
+		for (Map.Entry<String, List<Node<T>>> e : nodesByKey.entrySet()) {
+			roots.put(e.getKey(), build(e.getValue(), 0, e.getValue().size(), 0));
+		}
+	}
+
+	private Node<T> build(final List<Node<T>> oldNodes, final int from, final int to, final int depth) {
+		if (from >= to) {
+			return null;
+		}
+		final Node<T> first = oldNodes.get(from);
+		final int dimensions = first.point.getCoordinates().length;
+		final List<Node<T>> part = oldNodes.subList(from, to);
+		if (dimensions > 0) {
+			final int axis = depth % dimensions;
+			part.sort(Comparator.comparingDouble(n -> n.point.getCoordinates()[axis]));
+		}
+		int median = from + (to - from) / 2;
+		// equal coordinates should be on the right side
+		while (dimensions > 0 && median > from && coordinate(oldNodes.get(median - 1), depth) == coordinate(oldNodes.get(median), depth)) {
+			median -= 1;
+		}
+		final Node<T> old = oldNodes.get(median);
+		final Node<T> node = new Node<>(old.point, old.value, depth);
+		nodes.put(node.value, node);
+		node.left = build(oldNodes, from, median, depth + 1);
+		node.right = build(oldNodes, median + 1, to, depth + 1);
+		return node;
+	}
+
+	private static double coordinate(final Node<?> node, final int depth) {
+		final double[] coordinates = node.point.getCoordinates();
+		return coordinates[depth % coordinates.length];
+	}
+
+}
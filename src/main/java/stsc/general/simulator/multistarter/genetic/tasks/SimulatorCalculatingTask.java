@@ -33,10 +33,17 @@ public final class SimulatorCalculatingTask implements Callable<Boolean> {
 		return result;
 	}
 
+	public Execution getExecution() {
+		return simulatorSettings;
+	}
+
 	private Optional<Metrics> simulate() {
-		try {
-			final Simulator simulator = controller.createSimulator();
+		// trading log is not necessary after metrics are calculated
+		try (final Simulator simulator = controller.createSimulator()) {
 			simulator.simulateMarketTrading(simulatorSettings);
+			if (simulator.isPruned()) {
+				return Optional.empty();
+			}
 			return Optional.of(simulator.getMetrics());
 		} catch (Exception e) {
 			controller.getLogger().error("Error while calculating statistics: " + e.getMessage());
@@ -1,5 +1,10 @@
 package stsc.general.simulator.multistarter.grid;
 
+import java.util.List;
+import java.util.Map;
+
+import stsc.common.Settings;
+import stsc.common.algorithms.AlgorithmConfiguration;
 import stsc.common.algorithms.MutableAlgorithmConfiguration;
 import stsc.general.algorithm.AlgorithmConfigurationImpl;
 import stsc.general.simulator.multistarter.AlgorithmConfigurationSet;
@@ -8,6 +13,8 @@ import stsc.general.simulator.multistarter.ParameterList;
 import stsc.general.simulator.multistarter.ResetableIterable;
 import stsc.general.simulator.multistarter.ResetableIterator;
 
+import com.google.common.math.DoubleMath;
+
 public final class AlgorithmConfigurationSetGridGenerator implements ResetableIterable<MutableAlgorithmConfiguration>, ResetableIterator<MutableAlgorithmConfiguration> {
 
 	private static class Element implements ResetableIterator<MutableAlgorithmConfiguration>, Cloneable {
@@ -89,6 +96,122 @@ public final class AlgorithmConfigurationSetGridGenerator implements ResetableIt
 			}
 		}
 
+		/**
+		 * Decodes index as mixed radix number (first integer parameter is the
+		 * least significant digit, the same order as {@link #generateNext()}).
+		 */
+		protected AlgorithmConfigurationImpl generateSettings(final long index) {
+			final AlgorithmConfigurationImpl algoSettings = new AlgorithmConfigurationImpl();
+			long rest = index;
+
+			for (MpIterator<Integer, ?> p : parameters.getIntegers().getParams()) {
+				final long size = p.size();
+				algoSettings.setInteger(p.getName(), p.parameter((int) (rest % size)));
+				rest /= size;
+			}
+			for (MpIterator<Double, ?> p : parameters.getDoubles().getParams()) {
+				final long size = p.size();
+				algoSettings.setDouble(p.getName(), p.parameter((int) (rest % size)));
+				rest /= size;
+			}
+			for (MpIterator<String, ?> p : parameters.getStrings().getParams()) {
+				final long size = p.size();
+				algoSettings.setString(p.getName(), p.parameter((int) (rest % size)));
+				rest /= size;
+			}
+			for (MpIterator<String, ?> p : parameters.getSubExecutions().getParams()) {
+				final long size = p.size();
+				algoSettings.addSubExecutionName(p.parameter((int) (rest % size)));
+				rest /= size;
+			}
+			return algoSettings;
+		}
+
+		/**
+		 * @return canonical index of configuration (see
+		 *         {@link #isCanonical(long)}) or -1 if configuration is not a
+		 *         point of this grid.
+		 */
+		protected long indexOf(final AlgorithmConfiguration configuration) {
+			final Map<String, Integer> integerValues = configuration.getIntegers();
+			final Map<String, Double> doubleValues = configuration.getDoubles();
+			final Map<String, String> stringValues = configuration.getStrings();
+			final List<String> subExecutionValues = configuration.getSubExecutions();
+			if (integerValues.size() != parameters.getIntegers().getParams().size() || doubleValues.size() != parameters.getDoubles().getParams().size()
+					|| stringValues.size() != parameters.getStrings().getParams().size()
+					|| subExecutionValues.size() != parameters.getSubExecutions().getParams().size()) {
+				return -1;
+			}
+			long result = 0;
+			long multiplier = 1;
+			for (MpIterator<Integer, ?> p : parameters.getIntegers().getParams()) {
+				final long digit = digitOf(p, integerValues.get(p.getName()));
+				if (digit < 0)
+					return -1;
+				result += digit * multiplier;
+				multiplier *= p.size();
+			}
+			for (MpIterator<Double, ?> p : parameters.getDoubles().getParams()) {
+				final Double value = doubleValues.get(p.getName());
+				if (value == null)
+					return -1;
+				final int digit = p.getIndexByValue(value);
+				if (digit < 0 || digit >= p.size() || !DoubleMath.fuzzyEquals(p.parameter(digit), value, Settings.doubleEpsilon))
+					return -1;
+				result += digit * multiplier;
+				multiplier *= p.size();
+			}
+			for (MpIterator<String, ?> p : parameters.getStrings().getParams()) {
+				final long digit = digitOf(p, stringValues.get(p.getName()));
+				if (digit < 0)
+					return -1;
+				result += digit * multiplier;
+				multiplier *= p.size();
+			}
+			int subExecutionIndex = 0;
+			for (MpIterator<String, ?> p : parameters.getSubExecutions().getParams()) {
+				final long digit = digitOf(p, subExecutionValues.get(subExecutionIndex++));
+				if (digit < 0)
+					return -1;
+				result += digit * multiplier;
+				multiplier *= p.size();
+			}
+			return result;
+		}
+
+		private <T> long digitOf(final MpIterator<T, ?> p, final T value) {
+			if (value == null)
+				return -1;
+			final int digit = p.getIndexByValue(value);
+			if (digit < 0 || digit >= p.size() || !p.parameter(digit).equals(value))
+				return -1;
+			return digit;
+		}
+
+		/**
+		 * Parameter domains could contain same value several times, so
+		 * several indexes could have same configuration, only one of them
+		 * (which digits are returned by {@link MpIterator#getIndexByValue})
+		 * is canonical.
+		 */
+		protected boolean isCanonical(final long index) {
+			long rest = index;
+			for (ParameterList<?, ?> list : new ParameterList<?, ?>[] { parameters.getIntegers(), parameters.getDoubles(), parameters.getStrings(),
+					parameters.getSubExecutions() }) {
+				for (MpIterator<?, ?> p : list.getParams()) {
+					final long size = p.size();
+					if (!isCanonicalDigit(p, (int) (rest % size)))
+						return false;
+					rest /= size;
+				}
+			}
+			return true;
+		}
+
+		private <T> boolean isCanonicalDigit(final MpIterator<T, ?> p, final int digit) {
+			return p.getIndexByValue(p.parameter(digit)) == digit;
+		}
+
 		protected AlgorithmConfigurationImpl generateSettings() {
 			final AlgorithmConfigurationImpl algoSettings = new AlgorithmConfigurationImpl();
 
@@ -175,6 +298,30 @@ public final class AlgorithmConfigurationSetGridGenerator implements ResetableIt
 		return iterator.current();
 	}
 
+	/**
+	 * @return configuration with index (from 0 to {@link #size()}) in
+	 *         iteration order, iteration state is not used and not changed.
+	 */
+	public MutableAlgorithmConfiguration get(final long index) {
+		return iterator.generateSettings(index);
+	}
+
+	/**
+	 * @return index of configuration (see {@link #get(long)}) or -1 if
+	 *         configuration is not a point of this grid.
+	 */
+	public long indexOf(final AlgorithmConfiguration configuration) {
+		return iterator.indexOf(configuration);
+	}
+
+	/**
+	 * @return true if index is canonical index of its configuration (grid
+	 *         could contain the same configuration several times).
+	 */
+	public boolean isCanonical(final long index) {
+		return iterator.isCanonical(index);
+	}
+
 	@Override
 	public void reset() {
 		iterator.reset();
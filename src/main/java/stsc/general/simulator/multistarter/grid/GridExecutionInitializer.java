@@ -1,5 +1,6 @@
 package stsc.general.simulator.multistarter.grid;
 
+import stsc.common.algorithms.ExecutionInstance;
 import stsc.common.algorithms.MutableAlgorithmConfiguration;
 import stsc.general.simulator.multistarter.ResetableIterable;
 import stsc.general.simulator.multistarter.ResetableIterator;
@@ -58,4 +59,19 @@ public class GridExecutionInitializer implements ResetableIterator<MutableAlgori
 		return iterator.size();
 	}
 
+	public MutableAlgorithmConfiguration get(final long index) {
+		return iterator.get(index);
+	}
+
+	public long indexOf(final ExecutionInstance<?> execution) {
+		if (!executionName.equals(execution.getExecutionName()) || !algorithmName.equals(execution.getAlgorithmName())) {
+			return -1;
+		}
+		return iterator.indexOf(execution.getSettings());
+	}
+
+	public boolean isCanonical(final long index) {
+		return iterator.isCanonical(index);
+	}
+
 }
@@ -14,9 +14,12 @@ import stsc.common.algorithms.EodExecutionInstance;
 import stsc.common.algorithms.StockExecutionInstance;
 import stsc.common.storage.StockStorage;
 import stsc.general.simulator.ExecutionImpl;
+import stsc.general.trading.MarketDataTimeline;
 import stsc.general.trading.TradeProcessorInit;
 import stsc.storage.ExecutionInstancesStorage;
 
+import com.google.common.base.Supplier;
+
 /**
  * This iterator could be created only one for each list, so all iterators will
  * iterate like singleton will do
@@ -36,10 +39,14 @@ public class SimulatorSettingsGridIterator implements Iterator<ExecutionImpl> {
 	private final List<GridExecutionInitializer> stockInitializers;
 	private final List<GridExecutionInitializer> eodInitializers;
 
+	private final Supplier<MarketDataTimeline> marketDataTimeline;
+
 	private AtomicLong ssId;
 
-	SimulatorSettingsGridIterator(StockStorage stockStorage, FromToPeriod period, List<GridExecutionInitializer> stocks, List<GridExecutionInitializer> eods, boolean finished) {
+	SimulatorSettingsGridIterator(StockStorage stockStorage, FromToPeriod period, List<GridExecutionInitializer> stocks, List<GridExecutionInitializer> eods, boolean finished,
+			Supplier<MarketDataTimeline> marketDataTimeline) {
 		this.finished = finished;
+		this.marketDataTimeline = marketDataTimeline;
 		this.stockStorage = stockStorage;
 		this.period = period;
 		this.stockInitializers = stocks;
@@ -118,7 +125,7 @@ public class SimulatorSettingsGridIterator implements Iterator<ExecutionImpl> {
 			executionsStorage.addEodExecution(e);
 		}
 
-		final TradeProcessorInit init = new TradeProcessorInit(stockStorage, period, executionsStorage);
+		final TradeProcessorInit init = new TradeProcessorInit(stockStorage, period, executionsStorage, marketDataTimeline.get());
 		final ExecutionImpl ss = new ExecutionImpl(ssId.getAndIncrement(), init);
 		return ss;
 	}
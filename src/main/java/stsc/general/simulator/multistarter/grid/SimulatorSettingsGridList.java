@@ -2,10 +2,24 @@ package stsc.general.simulator.multistarter.grid;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.lang3.Validate;
 
 import stsc.common.FromToPeriod;
+import stsc.common.algorithms.BadAlgorithmException;
+import stsc.common.algorithms.EodExecutionInstance;
+import stsc.common.algorithms.ExecutionInstance;
+import stsc.common.algorithms.StockExecutionInstance;
 import stsc.common.storage.StockStorage;
+import stsc.general.simulator.Execution;
 import stsc.general.simulator.ExecutionImpl;
+import stsc.general.trading.MarketDataTimeline;
+import stsc.general.trading.TradeProcessorInit;
+import stsc.storage.ExecutionInstancesStorage;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 
 public final class SimulatorSettingsGridList implements Iterable<ExecutionImpl> {
 
@@ -16,17 +30,20 @@ public final class SimulatorSettingsGridList implements Iterable<ExecutionImpl>
 	protected final FromToPeriod period;
 	protected final boolean finished;
 
+	private final Supplier<MarketDataTimeline> marketDataTimeline;
+
 	SimulatorSettingsGridList(StockStorage stockStorage, FromToPeriod period, List<GridExecutionInitializer> stocks, List<GridExecutionInitializer> eods, boolean finished) {
 		this.stockStorage = stockStorage;
 		this.period = period;
 		this.stockInitializers = stocks;
 		this.eodInitializers = eods;
 		this.finished = finished;
+		this.marketDataTimeline = Suppliers.memoize(() -> MarketDataTimeline.create(stockStorage, period, Optional.empty()));
 	}
 
 	@Override
 	public Iterator<ExecutionImpl> iterator() {
-		return new SimulatorSettingsGridIterator(stockStorage, period, stockInitializers, eodInitializers, finished);
+		return new SimulatorSettingsGridIterator(stockStorage, period, stockInitializers, eodInitializers, finished, marketDataTimeline);
 	}
 
 	public List<GridExecutionInitializer> getStockInitializers() {
@@ -57,4 +74,95 @@ public final class SimulatorSettingsGridList implements Iterable<ExecutionImpl>
 		}
 		return result;
 	}
+
+	/**
+	 * Decodes index (from 0 to {@link #size()}) of iteration order into
+	 * {@link ExecutionImpl} without iterating: index is a mixed radix number
+	 * with digits for each stock initializer and then for each eod initializer
+	 * (first stock initializer is the least significant).<br/>
+	 * So grid could be split into ranges, resumed from index or sampled
+	 * randomly. {@link ExecutionImpl#getId()} is equal to index.
+	 */
+	public ExecutionImpl get(final long index) throws BadAlgorithmException {
+		Validate.isTrue(index >= 0 && index < size(), "Index " + index + " is out of grid");
+		final ExecutionInstancesStorage executionsStorage = new ExecutionInstancesStorage();
+		long rest = index;
+		for (GridExecutionInitializer i : stockInitializers) {
+			final long size = i.size();
+			executionsStorage.addStockExecution(new StockExecutionInstance(i.executionName, i.algorithmName, i.get(rest % size)));
+			rest /= size;
+		}
+		for (GridExecutionInitializer i : eodInitializers) {
+			final long size = i.size();
+			executionsStorage.addEodExecution(new EodExecutionInstance(i.executionName, i.algorithmName, i.get(rest % size)));
+			rest /= size;
+		}
+		final TradeProcessorInit init = new TradeProcessorInit(stockStorage, period, executionsStorage, marketDataTimeline.get());
+		return new ExecutionImpl(index, init);
+	}
+
+	/**
+	 * @return index of execution (see {@link #get(long)}), canonical one if
+	 *         grid contains the same point several times, or -1 if execution
+	 *         is not a point of this grid.
+	 */
+	public long indexOf(final Execution execution) {
+		final ExecutionInstancesStorage executionsStorage = execution.getInit().getExecutionsStorage();
+		final long stocksIndex = indexOf(stockInitializers, executionsStorage.getStockExecutions(), 1);
+		if (stocksIndex < 0) {
+			return -1;
+		}
+		final long eodsIndex = indexOf(eodInitializers, executionsStorage.getEodExecutions(), size(stockInitializers));
+		if (eodsIndex < 0) {
+			return -1;
+		}
+		return stocksIndex + eodsIndex;
+	}
+
+	private static long indexOf(final List<GridExecutionInitializer> initializers, final List<? extends ExecutionInstance<?>> executions, long multiplier) {
+		if (initializers.size() != executions.size()) {
+			return -1;
+		}
+		long result = 0;
+		for (int i = 0; i < initializers.size(); ++i) {
+			final GridExecutionInitializer initializer = initializers.get(i);
+			final long digit = initializer.indexOf(executions.get(i));
+			if (digit < 0) {
+				return -1;
+			}
+			result += digit * multiplier;
+			multiplier *= initializer.size();
+		}
+		return result;
+	}
+
+	private static long size(final List<GridExecutionInitializer> initializers) {
+		long result = 1;
+		for (GridExecutionInitializer ei : initializers) {
+			result *= ei.size();
+		}
+		return result;
+	}
+
+	/**
+	 * @return true if index is canonical index of its {@link ExecutionImpl}
+	 *         (parameters domains could contain same values several times, so
+	 *         only one of indexes with the same point is canonical).
+	 */
+	public boolean isCanonical(final long index) {
+		long rest = index;
+		for (GridExecutionInitializer i : stockInitializers) {
+			final long size = i.size();
+			if (!i.isCanonical(rest % size))
+				return false;
+			rest /= size;
+		}
+		for (GridExecutionInitializer i : eodInitializers) {
+			final long size = i.size();
+			if (!i.isCanonical(rest % size))
+				return false;
+			rest /= size;
+		}
+		return true;
+	}
 }
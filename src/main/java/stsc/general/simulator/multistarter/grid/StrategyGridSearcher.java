@@ -1,31 +1,33 @@
 package stsc.general.simulator.multistarter.grid;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.Validate;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.config.XMLConfigurationFactory;
 
-import com.google.common.util.concurrent.AtomicDouble;
-
-import stsc.common.BadSignalException;
-import stsc.common.algorithms.BadAlgorithmException;
+import stsc.general.simulator.ExecutionImpl;
 import stsc.general.simulator.Simulator;
 import stsc.general.simulator.SimulatorImpl;
-import stsc.general.simulator.ExecutionImpl;
 import stsc.general.simulator.multistarter.StrategySearcher;
 import stsc.general.simulator.multistarter.StrategySearcherException;
+import stsc.general.statistic.pruning.SimulationPruningPolicy;
 import stsc.general.strategy.TradingStrategy;
 import stsc.general.strategy.selector.StrategySelector;
 
 /**
- * Multi-thread Strategy Grid Searcher.
+ * Multi-thread Strategy Grid Searcher.<br/>
+ * Index space of {@link SimulatorSettingsGridList} is split into ranges that
+ * are executed on {@link ForkJoinPool} (so idle workers steal ranges from busy
+ * ones), each worker decodes {@link ExecutionImpl} from index by itself
+ * ({@link SimulatorSettingsGridList#get(long)}), so there is no shared
+ * iterator.
  */
 public final class StrategyGridSearcher implements StrategySearcher {
 
@@ -33,100 +35,54 @@ public final class StrategyGridSearcher implements StrategySearcher {
 		System.setProperty(XMLConfigurationFactory.CONFIGURATION_FILE_PROPERTY, "./config/mt_strategy_grid_searcher_log4j2.xml");
 	}
 
-	private static class IteratorProxy implements Iterator<ExecutionImpl> {
-		private final Iterator<ExecutionImpl> value;
-
-		IteratorProxy(Iterator<ExecutionImpl> value) {
-			this.value = value;
-		}
-
-		@Override
-		public synchronized boolean hasNext() {
-			return value.hasNext();
-		}
-
-		@Override
-		public synchronized ExecutionImpl next() {
-			return value.next();
-		}
-	}
-
 	private static Logger logger = LogManager.getLogger("StrategyGridSearcher");
 
-	private final Set<String> processedSettings = new HashSet<>();
-	private final StrategySelector selector;
-	private final double fullSize;
-	private final AtomicDouble processedSize = new AtomicDouble(1.0);
-
-	private final class StatisticsCalculationThread extends Thread {
+	/**
+	 * Amount of ranges per thread (more ranges - better balancing).
+	 */
+	private static final int RANGES_PER_THREAD = 64;
 
-		private IndicatorProgressListener progressListener = null;
+	private final class SimulateRangeTask extends RecursiveAction {
 
-		private final double fullSize;
-		private final AtomicDouble processedSize;
+		private static final long serialVersionUID = 1L;
 
-		private final IteratorProxy iterator;
-		private final StrategySelector selector;
-		private boolean stoppedByRequest;
+		private final long from;
+		private final long to;
 
-		StatisticsCalculationThread(double fullSize, AtomicDouble processedSize, final IteratorProxy iterator, final StrategySelector selector) {
-			this.fullSize = fullSize;
-			this.processedSize = processedSize;
-			this.iterator = iterator;
-			this.selector = selector;
-			this.stoppedByRequest = false;
+		SimulateRangeTask(final long from, final long to) {
+			this.from = from;
+			this.to = to;
 		}
 
 		@Override
-		public void run() {
-			Optional<ExecutionImpl> settings = getNextSimulatorSettings();
-
-			while (settings.isPresent()) {
-				try {
-					final Simulator simulator = new SimulatorImpl();
-					simulator.simulateMarketTrading(settings.get());
-					final TradingStrategy strategy = new TradingStrategy(settings.get(), simulator.getMetrics());
-					selector.addStrategy(strategy);
-					settings = getNextSimulatorSettings();
-				} catch (BadAlgorithmException | BadSignalException e) {
-					logger.error("Error while calculating statistics: " + e.getMessage());
-				}
-			}
-		}
-
-		private Optional<ExecutionImpl> getNextSimulatorSettings() {
-			synchronized (iterator) {
-				while (!stoppedByRequest && iterator.hasNext()) {
-					final ExecutionImpl nextValue = iterator.next();
-					if (nextValue == null)
-						return Optional.empty();
-					final String hashCode = nextValue.stringHashCode();
-					if (processedSettings.contains(hashCode)) {
-						logger.debug("Already resolved: " + hashCode);
-						continue;
+		protected void compute() {
+			if (to - from <= sequentialRangeSize) {
+				for (long index = from; index < to && !stoppedByRequest; ++index) {
+					if (list.isCanonical(index)) {
+						simulate(index);
 					} else {
-						processedSettings.add(hashCode);
-					}
-					final double processedSize = this.processedSize.getAndAdd(1.0);
-					if (progressListener != null) {
-						progressListener.processed(processedSize / fullSize);
+						logger.debug("Already resolved: " + index);
 					}
-					return Optional.of(nextValue);
 				}
+			} else {
+				final long middle = from + (to - from) / 2;
+				invokeAll(new SimulateRangeTask(from, middle), new SimulateRangeTask(middle, to));
 			}
-			return Optional.empty();
 		}
+	}
 
-		public void stopSearch() {
-			this.stoppedByRequest = true;
-		}
+	private final SimulatorSettingsGridList list;
+	private final StrategySelector selector;
+	private final Optional<SimulationPruningPolicy> pruningPolicy;
+	private final double fullSize;
+	private final long sequentialRangeSize;
+	private final AtomicLong processedSize = new AtomicLong(0);
 
-		public void addIndicatorProgress(IndicatorProgressListener listener) {
-			progressListener = listener;
-		}
-	}
+	private final ForkJoinPool pool;
+	private final ForkJoinTask<Void> search;
 
-	final List<StatisticsCalculationThread> threads = new ArrayList<>();
+	private volatile boolean stoppedByRequest = false;
+	private volatile IndicatorProgressListener progressListener = null;
 
 	public static StrategyGridSearcherBuilder getBuilder() {
 		return new StrategyGridSearcherBuilder();
@@ -134,36 +90,52 @@ public final class StrategyGridSearcher implements StrategySearcher {
 
 	StrategyGridSearcher(StrategyGridSearcherBuilder builder) {
 		Validate.notNull(builder.getSimulatorSettingsGridList(), "SimulatorSettingsGridList should not be null");
+		Validate.isTrue(builder.getThreadAmount() > 0, "Thread amount should be positive");
 
+		this.list = builder.getSimulatorSettingsGridList();
 		this.selector = builder.getSelector();
-		this.fullSize = (double) builder.getSimulatorSettingsGridList().size();
-		final IteratorProxy iteratorProxy = new IteratorProxy(builder.getSimulatorSettingsGridList().iterator());
+		this.pruningPolicy = builder.getPruningPolicy();
+		final long size = list.size();
+		this.fullSize = (double) size;
+		this.sequentialRangeSize = Math.max(1, size / ((long) builder.getThreadAmount() * RANGES_PER_THREAD));
 		logger.debug("Starting");
 
-		for (int i = 0; i < builder.getThreadAmount(); ++i) {
-			threads.add(new StatisticsCalculationThread(fullSize, processedSize, iteratorProxy, selector));
-		}
-		for (Thread t : threads) {
-			t.start();
-		}
+		this.pool = new ForkJoinPool(builder.getThreadAmount());
+		this.search = pool.submit(new SimulateRangeTask(0, size));
+		pool.shutdown();
 		logger.debug("Finishing");
+	}
 
+	private void simulate(final long index) {
+		final double processedSize = this.processedSize.incrementAndGet();
+		final IndicatorProgressListener listener = progressListener;
+		if (listener != null) {
+			listener.processed(processedSize / fullSize);
+		}
+		// trading log is not necessary after metrics are calculated
+		try (final Simulator simulator = new SimulatorImpl(pruningPolicy)) {
+			final ExecutionImpl settings = list.get(index);
+			simulator.simulateMarketTrading(settings);
+			if (!simulator.isPruned()) {
+				final TradingStrategy strategy = new TradingStrategy(settings, simulator.getMetrics());
+				selector.addStrategy(strategy);
+			}
+		} catch (Exception e) {
+			// one broken execution should not stop whole search
+			logger.error("Error while calculating statistics for " + index + ": " + e.getMessage());
+		}
 	}
 
 	@Override
 	public void stopSearch() {
-		for (StatisticsCalculationThread t : threads) {
-			t.stopSearch();
-		}
+		stoppedByRequest = true;
 	}
 
 	@Override
 	public StrategySelector waitAndGetSelector() throws StrategySearcherException {
 		try {
-			for (Thread t : threads) {
-				t.join();
-			}
-		} catch (InterruptedException e) {
+			search.get();
+		} catch (InterruptedException | ExecutionException e) {
 			throw new StrategySearcherException(e.getMessage());
 		}
 		return selector;
@@ -171,8 +143,6 @@ public final class StrategyGridSearcher implements StrategySearcher {
 
 	@Override
 	public synchronized void addIndicatorProgress(IndicatorProgressListener listener) {
-		for (StatisticsCalculationThread t : threads) {
-			t.addIndicatorProgress(listener);
-		}
+		progressListener = listener;
 	}
 }
@@ -1,5 +1,8 @@
 package stsc.general.simulator.multistarter.grid;
 
+import java.util.Optional;
+
+import stsc.general.statistic.pruning.SimulationPruningPolicy;
 import stsc.general.strategy.selector.StrategySelector;
 
 /**
@@ -10,6 +13,7 @@ public final class StrategyGridSearcherBuilder {
 	private SimulatorSettingsGridList simulatorSettingsGridList;
 	private StrategySelector selector;
 	private int threadAmount = 4;
+	private Optional<SimulationPruningPolicy> pruningPolicy = Optional.empty();
 
 	StrategyGridSearcherBuilder() {
 	}
@@ -29,6 +33,11 @@ public final class StrategyGridSearcherBuilder {
 		return this;
 	}
 
+	public StrategyGridSearcherBuilder setPruningPolicy(SimulationPruningPolicy pruningPolicy) {
+		this.pruningPolicy = Optional.of(pruningPolicy);
+		return this;
+	}
+
 	// getters
 
 	public SimulatorSettingsGridList getSimulatorSettingsGridList() {
@@ -43,6 +52,10 @@ public final class StrategyGridSearcherBuilder {
 		return threadAmount;
 	}
 
+	public Optional<SimulationPruningPolicy> getPruningPolicy() {
+		return pruningPolicy;
+	}
+
 	// build
 
 	public StrategyGridSearcher build() {
@@ -1,12 +1,22 @@
 package stsc.general.statistic;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.Date;
 
+/**
+ * Equity curve (date, value) of trading strategy. Curve is stored at
+ * primitive arrays (dates as epoch milliseconds) with amortized growth.<br/>
+ * {@link #clone()} shares arrays with the original curve (they are copied
+ * only on modification), and {@link #recalculateWithMax(double)} only stores
+ * divider that is applied lazily on value access. So money and percent curves
+ * of {@link Metrics} use the same arrays.
+ */
 public final class EquityCurve implements Cloneable {
 
+	/**
+	 * Snapshot of one curve element (modification of element do not change
+	 * the curve).
+	 */
 	public static final class Element implements Cloneable {
 
 		public Date date;
@@ -40,58 +50,121 @@ public final class EquityCurve implements Cloneable {
 		}
 	};
 
-	static final class ElementComparator implements Comparator<Element> {
+	private static final int INITIAL_CAPACITY = 16;
 
-		@Override
-		public int compare(Element o1, Element o2) {
-			return o1.date.compareTo(o2.date);
-		}
-	}
-
-	static final ElementComparator equityCurveElementComparator = new ElementComparator();
-
-	private ArrayList<Element> elements = new ArrayList<>();
+	private long[] times;
+	private double[] values;
+	private int size = 0;
+	private double divider = 1.0;
+	private boolean sharedArrays = false;
 
 	public EquityCurve() {
+		this.times = new long[INITIAL_CAPACITY];
+		this.values = new double[INITIAL_CAPACITY];
+	}
+
+	private EquityCurve(EquityCurve copyFrom) {
+		this.times = copyFrom.times;
+		this.values = copyFrom.values;
+		this.size = copyFrom.size;
+		this.divider = copyFrom.divider;
+		this.sharedArrays = true;
 	}
 
 	@Override
 	public EquityCurve clone() {
-		final EquityCurve equityCurve = new EquityCurve();
-		equityCurve.setCopy(this);
-		return equityCurve;
+		sharedArrays = true;
+		return new EquityCurve(this);
 	}
 
-	private void setCopy(EquityCurve copyFrom) {
-		for (Element e : copyFrom.elements) {
-			this.elements.add(e.clone());
+	public int size() {
+		return size;
+	}
+
+	public void add(Date date, double value) {
+		applyDivider();
+		if (sharedArrays || size == times.length) {
+			copyArrays(size == times.length ? Math.max(INITIAL_CAPACITY, size * 2) : times.length);
 		}
+		times[size] = date.getTime();
+		values[size] = value;
+		size += 1;
 	}
 
-	public int size() {
-		return elements.size();
+	private void copyArrays(int capacity) {
+		times = Arrays.copyOf(times, capacity);
+		values = Arrays.copyOf(values, capacity);
+		sharedArrays = false;
 	}
 
-	public void add(Date date, double value) {
-		elements.add(new Element(date, value));
+	/**
+	 * Divides stored values by divider (new arrays are created), so values
+	 * that will be stored after that are not recalculated.
+	 */
+	private void applyDivider() {
+		if (divider != 1.0) {
+			final double[] recalculated = new double[values.length];
+			for (int i = 0; i < size; ++i) {
+				recalculated[i] = values[i] / divider;
+			}
+			values = recalculated;
+			times = Arrays.copyOf(times, times.length);
+			divider = 1.0;
+			sharedArrays = false;
+		}
 	}
 
 	public Element getLastElement() {
-		return elements.get(elements.size() - 1);
+		return get(size - 1);
 	}
 
 	public void recalculateWithMax(double maximumSpentMoney) {
-		for (int i = 0; i < size(); ++i) {
-			elements.get(i).recalculatePercent(maximumSpentMoney);
-		}
+		applyDivider();
+		divider = maximumSpentMoney;
 	}
 
 	public Element get(int i) {
-		return elements.get(i);
+		return new Element(getDate(i), getValue(i));
 	}
 
+	public double getValue(int i) {
+		if (i >= size) {
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+		}
+		if (divider == 1.0) {
+			return values[i];
+		}
+		return values[i] / divider;
+	}
+
+	/**
+	 * @return date of element as epoch milliseconds (see {@link Date#getTime()}).
+	 */
+	public long getTime(int i) {
+		if (i >= size) {
+			throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+		}
+		return times[i];
+	}
+
+	public Date getDate(int i) {
+		return new Date(getTime(i));
+	}
+
+	public double getLastValue() {
+		return getValue(size - 1);
+	}
+
+	public long getLastTime() {
+		return getTime(size - 1);
+	}
+
+	/**
+	 * @return index of element with date or index of first element after the
+	 *         date (insertion point).
+	 */
 	public int find(Date date) {
-		int index = Collections.binarySearch(elements, Element.makeForSearch(date), equityCurveElementComparator);
+		int index = Arrays.binarySearch(times, 0, size, date.getTime());
 		if (index < 0)
 			index = -index - 1;
 		return index;
@@ -99,10 +172,21 @@ public final class EquityCurve implements Cloneable {
 
 	@Override
 	public String toString() {
-		return elements.toString();
+		final StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < size; ++i) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(get(i).toString());
+		}
+		return sb.append("]").toString();
 	}
 
 	public void setLast(final double value) {
-		elements.get(elements.size() - 1).value = value;
+		applyDivider();
+		if (sharedArrays) {
+			copyArrays(times.length);
+		}
+		values[size - 1] = value;
 	}
 }
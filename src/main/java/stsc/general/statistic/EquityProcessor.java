@@ -1,17 +1,12 @@
 package stsc.general.statistic;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
-import java.util.HashMap;
 
-import org.joda.time.Days;
-import org.joda.time.LocalDate;
-
-import stsc.common.Day;
 import stsc.common.Settings;
-import stsc.general.statistic.EquityCurve.Element;
+import stsc.general.trading.SymbolTable;
+import stsc.general.trading.TradingCalendar;
 import stsc.general.trading.TradingLog;
-import stsc.general.trading.TradingRecord;
 
 import com.google.common.math.DoubleMath;
 
@@ -22,8 +17,11 @@ final class EquityProcessor {
 	private final double commision;
 
 	private Date lastDate;
-	final private HashMap<String, Double> lastPrice = new HashMap<>();
-	final private ArrayList<TradingRecord> tradingRecords;
+	private int lastEpochDay = Integer.MIN_VALUE;
+	// last (open) price by symbol id of trading log symbols
+	private double[] lastPrice = new double[0];
+	final private SymbolTable symbols;
+	final private TradingLog tradingLog;
 	private int tradingRecordsIndex = 0;
 
 	private double spentLongCash = 0;
@@ -35,80 +33,109 @@ final class EquityProcessor {
 	private double maximumSpentMoney = 0.0;
 
 	private final MetricsBuilder builder = Metrics.getBuilder();
+	private final MetricsBuilderStreamingCalculator equityStatistics = new MetricsBuilderStreamingCalculator();
 
 	EquityProcessor(StatisticsProcessor statisticsProcessor, TradingLog tradingLog) {
 		this.commision = statisticsProcessor.getCommision();
 		this.longPositions = new PositionCollection(statisticsProcessor);
 		this.shortPositions = new PositionCollection(statisticsProcessor);
-		this.tradingRecords = tradingLog.getRecords();
+		this.symbols = tradingLog.getSymbols();
+		this.tradingLog = tradingLog;
+	}
+
+	void setStockPrice(String stockName, Date date, double openPrice) {
+		setStockPrice(symbols.intern(stockName), date, openPrice);
 	}
 
-	void setStockDay(String stockName, Day stockDay) {
-		lastDate = stockDay.date;
-		lastPrice.put(stockName, stockDay.getPrices().getOpen());
+	void setStockPrice(int symbolId, Date date, double openPrice) {
+		if (lastDate != date) {
+			lastDate = date;
+			lastEpochDay = TradingCalendar.toEpochDay(date);
+		}
+		if (symbolId >= lastPrice.length) {
+			final int oldSize = lastPrice.length;
+			lastPrice = Arrays.copyOf(lastPrice, Math.max(symbolId + 1, symbols.size()));
+			Arrays.fill(lastPrice, oldSize, lastPrice.length, Double.NaN);
+		}
+		lastPrice[symbolId] = openPrice;
 	}
 
 	double processEod(boolean debug) { // TODO cleanup this parameter
-		tradingRecordsIndex = processLastSignals(tradingRecords.size());
+		tradingRecordsIndex = processLastSignals(tradingLog.size());
 
 		calculateMaximumSpentMoney();
 		final double dayResult = calculateDayCash();
 		builder.equityCurve.add(lastDate, dayResult);
+		equityStatistics.add(lastDate.getTime(), dayResult);
 		return dayResult;
 	}
 
+	int getPeriod() {
+		return builder.equityCurve.size();
+	}
+
+	double getAvGain() {
+		if (builder.equityCurve.size() == 0 || DoubleMath.fuzzyEquals(maximumSpentMoney, 0.0, Settings.doubleEpsilon)) {
+			return 0.0;
+		}
+		final double lastValue = builder.equityCurve.getLastValue() / (maximumSpentMoney / PERCENTS);
+		if (lastValue >= PERCENTS) {
+			return PERCENTS;
+		}
+		return lastValue;
+	}
+
 	private int processLastSignals(final int tradingRecordSize) {
 		for (int i = tradingRecordsIndex; i < tradingRecordSize; ++i) {
-			final TradingRecord record = tradingRecords.get(i);
-			if (record.getDate().equals(lastDate)) {
+			if (tradingLog.getEpochDay(i) == lastEpochDay) {
 				return i;
 			}
-			if (record.isPurchase()) {
-				processBuying(record);
+			if (tradingLog.isPurchase(i)) {
+				processBuying(i);
 			} else {
-				processSelling(record);
+				processSelling(i);
 			}
 		}
 		return tradingRecordSize;
 	}
 
-	private void processBuying(final TradingRecord record) {
-		final String stockName = record.getStockName();
-		final double price = lastPrice.get(stockName);
-		final int shares = record.getAmount();
+	private void processBuying(final int recordIndex) {
+		final int symbolId = tradingLog.getSymbolId(recordIndex);
+		final double price = lastPrice[symbolId];
+		final int shares = tradingLog.getAmount(recordIndex);
 		final double sharesPrice = shares * price * (1.0 + commision);
-		if (record.isLong()) {
+		if (tradingLog.isLong(recordIndex)) {
 			spentLongCash += sharesPrice;
-			longPositions.increment(stockName, shares, sharesPrice);
+			longPositions.increment(symbolId, shares, sharesPrice);
 		} else {
 			spentShortCash += sharesPrice;
-			shortPositions.increment(stockName, shares, sharesPrice);
+			shortPositions.increment(symbolId, shares, sharesPrice);
 		}
 	}
 
-	private void processSelling(final TradingRecord record) {
-		final String stockName = record.getStockName();
-		final double price = lastPrice.get(stockName);
-		final int shares = record.getAmount();
+	private void processSelling(final int recordIndex) {
+		final int symbolId = tradingLog.getSymbolId(recordIndex);
+		final double price = lastPrice[symbolId];
+		final int shares = tradingLog.getAmount(recordIndex);
 		final double sharesPrice = shares * price * (1.0 - commision);
-		if (record.isLong()) {
-			processSellingLong(stockName, shares, price, sharesPrice);
+		if (tradingLog.isLong(recordIndex)) {
+			processSellingLong(symbolId, shares, price, sharesPrice);
 		} else {
-			processSellingShort(stockName, shares, price, sharesPrice);
+			processSellingShort(symbolId, shares, price, sharesPrice);
 		}
 	}
 
-	private void processSellingLong(String stockName, int shares, double price, double sharesPrice) {
-		final double oldPrice = longPositions.sharePrice(stockName);
-		longPositions.decrement(stockName, shares, sharesPrice);
+	private void processSellingLong(int symbolId, int shares, double price, double sharesPrice) {
+		final double oldPrice = longPositions.sharePrice(symbolId);
+		longPositions.decrement(symbolId, shares, sharesPrice);
 		final double priceDiff = sharesPrice - shares * oldPrice;
 		spentLongCash -= sharesPrice;
 		addPositionClose(priceDiff);
 	}
 
-	private void processSellingShort(String stockName, int shares, double price, double sharesPrice) {
-		final double oldPrice = shortPositions.sharePrice(stockName);
-		shortPositions.decrement(stockName, shares, sharesPrice);
+	private void processSellingShort(int symbolId, int shares, double price, double sharesPrice) {
+		final double oldPrice = shortPositions.sharePrice(symbolId);
+		shortPositions.decrement(symbolId, shares, sharesPrice);
 		final double priceDiff = shares * oldPrice - sharesPrice;
 		spentShortCash -= sharesPrice;
 		addPositionClose(priceDiff);
@@ -169,108 +196,34 @@ final class EquityProcessor {
 		final int MINIMAL_DAY_IN_PERIOD = 2;
 		if (builder.period > MINIMAL_DAY_IN_PERIOD && (longPositions.size() > 0 || shortPositions.size() > 0)) {
 			while (longPositions.size() > 0) {
-				final String stockName = longPositions.positions.keySet().iterator().next();
-				final PositionCollection.Position p = longPositions.positions.get(stockName);
+				final int symbolId = longPositions.getOpened(0);
 
-				double price = lastPrice.get(stockName);
-				int shares = p.shares;
+				double price = lastPrice[symbolId];
+				int shares = longPositions.getShares(symbolId);
 				double sharesPrice = shares * price * (1 - commision);
 
-				processSellingLong(stockName, shares, price, sharesPrice);
+				processSellingLong(symbolId, shares, price, sharesPrice);
 			}
 			while (shortPositions.size() > 0) {
-				final String stockName = shortPositions.positions.keySet().iterator().next();
-				final PositionCollection.Position p = shortPositions.positions.get(stockName);
+				final int symbolId = shortPositions.getOpened(0);
 
-				double price = lastPrice.get(stockName);
-				int shares = p.shares;
+				double price = lastPrice[symbolId];
+				int shares = shortPositions.getShares(symbolId);
 				double sharesPrice = shares * price * (1 - commision);
 
-				processSellingShort(stockName, shares, price, sharesPrice);
+				processSellingShort(symbolId, shares, price, sharesPrice);
 			}
 			final double cashSum = spentShortCash - spentLongCash;
 			if (maximumSpentMoney < cashSum)
 				maximumSpentMoney = cashSum;
 			builder.equityCurve.setLast(cashSum);
+			equityStatistics.setLast(cashSum);
 		}
 	}
 
 	private void calculateEquityStatistics() {
 		final int DAYS_PER_YEAR = 250;
-		if (builder.period > DAYS_PER_YEAR) {
-			new MetricsBuilderCalculateMonthsStatistics(builder);
-			new MetricsBuilderPeriodCalculator(builder). //
-					collectAndCalculateMonthsAnd12MonthsStatistics();
-		}
-
-		calculateDrawDownStatistics();
-	}
-
-	private void calculateDrawDownStatistics() {
-		final MetricsBuilder init = builder;
-		final int equityCurveSize = init.equityCurve.size();
-
-		Element ddStart = init.equityCurve.get(0);
-		boolean inDrawdown = false;
-		double ddSize = 0.0;
-		double lastValue = ddStart.value;
-
-		int ddCount = 0;
-		double ddDurationSum = 0.0;
-		double ddValueSum = 0.0;
-
-		for (int i = 1; i < equityCurveSize; ++i) {
-			Element currentElement = init.equityCurve.get(i);
-			if (!inDrawdown) {
-				if (currentElement.value >= lastValue)
-					ddStart = currentElement;
-				else {
-					inDrawdown = true;
-					ddSize = ddStart.value - currentElement.value;
-				}
-			} else {
-				if (currentElement.value > lastValue) {
-					if (currentElement.value >= ddStart.value) {
-						final int ddLength = Days.daysBetween(new LocalDate(ddStart.date), new LocalDate(currentElement.date)).getDays();
-
-						ddCount += 1;
-						ddDurationSum += ddLength;
-						ddValueSum += ddSize;
-
-						checkDdLengthSizeOnMax(ddSize, ddLength);
-
-						inDrawdown = false;
-						ddStart = currentElement;
-						ddSize = 0.0;
-					}
-				} else {
-					final double currentDdSize = ddStart.value - currentElement.value;
-					if (ddSize < currentDdSize)
-						ddSize = currentDdSize;
-				}
-			}
-			lastValue = currentElement.value;
-		}
-		if (inDrawdown) {
-			final int ddLength = Days.daysBetween(new LocalDate(ddStart.date), new LocalDate(init.equityCurve.getLastElement().date)).getDays();
-			ddCount += 1;
-			ddValueSum += ddSize;
-			ddDurationSum += ddLength;
-
-			checkDdLengthSizeOnMax(ddSize, ddLength);
-		}
-
-		if (ddCount != 0) {
-			init.ddDurationAverage = ddDurationSum / ddCount;
-			init.ddValueAverage = ddValueSum / ddCount;
-		}
-	}
-
-	private void checkDdLengthSizeOnMax(double ddSize, int ddLength) {
-		if (ddSize > builder.ddValueMax)
-			builder.ddValueMax = ddSize;
-		if (ddLength > builder.ddDurationMax)
-			builder.ddDurationMax = ddLength;
+		equityStatistics.finish(builder, maximumSpentMoney, builder.period > DAYS_PER_YEAR);
 	}
 
 }
\ No newline at end of file
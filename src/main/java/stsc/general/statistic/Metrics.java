@@ -1,20 +1,24 @@
 package stsc.general.statistic;
 
 import java.io.BufferedWriter;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Map;
 
-import stsc.general.statistic.EquityCurve.Element;
 import stsc.general.strategy.TradingStrategy;
 
 /**
  * {@link Metrics} is a class that store comparable (double like) values that describe {@link TradingStrategy}. <br/>
- * There is two type of Metrics: Integer and Double types.
+ * There is two type of Metrics: Integer and Double types. <br/>
+ * Values are stored at arrays indexed by {@link MetricType#ordinal()} (with bit masks of set metrics), so primitive getters
+ * ({@link #getDoubleValue(MetricType)}, {@link #getIntegerValue(MetricType)}, {@link #getMetricValue(MetricType)}) do not allocate.
  */
 public final class Metrics {
 
@@ -22,8 +26,17 @@ public final class Metrics {
 		return new MetricsBuilder();
 	}
 
-	private final Map<MetricType, Double> doubleMetrics = new HashMap<>();
-	private final Map<MetricType, Integer> integerMetrics = new HashMap<>();
+	private static final MetricType[] TYPES = MetricType.values();
+
+	// binary form header (see write / read)
+	private static final int MAGIC = 0x5354534D;
+	private static final int VERSION = 1;
+
+	private final double[] doubleMetrics = new double[TYPES.length];
+	private final int[] integerMetrics = new int[TYPES.length];
+	// bit (by ordinal) is set when metric value is set (there are less than 64 metric types)
+	private long doubleMetricsMask = 0;
+	private long integerMetricsMask = 0;
 
 	private final EquityCurve equityCurveInMoney;
 
@@ -42,8 +55,12 @@ public final class Metrics {
 	}
 
 	public Metrics(Map<MetricType, Double> doubleList, Map<MetricType, Integer> integerList, EquityCurve equityCurve) {
-		this.getDoubleMetrics().putAll(doubleList);
-		this.getIntegerMetrics().putAll(integerList);
+		for (Map.Entry<MetricType, Double> e : doubleList.entrySet()) {
+			setDoubleMetric(e.getKey(), e.getValue());
+		}
+		for (Map.Entry<MetricType, Integer> e : integerList.entrySet()) {
+			setIntegerMetric(e.getKey(), e.getValue());
+		}
 		this.equityCurveInMoney = equityCurve;
 	}
 
@@ -95,44 +112,127 @@ public final class Metrics {
 			return a / b;
 	}
 
-	public void setDoubleMetric(MetricType name, Double value) {
-		getDoubleMetrics().put(name, value);
+	public void setDoubleMetric(MetricType name, double value) {
+		doubleMetrics[name.ordinal()] = value;
+		doubleMetricsMask |= bit(name);
 	}
 
+	/**
+	 * @return double metric value or null (if metric is not set).
+	 */
 	public Double getDoubleMetric(MetricType name) {
-		return getDoubleMetrics().get(name);
+		if (!isSet(doubleMetricsMask, name)) {
+			return null;
+		}
+		return doubleMetrics[name.ordinal()];
+	}
+
+	/**
+	 * @return double metric value (without boxing), throws {@link IllegalArgumentException} if metric is not set.
+	 */
+	public double getDoubleValue(MetricType name) {
+		if (!isSet(doubleMetricsMask, name)) {
+			throw new IllegalArgumentException("Double metric " + name + " is not set");
+		}
+		return doubleMetrics[name.ordinal()];
 	}
 
 	/**
 	 * Try to return by double metric; if double value is not there -> try to return integer
 	 */
 	public Double getMetric(MetricType name) {
-		Double r = getDoubleMetric(name);
-		if (r == null) {
-			return getIntegerMetric(name).doubleValue();
-		} else {
-			return r;
+		return getMetricValue(name);
+	}
+
+	/**
+	 * The same as {@link #getMetric(MetricType)} without boxing, throws {@link IllegalArgumentException} if metric is not set.
+	 */
+	public double getMetricValue(MetricType name) {
+		if (isSet(doubleMetricsMask, name)) {
+			return doubleMetrics[name.ordinal()];
 		}
+		return getIntegerValue(name);
 	}
 
-	public void setIntegerMetric(MetricType name, Integer value) {
-		getIntegerMetrics().put(name, value);
+	public void setIntegerMetric(MetricType name, int value) {
+		integerMetrics[name.ordinal()] = value;
+		integerMetricsMask |= bit(name);
 	}
 
 	public EquityCurve getEquityCurveInMoney() {
 		return equityCurveInMoney;
 	}
 
+	/**
+	 * @return integer metric value or null (if metric is not set).
+	 */
 	public Integer getIntegerMetric(MetricType name) {
-		return getIntegerMetrics().get(name);
+		if (!isSet(integerMetricsMask, name)) {
+			return null;
+		}
+		return integerMetrics[name.ordinal()];
+	}
+
+	/**
+	 * @return integer metric value (without boxing), throws {@link IllegalArgumentException} if metric is not set.
+	 */
+	public int getIntegerValue(MetricType name) {
+		if (!isSet(integerMetricsMask, name)) {
+			throw new IllegalArgumentException("Integer metric " + name + " is not set");
+		}
+		return integerMetrics[name.ordinal()];
+	}
+
+	/**
+	 * @return array of metric values indexed by {@link MetricType#ordinal()} (double value or integer value for integer metrics; NaN
+	 *         for not set metrics), see {@link #getMetricValue(MetricType)}.
+	 */
+	public double[] getMetricValues() {
+		final double[] result = new double[TYPES.length];
+		for (int i = 0; i < TYPES.length; ++i) {
+			if ((doubleMetricsMask & (1L << i)) != 0) {
+				result[i] = doubleMetrics[i];
+			} else if ((integerMetricsMask & (1L << i)) != 0) {
+				result[i] = integerMetrics[i];
+			} else {
+				result[i] = Double.NaN;
+			}
+		}
+		return result;
+	}
+
+	private static long bit(final MetricType name) {
+		return 1L << name.ordinal();
 	}
 
+	private static boolean isSet(final long mask, final MetricType name) {
+		return (mask & bit(name)) != 0;
+	}
+
+	/**
+	 * @return copy of set double metrics (ordered by {@link MetricType}).
+	 */
 	public Map<MetricType, Double> getDoubleMetrics() {
-		return doubleMetrics;
+		final Map<MetricType, Double> result = new EnumMap<>(MetricType.class);
+		for (MetricType type : TYPES) {
+			if (isSet(doubleMetricsMask, type)) {
+				result.put(type, doubleMetrics[type.ordinal()]);
+			}
+		}
+		return Collections.unmodifiableMap(result);
 	}
 
+	/**
+	 * @return copy of set integer metrics (ordered by {@link MetricType}).
+	 */
 	public Map<MetricType, Integer> getIntegerMetrics() {
-		return integerMetrics;
+		final Map<MetricType, Integer> result = new EnumMap<>(MetricType.class);
+		for (MetricType type : TYPES) {
+			if (isSet(integerMetricsMask, type)) {
+				result.put(type, integerMetrics[type.ordinal()]);
+			}
+		}
+		return Collections.unmodifiableMap(result);
 	}
 
 	/**
@@ -157,11 +257,69 @@ public final class Metrics {
 		outfile.append('\n');
 
 		for (int i = 0; i < equityCurveInMoney.size(); ++i) {
-			final Element e = equityCurveInMoney.get(i);
-			outfile.append(dateFormat.format(e.date)).append('\t').append(decimalFormat.format(e.value)).append('\n');
+			outfile.append(dateFormat.format(equityCurveInMoney.getDate(i))).append('\t').append(decimalFormat.format(equityCurveInMoney.getValue(i))).append('\n');
 		}
 	}
 
+	/**
+	 * Writes double and integer metrics as (ordinal, value) pairs in binary form (equity curve is not written). Values are preceded by
+	 * header (magic, format version and amount of {@link MetricType}s), so metrics written by other version are not read silently wrong.
+	 */
+	public void write(final DataOutput out) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeByte(TYPES.length);
+		out.writeByte(Long.bitCount(doubleMetricsMask));
+		for (MetricType type : TYPES) {
+			if (isSet(doubleMetricsMask, type)) {
+				out.writeByte(type.ordinal());
+				out.writeDouble(doubleMetrics[type.ordinal()]);
+			}
+		}
+		out.writeByte(Long.bitCount(integerMetricsMask));
+		for (MetricType type : TYPES) {
+			if (isSet(integerMetricsMask, type)) {
+				out.writeByte(type.ordinal());
+				out.writeInt(integerMetrics[type.ordinal()]);
+			}
+		}
+	}
+
+	/**
+	 * Reads {@link Metrics} written by {@link #write(DataOutput)} (with empty equity curve).
+	 * 
+	 * @throws IOException
+	 *             also when header is different (metrics were written by other format version or for other set of {@link MetricType}s).
+	 */
+	public static Metrics read(final DataInput in) throws IOException {
+		final MetricType[] types = MetricType.values();
+		final int magic = in.readInt();
+		final int version = in.readUnsignedByte();
+		final int typesAmount = in.readUnsignedByte();
+		if (magic != MAGIC || version != VERSION || typesAmount != types.length) {
+			throw new IOException("Metrics were written by other format version (version " + version + ", " + typesAmount + " metric types)");
+		}
+		final Map<MetricType, Double> doubleList = new EnumMap<>(MetricType.class);
+		final int doubleSize = in.readUnsignedByte();
+		for (int i = 0; i < doubleSize; ++i) {
+			doubleList.put(readType(in, types), in.readDouble());
+		}
+		final Map<MetricType, Integer> integerList = new EnumMap<>(MetricType.class);
+		final int integerSize = in.readUnsignedByte();
+		for (int i = 0; i < integerSize; ++i) {
+			integerList.put(readType(in, types), in.readInt());
+		}
+		return new Metrics(doubleList, integerList);
+	}
+
+	private static MetricType readType(final DataInput in, final MetricType[] types) throws IOException {
+		final int ordinal = in.readUnsignedByte();
+		if (ordinal >= types.length) {
+			throw new IOException("Unknown metric type ordinal " + ordinal);
+		}
+		return types[ordinal];
+	}
+
 	@Override
 	public String toString() {
 		String result = "Metrics: \n";
@@ -175,12 +333,23 @@ public final class Metrics {
 		return result;
 	}
 
+	/**
+	 * Calculated from values arrays and masks (without allocation), consistent with {@link #equals(Object)}.
+	 */
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + ((doubleMetrics == null) ? 0 : doubleMetrics.hashCode());
-		result = prime * result + ((integerMetrics == null) ? 0 : integerMetrics.hashCode());
+		result = prime * result + Long.hashCode(doubleMetricsMask);
+		result = prime * result + Long.hashCode(integerMetricsMask);
+		for (MetricType type : TYPES) {
+			if (isSet(doubleMetricsMask, type)) {
+				result = prime * result + Double.hashCode(doubleMetrics[type.ordinal()]);
+			}
+			if (isSet(integerMetricsMask, type)) {
+				result = prime * result + integerMetrics[type.ordinal()];
+			}
+		}
 		return result;
 	}
 
@@ -193,16 +362,15 @@ public final class Metrics {
 		if (getClass() != obj.getClass())
 			return false;
 		Metrics other = (Metrics) obj;
-		if (doubleMetrics == null) {
-			if (other.doubleMetrics != null)
-				return false;
-		} else if (!doubleMetrics.equals(other.doubleMetrics))
+		if (doubleMetricsMask != other.doubleMetricsMask || integerMetricsMask != other.integerMetricsMask)
 			return false;
-		if (integerMetrics == null) {
-			if (other.integerMetrics != null)
+		for (MetricType type : TYPES) {
+			if (isSet(doubleMetricsMask, type)
+					&& Double.doubleToLongBits(doubleMetrics[type.ordinal()]) != Double.doubleToLongBits(other.doubleMetrics[type.ordinal()]))
 				return false;
-		} else if (!integerMetrics.equals(other.integerMetrics))
-			return false;
+			if (isSet(integerMetricsMask, type) && integerMetrics[type.ordinal()] != other.integerMetrics[type.ordinal()])
+				return false;
+		}
 		return true;
 	}
 
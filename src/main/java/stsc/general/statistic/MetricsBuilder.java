@@ -42,10 +42,11 @@ class MetricsBuilder {
 		if (equityCurve.size() == 0) {
 			return 0.0;
 		}
-		if (equityCurve.getLastElement().value >= 100.0) {
+		final double lastValue = equityCurve.getLastValue();
+		if (lastValue >= 100.0) {
 			return 100.0;
 		}
-		return equityCurve.getLastElement().value;
+		return lastValue;
 	}
 
 	public String toString() {
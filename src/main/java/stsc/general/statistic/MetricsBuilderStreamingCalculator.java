@@ -0,0 +1,353 @@
+package stsc.general.statistic;
+
+import org.joda.time.DateTimeZone;
+
+/**
+ * Calculates equity curve statistics of {@link MetricsBuilder} (gains by
+ * months and sharpe ratio, start months and 12 months gains, drawdowns)
+ * incrementally: one equity curve element per {@link #add(long, double)}
+ * call, so {@link #finish(MetricsBuilder, double, boolean)} is O(1).<br/>
+ * Elements are processed with one element lag, because value of the last
+ * element could be changed after all positions are closed (see
+ * {@link #setLast(double)}). Statistics are accumulated in money and divided
+ * by equity curve divider on finish. Dates are compared as local (default
+ * time zone) epoch days, without any date objects.
+ */
+final class MetricsBuilderStreamingCalculator {
+
+	private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+	private static final int MONTHS_PER_YEAR = 12;
+	private static final double RISK_PERCENTS = 5.0;
+	private static final int REASONABLE_AMOUNT_OF_DAYS_FOR_LAST_MONTH = 13;
+	private static final int REASONABLE_AMOUNT_OF_DAYS_FOR_START_MONTH = 15;
+
+	/**
+	 * Online (Welford) average and standard deviation.
+	 */
+	private static final class OnlineStatistics {
+		private int count = 0;
+		private double sum = 0.0;
+		private double mean = 0.0;
+		private double m2 = 0.0;
+		private double min = 0.0;
+		private double max = 0.0;
+
+		void add(double value) {
+			count += 1;
+			sum += value;
+			final double delta = value - mean;
+			mean += delta / count;
+			m2 += delta * (value - mean);
+			if (value > max)
+				max = value;
+			if (value < min)
+				min = value;
+		}
+
+		double stDev() {
+			return Math.sqrt(m2 / count);
+		}
+	}
+
+	private final DateTimeZone timeZone = DateTimeZone.getDefault();
+
+	private int size = 0;
+
+	private boolean hasPending = false;
+	private int pendingEpochDay;
+	private double pendingValue;
+
+	private double firstValue;
+	private int lastEpochDay;
+	private double lastValue;
+
+	// gains by months from the first day (for sharpe ratio)
+	private int monthYear;
+	private int month;
+	private int monthDay;
+	private int monthEpochDay;
+	private int monthIndex = 0;
+	private double monthIndexValue;
+	private final OnlineStatistics monthGains = new OnlineStatistics();
+
+	// gains by start months
+	private int startMonthYear;
+	private int startMonth;
+	private int startMonthEpochDay;
+	private int firstStartMonthIndex = -1;
+	private int lastStartMonthIndex = -1;
+	private int startMonthsAmount = 0;
+	private double previousStartMonthValue;
+	private final double[] startMonthsWindow = new double[MONTHS_PER_YEAR];
+	private final OnlineStatistics startMonthGains = new OnlineStatistics();
+	private final OnlineStatistics month12Gains = new OnlineStatistics();
+
+	// drawdowns
+	private boolean inDrawdown = false;
+	private int ddStartEpochDay;
+	private double ddStartValue;
+	private double ddSize = 0.0;
+	private int ddCount = 0;
+	private double ddDurationSum = 0.0;
+	private double ddValueSum = 0.0;
+	private int ddDurationMax = 0;
+	private double ddValueMax = 0.0;
+
+	void add(long time, double value) {
+		if (hasPending) {
+			process(pendingEpochDay, pendingValue, false);
+		}
+		hasPending = true;
+		pendingEpochDay = toLocalEpochDay(time);
+		pendingValue = value;
+	}
+
+	void setLast(double value) {
+		pendingValue = value;
+	}
+
+	/**
+	 * Writes statistics to builder.
+	 * 
+	 * @param divider
+	 *            - divider of equity curve (money to percents).
+	 * @param withMonthStatistics
+	 *            - should be months statistics (sharpe ratio, start months and 12 months gains) calculated.
+	 */
+	void finish(final MetricsBuilder builder, final double divider, final boolean withMonthStatistics) {
+		if (hasPending) {
+			process(pendingEpochDay, pendingValue, true);
+			hasPending = false;
+		}
+		if (size == 0) {
+			return;
+		}
+		if (withMonthStatistics) {
+			finishMonths(builder, divider);
+			finishStartMonths(builder, divider);
+		}
+		finishDrawdowns(builder, divider);
+	}
+
+	private void process(final int epochDay, final double value, final boolean last) {
+		final int index = size++;
+		if (index == 0) {
+			start(epochDay, value);
+		} else {
+			processMonths(index, epochDay, last);
+			processStartMonths(index, epochDay, value, last);
+			processDrawdown(epochDay, value);
+		}
+		lastEpochDay = epochDay;
+		lastValue = value;
+	}
+
+	private void start(final int epochDay, final double value) {
+		firstValue = value;
+		final int[] civil = civilFromDays(epochDay);
+		monthYear = civil[0];
+		month = civil[1];
+		monthDay = civil[2];
+		monthIndexValue = value;
+		nextMonth();
+
+		startMonthYear = civil[0];
+		startMonth = civil[1];
+		nextStartMonth();
+
+		ddStartEpochDay = epochDay;
+		ddStartValue = value;
+	}
+
+	/**
+	 * Month boundaries are previous boundary plus month (day of month is
+	 * clamped to month length), gain is calculated from last element before
+	 * boundary.
+	 */
+	private void processMonths(final int index, final int epochDay, final boolean last) {
+		while (monthEpochDay < epochDay || (monthEpochDay == epochDay && !last)) {
+			monthIndex = index - 1;
+			monthGains.add(lastValue - monthIndexValue);
+			monthIndexValue = lastValue;
+			nextMonth();
+		}
+	}
+
+	private void nextMonth() {
+		if (month == MONTHS_PER_YEAR) {
+			month = 1;
+			monthYear += 1;
+		} else {
+			month += 1;
+		}
+		monthDay = Math.min(monthDay, daysInMonth(monthYear, month));
+		monthEpochDay = daysFromCivil(monthYear, month, monthDay);
+	}
+
+	/**
+	 * Start month boundaries are first days of months, gain is calculated to
+	 * first element at or after boundary.
+	 */
+	private void processStartMonths(final int index, final int epochDay, final double value, final boolean last) {
+		while (startMonthEpochDay <= epochDay) {
+			if (firstStartMonthIndex < 0) {
+				firstStartMonthIndex = index;
+			}
+			if (last && startMonthEpochDay == epochDay) {
+				break;
+			}
+			if (lastStartMonthIndex < 0 && firstStartMonthIndex >= REASONABLE_AMOUNT_OF_DAYS_FOR_START_MONTH) {
+				addStartMonth(firstValue);
+			}
+			addStartMonth(value);
+			lastStartMonthIndex = index;
+			nextStartMonth();
+		}
+	}
+
+	private void nextStartMonth() {
+		if (startMonth == MONTHS_PER_YEAR) {
+			startMonth = 1;
+			startMonthYear += 1;
+		} else {
+			startMonth += 1;
+		}
+		startMonthEpochDay = daysFromCivil(startMonthYear, startMonth, 1);
+	}
+
+	private void addStartMonth(final double value) {
+		final int position = startMonthsAmount++;
+		if (position == 0) {
+			previousStartMonthValue = firstValue;
+		} else {
+			startMonthGains.add(value - previousStartMonthValue);
+			previousStartMonthValue = value;
+		}
+		final int windowIndex = position % MONTHS_PER_YEAR;
+		if (position >= MONTHS_PER_YEAR) {
+			month12Gains.add(value - startMonthsWindow[windowIndex]);
+		}
+		startMonthsWindow[windowIndex] = value;
+	}
+
+	private void processDrawdown(final int epochDay, final double value) {
+		if (!inDrawdown) {
+			if (value >= lastValue) {
+				ddStartEpochDay = epochDay;
+				ddStartValue = value;
+			} else {
+				inDrawdown = true;
+				ddSize = ddStartValue - value;
+			}
+		} else {
+			if (value > lastValue) {
+				if (value >= ddStartValue) {
+					addDrawdown(epochDay - ddStartEpochDay);
+					inDrawdown = false;
+					ddStartEpochDay = epochDay;
+					ddStartValue = value;
+					ddSize = 0.0;
+				}
+			} else {
+				final double currentDdSize = ddStartValue - value;
+				if (ddSize < currentDdSize)
+					ddSize = currentDdSize;
+			}
+		}
+	}
+
+	private void addDrawdown(final int ddLength) {
+		ddCount += 1;
+		ddDurationSum += ddLength;
+		ddValueSum += ddSize;
+		if (ddSize > ddValueMax)
+			ddValueMax = ddSize;
+		if (ddLength > ddDurationMax)
+			ddDurationMax = ddLength;
+	}
+
+	private void finishMonths(final MetricsBuilder builder, final double divider) {
+		if (size - monthIndex >= REASONABLE_AMOUNT_OF_DAYS_FOR_LAST_MONTH) {
+			monthGains.add(lastValue - monthIndexValue);
+		}
+		final double sharpeAnnualReturn = (MONTHS_PER_YEAR / (double) monthGains.count) * (monthGains.sum / divider);
+		final double sharpeStDev = Math.sqrt(MONTHS_PER_YEAR) * (monthGains.stDev() / divider);
+		builder.sharpeRatio = (sharpeAnnualReturn - RISK_PERCENTS) / sharpeStDev;
+	}
+
+	private void finishStartMonths(final MetricsBuilder builder, final double divider) {
+		final int nextIndex = lastStartMonthIndex < 0 ? size : lastStartMonthIndex;
+		if (lastStartMonthIndex >= 0 && size - nextIndex >= REASONABLE_AMOUNT_OF_DAYS_FOR_START_MONTH) {
+			addStartMonth(lastValue);
+		}
+		builder.startMonthAvGain = startMonthGains.sum / divider / startMonthGains.count;
+		builder.startMonthStDevGain = startMonthGains.stDev() / divider;
+		builder.startMonthMax = startMonthGains.max / divider;
+		builder.startMonthMin = startMonthGains.min / divider;
+
+		builder.month12AvGain = month12Gains.sum / divider / month12Gains.count;
+		builder.month12StDevGain = month12Gains.stDev() / divider;
+		builder.month12Max = month12Gains.max / divider;
+		builder.month12Min = month12Gains.min / divider;
+	}
+
+	private void finishDrawdowns(final MetricsBuilder builder, final double divider) {
+		if (inDrawdown) {
+			addDrawdown(lastEpochDay - ddStartEpochDay);
+		}
+		builder.ddValueMax = ddValueMax / divider;
+		builder.ddDurationMax = ddDurationMax;
+		if (ddCount != 0) {
+			builder.ddDurationAverage = ddDurationSum / ddCount;
+			builder.ddValueAverage = ddValueSum / divider / ddCount;
+		}
+	}
+
+	private int toLocalEpochDay(final long time) {
+		return (int) Math.floorDiv(time + timeZone.getOffset(time), MILLIS_PER_DAY);
+	}
+
+	private static int daysInMonth(final int year, final int month) {
+		switch (month) {
+		case 2:
+			return ((year % 4 == 0 && year % 100 != 0) || year % 400 == 0) ? 29 : 28;
+		case 4:
+		case 6:
+		case 9:
+		case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+
+	/**
+	 * @return epoch day of proleptic Gregorian date.
+	 */
+	private static int daysFromCivil(int year, final int month, final int day) {
+		year -= month <= 2 ? 1 : 0;
+		final int era = (year >= 0 ? year : year - 399) / 400;
+		final int yearOfEra = year - era * 400;
+		final int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+		final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097 + dayOfEra - 719468;
+	}
+
+	/**
+	 * @return {year, month, day} of epoch day (proleptic Gregorian).
+	 */
+	private static int[] civilFromDays(int epochDay) {
+		epochDay += 719468;
+		final int era = (epochDay >= 0 ? epochDay : epochDay - 146096) / 146097;
+		final int dayOfEra = epochDay - era * 146097;
+		final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		final int mp = (5 * dayOfYear + 2) / 153;
+		final int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+		final int month = mp < 10 ? mp + 3 : mp - 9;
+		final int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+		return new int[] { year, month, day };
+	}
+
+}
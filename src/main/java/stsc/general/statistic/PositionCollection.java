@@ -1,108 +1,119 @@
 package stsc.general.statistic;
 
-import java.util.HashMap;
-import java.util.Map.Entry;
+import java.util.Arrays;
 
 /**
  * Collection of positions used into {@link EquityProcessor}. <br/>
- * To store opened positions for calculating equity and {@link Metrics} for trading strategy.
+ * To store opened positions for calculating equity and {@link Metrics} for trading strategy.<br/>
+ * Positions are stored at primitive arrays indexed by symbol id (see {@link stsc.general.trading.SymbolTable}), opened positions are also listed densely so
+ * {@link #cost(double[])} iterates only them.
  */
 final class PositionCollection {
 
 	private final double commision;
 
-	PositionCollection(final StatisticsProcessor statisticsProcessor) {
-		this.commision = statisticsProcessor.getCommision();
-	}
-
-	final class Position {
-		int shares = 0;
-		private double spentMoney = 0.0;
-		private int tradesAmount = 1;
-
-		public Position(int shares, double spentMoney) {
-			super();
-			this.shares = shares;
-			this.spentMoney = spentMoney;
-		}
-
-		public void increment(int shares, double spentMoney) {
-			this.shares += shares;
-			this.spentMoney += spentMoney;
-			this.tradesAmount += 1;
-		}
-
-		public boolean decrement(int shares, double spentMoney) {
-			this.shares -= shares;
-			this.spentMoney -= spentMoney;
-			this.tradesAmount += 1;
-			return this.shares == 0;
-		}
+	// by symbol id; tradesAmount is zero for not opened position
+	private int[] shares = new int[0];
+	private double[] spentMoney = new double[0];
+	private int[] tradesAmount = new int[0];
+	private int[] openedIndexes = new int[0];
 
-		public double sharePrice() {
-			return spentMoney / shares;
-		}
+	private int[] opened = new int[0];
+	private int openedSize = 0;
 
-		public int getTradesAmount() {
-			return tradesAmount;
-		}
-
-		@Override
-		public String toString() {
-			return Double.toString(shares);
-		}
+	PositionCollection(final StatisticsProcessor statisticsProcessor) {
+		this.commision = statisticsProcessor.getCommision();
 	}
 
-	public HashMap<String, Position> positions = new HashMap<>();
-
 	/**
 	 * Create or increment already created position for selected stock with selected by algorithm shares amount according to selected shares price.
 	 */
-	void increment(String stockName, int shares, double sharesPrice) {
-		Position position = positions.get(stockName);
-		if (position != null)
-			position.increment(shares, sharesPrice);
-		else
-			positions.put(stockName, new Position(shares, sharesPrice));
+	void increment(int symbolId, int shares, double sharesPrice) {
+		ensureCapacity(symbolId);
+		if (tradesAmount[symbolId] == 0) {
+			if (openedSize == opened.length) {
+				opened = Arrays.copyOf(opened, Math.max(8, openedSize * 2));
+			}
+			openedIndexes[symbolId] = openedSize;
+			opened[openedSize++] = symbolId;
+		}
+		this.shares[symbolId] += shares;
+		this.spentMoney[symbolId] += sharesPrice;
+		this.tradesAmount[symbolId] += 1;
 	}
 
 	/**
 	 * Decrement and if necessary delete fully - closed position (if remainder part is zero). Returns zero if position is still not closed, and amount of trades
 	 * that was created during this position.
 	 */
-	public int decrement(String stockName, int shares, double sharesPrice) {
-		Position position = positions.get(stockName);
-		if (position.decrement(shares, sharesPrice)) {
-			positions.remove(stockName);
-			return position.getTradesAmount();
+	int decrement(int symbolId, int shares, double sharesPrice) {
+		this.shares[symbolId] -= shares;
+		this.spentMoney[symbolId] -= sharesPrice;
+		this.tradesAmount[symbolId] += 1;
+		if (this.shares[symbolId] == 0) {
+			final int result = tradesAmount[symbolId];
+			spentMoney[symbolId] = 0.0;
+			tradesAmount[symbolId] = 0;
+			final int index = openedIndexes[symbolId];
+			final int last = opened[--openedSize];
+			opened[index] = last;
+			openedIndexes[last] = index;
+			return result;
 		}
 		return 0;
 	}
 
-	public double sharePrice(String stockName) {
-		Position position = positions.get(stockName);
-		return position.sharePrice();
+	double sharePrice(int symbolId) {
+		return spentMoney[symbolId] / shares[symbolId];
+	}
+
+	int getShares(int symbolId) {
+		return shares[symbolId];
+	}
+
+	/**
+	 * @return symbol id of opened position with index (from 0 to {@link #size()}).
+	 */
+	int getOpened(int index) {
+		return opened[index];
 	}
 
-	public double cost(HashMap<String, Double> prices) {
+	double cost(double[] prices) {
 		double result = 0.0;
-		for (Entry<String, Position> i : positions.entrySet()) {
-			final int tradesAmount = i.getValue().getTradesAmount();
-			final double price = prices.get(i.getKey());
-			double sharesPrices = price * i.getValue().shares;
-			sharesPrices -= sharesPrices * commision * tradesAmount;
+		for (int i = 0; i < openedSize; ++i) {
+			final int symbolId = opened[i];
+			double sharesPrices = prices[symbolId] * shares[symbolId];
+			sharesPrices -= sharesPrices * commision * tradesAmount[symbolId];
 			result += sharesPrices;
 		}
 		return result;
 	}
 
-	public int size() {
-		return positions.size();
+	int size() {
+		return openedSize;
+	}
+
+	private void ensureCapacity(int symbolId) {
+		if (symbolId >= shares.length) {
+			final int newSize = Math.max(symbolId + 1, shares.length * 2);
+			shares = Arrays.copyOf(shares, newSize);
+			spentMoney = Arrays.copyOf(spentMoney, newSize);
+			tradesAmount = Arrays.copyOf(tradesAmount, newSize);
+			openedIndexes = Arrays.copyOf(openedIndexes, newSize);
+		}
 	}
 
 	@Override
 	public String toString() {
-		return "(" + Integer.toString(positions.size()) + "): " + positions.toString();
+		final StringBuilder sb = new StringBuilder();
+		sb.append("(").append(openedSize).append("): {");
+		for (int i = 0; i < openedSize; ++i) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(opened[i]).append("=").append(shares[opened[i]]);
+		}
+		return sb.append("}").toString();
 	}
 
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package stsc.general.statistic;
 
+import java.util.Date;
 import java.util.List;
 
 import stsc.common.Day;
@@ -21,7 +22,23 @@ public final class StatisticsProcessor {
 	}
 
 	public void setStockDay(String stockName, Day stockDay) {
-		equityProcessor.setStockDay(stockName, stockDay);
+		setStockPrice(stockName, stockDay.date, stockDay.getPrices().getOpen());
+	}
+
+	/**
+	 * Same as {@link #setStockDay(String, Day)} but with already extracted
+	 * open price of the day.
+	 */
+	public void setStockPrice(String stockName, Date date, double openPrice) {
+		equityProcessor.setStockPrice(stockName, date, openPrice);
+	}
+
+	/**
+	 * Same as {@link #setStockPrice(String, Date, double)} for already
+	 * interned stock name (symbol id of {@link TradingLog#getSymbols()}).
+	 */
+	public void setStockPrice(int symbolId, Date date, double openPrice) {
+		equityProcessor.setStockPrice(symbolId, date, openPrice);
 	}
 
 	public double processEod(boolean debug) {
@@ -32,6 +49,23 @@ public final class StatisticsProcessor {
 		return processEod(false);
 	}
 
+	/**
+	 * @return amount of already processed days (partial state, could be used
+	 *         only before {@link #calculate()}).
+	 */
+	public int getPeriod() {
+		return equityProcessor.getPeriod();
+	}
+
+	/**
+	 * @return average gain (in percents of maximum spent money) for already
+	 *         processed days, without closing of opened positions (partial
+	 *         state, could be used only before {@link #calculate()}).
+	 */
+	public double getAvGain() {
+		return equityProcessor.getAvGain();
+	}
+
 	public Metrics calculate() {
 		final Metrics metrics = equityProcessor.calculate();
 		equityProcessor = null;
@@ -34,12 +34,12 @@ public class CostMaximumLikelihoodComparator implements MetricsComparator {
 
 	@Override
 	public int compare(Metrics s1, Metrics s2) {
-		Double result1 = 0.0;
-		Double result2 = 0.0;
+		double result1 = 0.0;
+		double result2 = 0.0;
 		for (Entry<MetricType, Double> i : parameters.entrySet()) {
-			final Double w = i.getValue();
-			final Double v1 = Math.abs(w - s1.getMetric(i.getKey()));
-			final Double v2 = Math.abs(w - s2.getMetric(i.getKey()));
+			final double w = i.getValue();
+			final double v1 = Math.abs(w - s1.getMetricValue(i.getKey()));
+			final double v2 = Math.abs(w - s2.getMetricValue(i.getKey()));
 			if (Double.compare(v1, 0.0) != 0)
 				result1 += Math.log(v1);
 			if (Double.compare(v2, 0.0) != 0)
@@ -32,15 +32,15 @@ public class CostWeightedSumComparator implements MetricsComparator {
 
 	@Override
 	public int compare(Metrics s1, Metrics s2) {
-		Double sum = 0.0;
+		double sum = 0.0;
 		for (Double d : parameters.values()) {
 			sum += d;
 		}
-		Double result = 0.0;
+		double result = 0.0;
 		for (Entry<MetricType, Double> i : parameters.entrySet()) {
-			Double v1 = s1.getMetric(i.getKey());
-			Double v2 = s2.getMetric(i.getKey());
-			final Double w = i.getValue() / sum;
+			final double v1 = s1.getMetricValue(i.getKey());
+			final double v2 = s2.getMetricValue(i.getKey());
+			final double w = i.getValue() / sum;
 			result += Math.signum(v1 - v2) * Math.pow(Math.abs(v1 - v2), w);
 		}
 		return Double.compare(result, 0.0);
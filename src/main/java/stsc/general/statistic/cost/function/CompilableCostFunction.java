@@ -0,0 +1,13 @@
+package stsc.general.statistic.cost.function;
+
+/**
+ * {@link CostFunction} that could be compiled to {@link CompiledCostFunction} (dense program over metric values arrays).
+ */
+public interface CompilableCostFunction extends CostFunction {
+
+	/**
+	 * @return snapshot of current cost function configuration (later configuration changes do not affect compiled function).
+	 */
+	public CompiledCostFunction compile();
+
+}
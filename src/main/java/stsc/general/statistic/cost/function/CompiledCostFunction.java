@@ -0,0 +1,165 @@
+package stsc.general.statistic.cost.function;
+
+import java.util.List;
+import java.util.Map;
+
+import stsc.general.statistic.MetricType;
+import stsc.general.statistic.Metrics;
+import stsc.general.strategy.TradingStrategy;
+
+/**
+ * {@link CompiledCostFunction} is a {@link CostFunction} configuration compiled to dense program: metric indexes (
+ * {@link MetricType#ordinal()}) and weights arrays. <br/>
+ * It calculates cost over metric values arrays (see {@link Metrics#getMetricValues()}) and could rate whole matrix of metrics
+ * (strategies x metrics, see {@link #pack(List)}) in one loop, for example to re-rank stored {@link TradingStrategy}s by new cost
+ * function. Use {@link CompilableCostFunction#compile()} to create it. Not set metrics are NaN values in arrays, so all metrics used by cost function should be set.
+ */
+public abstract class CompiledCostFunction implements CostFunction {
+
+	protected final int[] metricIndexes;
+	protected final double[] weights;
+
+	private CompiledCostFunction(final int[] metricIndexes, final double[] weights) {
+		this.metricIndexes = metricIndexes;
+		this.weights = weights;
+	}
+
+	/**
+	 * @return cost for metric values array indexed by {@link MetricType#ordinal()}.
+	 */
+	public abstract double calculate(final double[] metricValues);
+
+	@Override
+	public double calculate(final Metrics metrics) {
+		return calculate(metrics.getMetricValues());
+	}
+
+	/**
+	 * @return costs for each row of metrics matrix.
+	 */
+	public double[] calculate(final double[][] metricsMatrix) {
+		final double[] result = new double[metricsMatrix.length];
+		for (int i = 0; i < metricsMatrix.length; ++i) {
+			result[i] = calculate(metricsMatrix[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * @return matrix of metric values (row for each {@link Metrics}, see {@link Metrics#getMetricValues()}).
+	 */
+	public static double[][] pack(final List<Metrics> metrics) {
+		final double[][] result = new double[metrics.size()][];
+		for (int i = 0; i < result.length; ++i) {
+			result[i] = metrics.get(i).getMetricValues();
+		}
+		return result;
+	}
+
+	// compilers for cost functions
+
+	static CompiledCostFunction weightedSum(final Map<MetricType, Double> parameters) {
+		final int[] metricIndexes = new int[parameters.size()];
+		final double[] weights = new double[parameters.size()];
+		fill(parameters, metricIndexes, weights, 0);
+		return new CompiledCostFunction(metricIndexes, weights) {
+			@Override
+			public double calculate(final double[] metricValues) {
+				double result = 0.0;
+				for (int i = 0; i < metricIndexes.length; ++i) {
+					result += weights[i] * metricValues[metricIndexes[i]];
+				}
+				return result;
+			}
+		};
+	}
+
+	/**
+	 * Weights are powers (weight divided by weights sum).
+	 */
+	static CompiledCostFunction weightedProduct(final Map<MetricType, Double> parameters) {
+		final int[] metricIndexes = new int[parameters.size()];
+		final double[] weights = new double[parameters.size()];
+		fill(parameters, metricIndexes, weights, 0);
+		double sum = 0.0;
+		for (Double d : parameters.values()) {
+			sum += d;
+		}
+		for (int i = 0; i < weights.length; ++i) {
+			weights[i] = weights[i] / sum;
+		}
+		return new CompiledCostFunction(metricIndexes, weights) {
+			@Override
+			public double calculate(final double[] metricValues) {
+				double result = 0.0;
+				for (int i = 0; i < metricIndexes.length; ++i) {
+					final double metricsValue = metricValues[metricIndexes[i]];
+					result += Math.signum(metricsValue) * Math.pow(Math.abs(metricsValue), weights[i]);
+				}
+				return result;
+			}
+		};
+	}
+
+	/**
+	 * Layer i is program part from layerStarts[i] to layerStarts[i + 1].
+	 */
+	static CompiledCostFunction bayesianProbability(final List<Map<MetricType, Double>> layers) {
+		int size = 0;
+		final int[] layerStarts = new int[layers.size() + 1];
+		for (int i = 0; i < layers.size(); ++i) {
+			layerStarts[i] = size;
+			size += layers.get(i).size();
+		}
+		layerStarts[layers.size()] = size;
+		final int[] metricIndexes = new int[size];
+		final double[] weights = new double[size];
+		for (int i = 0; i < layers.size(); ++i) {
+			fill(layers.get(i), metricIndexes, weights, layerStarts[i]);
+		}
+		return new CompiledCostFunction(metricIndexes, weights) {
+			@Override
+			public double calculate(final double[] metricValues) {
+				double min = Double.MAX_VALUE;
+				for (int layer = 0; layer + 1 < layerStarts.length; ++layer) {
+					double max = -Double.MAX_VALUE;
+					for (int i = layerStarts[layer]; i < layerStarts[layer + 1]; ++i) {
+						final double pValue = metricValues[metricIndexes[i]] * weights[i];
+						if (max < pValue)
+							max = pValue;
+					}
+					if (max < min)
+						min = max;
+				}
+				return min;
+			}
+		};
+	}
+
+	static CompiledCostFunction lexicographical(final List<MetricType> order, final double multiplikator) {
+		final int[] metricIndexes = new int[order.size()];
+		for (int i = 0; i < metricIndexes.length; ++i) {
+			metricIndexes[i] = order.get(i).ordinal();
+		}
+		return new CompiledCostFunction(metricIndexes, new double[] { multiplikator }) {
+			@Override
+			public double calculate(final double[] metricValues) {
+				double result = 0.0;
+				for (int i = 0; i < metricIndexes.length; ++i) {
+					result = result * multiplikator + metricValues[metricIndexes[i]];
+				}
+				return result;
+			}
+		};
+	}
+
+	private static void fill(final Map<MetricType, Double> parameters, final int[] metricIndexes, final double[] weights, final int from) {
+		int index = from;
+		for (Map.Entry<MetricType, Double> e : parameters.entrySet()) {
+			metricIndexes[index] = e.getKey().ordinal();
+			weights[index] = e.getValue();
+			index += 1;
+		}
+	}
+
+}
@@ -18,7 +18,7 @@ import stsc.general.statistic.Metrics;
  * Result of function is minimum between all layers. <br/>
  * If there is no layers result is Double.MAX_VALUE layer with no fields lead to get -Double.MAX_VALUE as layer value.
  */
-public class CostBayesianProbabilityFunction implements CostFunction {
+public class CostBayesianProbabilityFunction implements CompilableCostFunction {
 
 	private final List<Map<MetricType, Double>> parameters = new ArrayList<Map<MetricType, Double>>();
 
@@ -34,12 +34,12 @@ public class CostBayesianProbabilityFunction implements CostFunction {
 
 	@Override
 	public double calculate(Metrics metrics) {
-		Double min = Double.MAX_VALUE;
+		double min = Double.MAX_VALUE;
 		for (Map<MetricType, Double> layer : parameters) {
-			Double max = -Double.MAX_VALUE;
+			double max = -Double.MAX_VALUE;
 			for (Entry<MetricType, Double> e : layer.entrySet()) {
-				final Double sValue = metrics.getMetric(e.getKey());
-				final Double pValue = sValue * e.getValue();
+				final double sValue = metrics.getMetricValue(e.getKey());
+				final double pValue = sValue * e.getValue();
 				if (max < pValue)
 					max = pValue;
 			}
@@ -49,4 +49,9 @@ public class CostBayesianProbabilityFunction implements CostFunction {
 		return min;
 	}
 
+	@Override
+	public CompiledCostFunction compile() {
+		return CompiledCostFunction.bayesianProbability(parameters);
+	}
+
 }
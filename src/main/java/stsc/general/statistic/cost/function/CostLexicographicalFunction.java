@@ -13,7 +13,7 @@ import stsc.general.statistic.Metrics;
  * <b>CF = (((P[1] * M) + P[2]) * M + P[3]) * M + ... P[N]</b>;
  */
 
-public class CostLexicographicalFunction implements CostFunction {
+public class CostLexicographicalFunction implements CompilableCostFunction {
 
 	final List<MetricType> order = new ArrayList<>();
 	private final double multiplikator;
@@ -33,13 +33,15 @@ public class CostLexicographicalFunction implements CostFunction {
 
 	@Override
 	public double calculate(Metrics metrics) {
-		Double result = 0.0;
+		double result = 0.0;
 		for (MetricType metricName : order) {
-			final Double dMetric = metrics.getMetric(metricName);
-			if (dMetric != null) {
-				result = result * multiplikator + dMetric;
-			}
+			result = result * multiplikator + metrics.getMetricValue(metricName);
 		}
 		return result;
 	}
+
+	@Override
+	public CompiledCostFunction compile() {
+		return CompiledCostFunction.lexicographical(order, multiplikator);
+	}
 }
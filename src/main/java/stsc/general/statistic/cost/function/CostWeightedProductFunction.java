@@ -18,7 +18,7 @@ import stsc.general.statistic.Metrics;
  * 5) get ResultSum = S[X] * V[X] (for X in 1..N).
  */
 
-public class CostWeightedProductFunction implements CostFunction {
+public class CostWeightedProductFunction implements CompilableCostFunction {
 
 	private final Map<MetricType, Double> parameters = new HashMap<>();
 
@@ -32,18 +32,23 @@ public class CostWeightedProductFunction implements CostFunction {
 
 	@Override
 	public double calculate(Metrics metrics) {
-		Double sum = 0.0;
+		double sum = 0.0;
 		for (Double d : parameters.values()) {
 			sum += d;
 		}
-		Double result = 0.0;
+		double result = 0.0;
 		for (Map.Entry<MetricType, Double> e : parameters.entrySet()) {
-			final Double power = e.getValue() / sum;
-			final Double metricsValue = metrics.getMetric(e.getKey());
-			final Double signum = Math.signum(metricsValue);
-			final Double pow = Math.pow(Math.abs(metricsValue), power);
+			final double power = e.getValue() / sum;
+			final double metricsValue = metrics.getMetricValue(e.getKey());
+			final double signum = Math.signum(metricsValue);
+			final double pow = Math.pow(Math.abs(metricsValue), power);
 			result += signum * pow;
 		}
 		return result;
 	}
+
+	@Override
+	public CompiledCostFunction compile() {
+		return CompiledCostFunction.weightedProduct(parameters);
+	}
 }
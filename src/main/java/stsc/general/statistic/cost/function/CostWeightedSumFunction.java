@@ -1,5 +1,6 @@
 package stsc.general.statistic.cost.function;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -11,7 +12,7 @@ import stsc.general.statistic.Metrics;
  * Require set of parameters: P[1]...P[N]; <br/>
  * <b>Result = V[1] * P[1] + V[2] * P[2] ... V[N] * P[N] </b>.
  */
-public class CostWeightedSumFunction implements CostFunction {
+public class CostWeightedSumFunction implements CompilableCostFunction {
 
 	private final Map<MetricType, Double> parameters = new HashMap<>();
 
@@ -24,13 +25,25 @@ public class CostWeightedSumFunction implements CostFunction {
 		return this;
 	}
 
+	/**
+	 * @return weights of metrics (metrics that are not mentioned have zero weight).
+	 */
+	public Map<MetricType, Double> getParameters() {
+		return Collections.unmodifiableMap(parameters);
+	}
+
 	@Override
 	public double calculate(final Metrics metrics) {
-		Double result = 0.0;
+		double result = 0.0;
 		for (Map.Entry<MetricType, Double> e : parameters.entrySet()) {
-			result += e.getValue() * metrics.getMetric(e.getKey());
+			result += e.getValue() * metrics.getMetricValue(e.getKey());
 		}
 
 		return result;
 	}
+
+	@Override
+	public CompiledCostFunction compile() {
+		return CompiledCostFunction.weightedSum(parameters);
+	}
 }
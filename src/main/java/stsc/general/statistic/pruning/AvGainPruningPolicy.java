@@ -0,0 +1,164 @@
+package stsc.general.statistic.pruning;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+import org.apache.commons.lang3.Validate;
+
+import stsc.general.statistic.MetricType;
+import stsc.general.statistic.StatisticsProcessor;
+import stsc.general.statistic.cost.function.CostFunction;
+import stsc.general.statistic.cost.function.CostWeightedSumFunction;
+import stsc.general.strategy.TradingStrategy;
+import stsc.general.strategy.selector.ConcurrentStatisticsByCostSelector;
+import stsc.general.strategy.selector.StatisticsByCostSelector;
+import stsc.general.strategy.selector.StrategySelector;
+
+/**
+ * {@link AvGainPruningPolicy} stops simulation when upper bound of achievable
+ * average gain (current average gain plus maximal daily gain for each of
+ * remaining days) is lower than average gain that should be beaten (usually
+ * worst average gain of {@link StrategySelector}, see
+ * {@link #worstAvGainOf(StatisticsByCostSelector)}).<br/>
+ * Maximal daily gain (in percents) is an assumption about simulated
+ * strategies, so too small value could prune good strategies.
+ */
+public final class AvGainPruningPolicy implements SimulationPruningPolicy {
+
+	private static final double MAXIMAL_AV_GAIN = 100.0;
+	private static final int DEFAULT_REFRESH_INTERVAL = 64;
+
+	/**
+	 * Worst average gain of selector recalculated once per refresh interval
+	 * calls (selector strategies are copied / merged under lock, so it is
+	 * too expensive for each checkpoint of each simulation).
+	 */
+	private static final class SelectorWorstAvGain implements DoubleSupplier {
+
+		private final StrategySelector selector;
+		private final int refreshInterval;
+		private final AtomicLong calls = new AtomicLong();
+		private volatile double worstAvGain = Double.NEGATIVE_INFINITY;
+
+		SelectorWorstAvGain(final StrategySelector selector, final int refreshInterval) {
+			this.selector = selector;
+			this.refreshInterval = refreshInterval;
+		}
+
+		@Override
+		public double getAsDouble() {
+			if (calls.getAndIncrement() % refreshInterval == 0) {
+				worstAvGain = calculateWorstAvGain(selector);
+			}
+			return worstAvGain;
+		}
+
+	}
+
+	private final int checkpointInterval;
+	private final double maximalDailyGain;
+	private final DoubleSupplier avGainToBeat;
+
+	public AvGainPruningPolicy(final int checkpointInterval, final double maximalDailyGain, final DoubleSupplier avGainToBeat) {
+		Validate.isTrue(checkpointInterval > 0, "Checkpoint interval should be positive");
+		Validate.isTrue(maximalDailyGain >= 0.0, "Maximal daily gain should not be negative");
+		this.checkpointInterval = checkpointInterval;
+		this.maximalDailyGain = maximalDailyGain;
+		this.avGainToBeat = avGainToBeat;
+	}
+
+	@Override
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+
+	@Override
+	public boolean shouldPrune(final StatisticsProcessor statistics, final int processedDays, final int allDays) {
+		return calculateUpperBound(statistics.getAvGain(), allDays - processedDays) < avGainToBeat.getAsDouble();
+	}
+
+	/**
+	 * Negative money result could only grow to zero in percents (maximal
+	 * spent money could only increase), so upper bound is never negative.
+	 */
+	double calculateUpperBound(final double avGain, final int remainingDays) {
+		final double upperBound = Math.max(0.0, avGain + remainingDays * maximalDailyGain);
+		return Math.min(upperBound, MAXIMAL_AV_GAIN);
+	}
+
+	/**
+	 * @return worst average gain of {@link TradingStrategy}s stored at
+	 *         selector (or negative infinity while selector is not full, so
+	 *         nothing is pruned), see
+	 *         {@link #worstAvGainOf(StatisticsByCostSelector, int)}.
+	 */
+	public static DoubleSupplier worstAvGainOf(final StatisticsByCostSelector selector) {
+		return worstAvGainOf(selector, DEFAULT_REFRESH_INTERVAL);
+	}
+
+	/**
+	 * Upper bound of average gain is comparable with selector worst strategy
+	 * only when selector ranks strategies by average gain, so selector cost
+	 * function should be {@link CostWeightedSumFunction} with positive
+	 * average gain weight and zero weights of other metrics (cost function
+	 * should not be changed after that). For other cost functions (and other
+	 * selectors) strategy with lower average gain could still be selected.
+	 * 
+	 * @param refreshInterval
+	 *            - worst average gain is recalculated once per this amount of
+	 *            calls (checkpoints), between recalculations it could be
+	 *            behind selector. Selector usually only improves, so behind
+	 *            value prunes less, not more.
+	 */
+	public static DoubleSupplier worstAvGainOf(final StatisticsByCostSelector selector, final int refreshInterval) {
+		return worstAvGainOf(selector, selector.getCostFunction(), refreshInterval);
+	}
+
+	/**
+	 * Same as {@link #worstAvGainOf(StatisticsByCostSelector)}.
+	 */
+	public static DoubleSupplier worstAvGainOf(final ConcurrentStatisticsByCostSelector selector) {
+		return worstAvGainOf(selector, DEFAULT_REFRESH_INTERVAL);
+	}
+
+	/**
+	 * Same as {@link #worstAvGainOf(StatisticsByCostSelector, int)}.
+	 */
+	public static DoubleSupplier worstAvGainOf(final ConcurrentStatisticsByCostSelector selector, final int refreshInterval) {
+		return worstAvGainOf(selector, selector.getCostFunction(), refreshInterval);
+	}
+
+	private static DoubleSupplier worstAvGainOf(final StrategySelector selector, final CostFunction costFunction, final int refreshInterval) {
+		Validate.isTrue(refreshInterval > 0, "Refresh interval should be positive");
+		Validate.isTrue(isAvGainCost(costFunction), "Selector should rank strategies by average gain only");
+		return new SelectorWorstAvGain(selector, refreshInterval);
+	}
+
+	private static boolean isAvGainCost(final CostFunction costFunction) {
+		if (!(costFunction instanceof CostWeightedSumFunction)) {
+			return false;
+		}
+		boolean result = false;
+		for (Map.Entry<MetricType, Double> e : ((CostWeightedSumFunction) costFunction).getParameters().entrySet()) {
+			if (e.getKey() == MetricType.avGain) {
+				result = e.getValue() > 0.0;
+			} else if (e.getValue() != 0.0) {
+				return false;
+			}
+		}
+		return result;
+	}
+
+	private static double calculateWorstAvGain(final StrategySelector selector) {
+		if (selector.currentStrategiesAmount() < selector.maxPossibleAmount()) {
+			return Double.NEGATIVE_INFINITY;
+		}
+		double result = Double.POSITIVE_INFINITY;
+		for (TradingStrategy strategy : selector.getStrategies()) {
+			result = Math.min(result, strategy.getAvGain());
+		}
+		return result;
+	}
+
+}
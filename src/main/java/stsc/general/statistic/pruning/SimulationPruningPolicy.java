@@ -0,0 +1,29 @@
+package stsc.general.statistic.pruning;
+
+import stsc.general.statistic.StatisticsProcessor;
+
+/**
+ * {@link SimulationPruningPolicy} decides (at checkpoints, each
+ * {@link #getCheckpointInterval()} trading days) by partial
+ * {@link StatisticsProcessor} state whether simulation has no chances to be
+ * selected and could be stopped before the end of period.
+ */
+public interface SimulationPruningPolicy {
+
+	/**
+	 * @return amount of trading days between checkpoints.
+	 */
+	public int getCheckpointInterval();
+
+	/**
+	 * @param statistics
+	 *            - partial statistics of simulation.
+	 * @param processedDays
+	 *            - amount of already simulated trading days.
+	 * @param allDays
+	 *            - amount of trading days in simulation period.
+	 * @return true if simulation should be stopped.
+	 */
+	public boolean shouldPrune(final StatisticsProcessor statistics, final int processedDays, final int allDays);
+
+}
@@ -1,11 +1,14 @@
 package stsc.general.strategy;
 
+import java.util.Arrays;
+
 import org.apache.commons.lang3.Validate;
 
 import stsc.general.simulator.Execution;
 import stsc.general.simulator.ExecutionImpl;
 import stsc.general.statistic.MetricType;
 import stsc.general.statistic.Metrics;
+import stsc.general.statistic.cost.function.CostFunction;
 
 /**
  * Represents pair {@link ExecutionImpl} -> {@link Metrics}. {@link ExecutionImpl} could be null Only for Tests. Please call
@@ -13,8 +16,24 @@ import stsc.general.statistic.Metrics;
  */
 public final class TradingStrategy {
 
+	private static final class CachedCost {
+		private final CostFunction costFunction;
+		private final double cost;
+
+		CachedCost(final CostFunction costFunction, final double cost) {
+			this.costFunction = costFunction;
+			this.cost = cost;
+		}
+	}
+
+	private static final CachedCost[] EMPTY_COSTS = new CachedCost[0];
+	// costs by other cost functions are calculated each time
+	private static final int MAX_CACHED_COSTS = 8;
+
 	private final Execution simulatorSettings;
 	private final Metrics metrics;
+	// copy on write (strategy is usually rated by one or two cost functions)
+	private volatile CachedCost[] costs = EMPTY_COSTS;
 
 	public static TradingStrategy createTest(final Metrics metrics) {
 		return new TradingStrategy(metrics);
@@ -39,8 +58,46 @@ public final class TradingStrategy {
 		return metrics;
 	}
 
+	/**
+	 * @return cost of {@link Metrics} by {@link CostFunction}, it is calculated once per cost function (by identity) for first
+	 *         eight cost functions, so cost function should not be changed after strategies are rated.
+	 */
+	public double getCost(final CostFunction costFunction) {
+		final CachedCost[] currentCosts = costs;
+		final int index = findCost(currentCosts, costFunction);
+		if (index >= 0) {
+			return currentCosts[index].cost;
+		}
+		synchronized (this) {
+			final int calculatedIndex = findCost(costs, costFunction);
+			if (calculatedIndex >= 0) {
+				return costs[calculatedIndex].cost;
+			}
+			final double result = costFunction.calculate(metrics);
+			if (costs.length == MAX_CACHED_COSTS) {
+				return result;
+			}
+			final CachedCost[] newCosts = Arrays.copyOf(costs, costs.length + 1);
+			newCosts[costs.length] = new CachedCost(costFunction, result);
+			costs = newCosts;
+			return result;
+		}
+	}
+
+	/**
+	 * @return index of cached cost or -1.
+	 */
+	private static int findCost(final CachedCost[] costs, final CostFunction costFunction) {
+		for (int i = 0; i < costs.length; ++i) {
+			if (costs[i].costFunction == costFunction) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	public double getAvGain() {
-		return metrics.getDoubleMetric(MetricType.avGain);
+		return metrics.getDoubleValue(MetricType.avGain);
 	}
 
 	@Override
@@ -0,0 +1,200 @@
+package stsc.general.strategy.selector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.Validate;
+
+import stsc.general.statistic.cost.comparator.MetricsComparator;
+import stsc.general.statistic.cost.function.CostFunction;
+import stsc.general.strategy.TradingStrategy;
+
+/**
+ * Concurrent version of {@link StatisticsByCostSelector} (stores best strategies by {@link CostFunction}) for searchers with many
+ * simulation threads. <br/>
+ * Strategies are added to one of several stripes (selected by thread), each stripe stores up to max possible amount of best strategies
+ * and is locked separately. Best stripe worst cost (of full stripes) is published as atomic threshold: there are at least max possible
+ * amount of strategies with better or equal cost, so new strategy with lower cost is rejected without any lock. <br/>
+ * {@link #getStrategies()} merges stripes and returns max possible amount of best strategies (same strategies by
+ * {@link MetricsComparator} are stored once). New strategy is returned as deleted (and is not stored) when there are max possible amount
+ * of stored strategies with better cost at all stripes, as {@link StatisticsByCostSelector} does. Difference: previously stored strategy
+ * that falls out of merged result because of strategy added to other stripe is not returned as deleted (it stays at its stripe).
+ */
+public final class ConcurrentStatisticsByCostSelector extends BorderedStrategySelector {
+
+	private final CostFunction costFunction;
+	private final MetricsComparator metricsComparator;
+	private final SortedByRatingStrategies[] stripes;
+	// double bits of lowest cost that could be added
+	private final AtomicLong threshold = new AtomicLong(Double.doubleToLongBits(Double.NEGATIVE_INFINITY));
+
+	public ConcurrentStatisticsByCostSelector(final int selectLastElements, final CostFunction costFunction, final MetricsComparator metricsComparator) {
+		this(selectLastElements, costFunction, metricsComparator, Runtime.getRuntime().availableProcessors());
+	}
+
+	public ConcurrentStatisticsByCostSelector(final int selectLastElements, final CostFunction costFunction, final MetricsComparator metricsComparator,
+			final int stripesAmount) {
+		super(selectLastElements);
+		Validate.isTrue(stripesAmount > 0, "stripes amount should be bigger then 0");
+		this.costFunction = costFunction;
+		this.metricsComparator = metricsComparator;
+		this.stripes = new SortedByRatingStrategies[stripesAmount];
+		for (int i = 0; i < stripesAmount; ++i) {
+			stripes[i] = new SortedByRatingStrategies(metricsComparator);
+		}
+	}
+
+	@Override
+	public List<TradingStrategy> addStrategy(final TradingStrategy newStrategy) {
+		final double cost = newStrategy.getCost(costFunction);
+		if (cost < getThreshold()) {
+			return Collections.singletonList(newStrategy);
+		}
+		final List<TradingStrategy> result = new ArrayList<>();
+		final SortedByRatingStrategies stripe = stripes[(int) (Thread.currentThread().getId() % stripes.length)];
+		boolean added = false;
+		synchronized (stripe) {
+			if (stripe.addStrategy(cost, newStrategy)) {
+				added = true;
+				if (stripe.size() > maxPossibleSize) {
+					final Optional<TradingStrategy> deletedTradingStrategy = stripe.deleteLast();
+					if (deletedTradingStrategy.isPresent()) {
+						result.add(deletedTradingStrategy.get());
+					}
+				}
+			} else {
+				result.add(newStrategy);
+			}
+			if (stripe.size() >= maxPossibleSize) {
+				raiseThreshold(worstCost(stripe));
+			}
+		}
+		// stripe lock is released, so stripes are locked one by one
+		if (added && !result.contains(newStrategy) && hasBetterStrategies(cost)) {
+			synchronized (stripe) {
+				if (stripe.removeStrategy(cost, newStrategy)) {
+					result.add(newStrategy);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return true if stripes store at least max possible amount of strategies with better cost.
+	 */
+	private boolean hasBetterStrategies(final double cost) {
+		int betterAmount = 0;
+		for (SortedByRatingStrategies stripe : stripes) {
+			synchronized (stripe) {
+				// values are sorted from best to worst cost
+				for (Collection<TradingStrategy> strategies : stripe.getValues().headMap(cost).values()) {
+					betterAmount += strategies.size();
+					if (betterAmount >= maxPossibleSize) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return cost that new strategy should beat (or negative infinity while there is no full stripe).
+	 */
+	public double getThreshold() {
+		return Double.longBitsToDouble(threshold.get());
+	}
+
+	private void raiseThreshold(final double cost) {
+		long current = threshold.get();
+		while (cost > Double.longBitsToDouble(current)) {
+			if (threshold.compareAndSet(current, Double.doubleToLongBits(cost))) {
+				return;
+			}
+			current = threshold.get();
+		}
+	}
+
+	/**
+	 * Values are sorted from best to worst cost, so worst cost is the last key (strategy with it is removed by deleteLast).
+	 */
+	private static double worstCost(final SortedByRatingStrategies stripe) {
+		return stripe.getValues().lastKey();
+	}
+
+	/**
+	 * Removing is rare, so it locks all stripes (threshold could only decrease and is recalculated while nobody adds strategies).
+	 */
+	@Override
+	public boolean removeStrategy(final TradingStrategy strategy) {
+		return removeStrategy(0, strategy.getCost(costFunction), strategy);
+	}
+
+	private boolean removeStrategy(final int stripeIndex, final double cost, final TradingStrategy strategy) {
+		if (stripeIndex < stripes.length) {
+			synchronized (stripes[stripeIndex]) {
+				return removeStrategy(stripeIndex + 1, cost, strategy);
+			}
+		}
+		boolean removed = false;
+		double newThreshold = Double.NEGATIVE_INFINITY;
+		for (SortedByRatingStrategies stripe : stripes) {
+			removed |= stripe.removeStrategy(cost, strategy);
+			if (stripe.size() >= maxPossibleSize) {
+				newThreshold = Math.max(newThreshold, worstCost(stripe));
+			}
+		}
+		threshold.set(Double.doubleToLongBits(newThreshold));
+		return removed;
+	}
+
+	@Override
+	public List<TradingStrategy> getStrategies() {
+		final SortedByRatingStrategies select = merge();
+		final List<TradingStrategy> result = new LinkedList<>();
+		for (Entry<Double, Collection<TradingStrategy>> i : select.getValues().entrySet()) {
+			for (TradingStrategy strategy : i.getValue()) {
+				result.add(strategy);
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	private SortedByRatingStrategies merge() {
+		final SortedByRatingStrategies select = new SortedByRatingStrategies(metricsComparator);
+		for (SortedByRatingStrategies stripe : stripes) {
+			synchronized (stripe) {
+				for (Entry<Double, Collection<TradingStrategy>> i : stripe.getValues().entrySet()) {
+					for (TradingStrategy strategy : i.getValue()) {
+						if (select.addStrategy(i.getKey(), strategy) && select.size() > maxPossibleSize) {
+							select.deleteLast();
+						}
+					}
+				}
+			}
+		}
+		return select;
+	}
+
+	@Override
+	public int currentStrategiesAmount() {
+		return merge().size();
+	}
+
+	public CostFunction getCostFunction() {
+		return costFunction;
+	}
+
+	@Override
+	public String toString() {
+		return "Size: " + currentStrategiesAmount();
+	}
+
+}
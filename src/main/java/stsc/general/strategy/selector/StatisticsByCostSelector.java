@@ -8,7 +8,6 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
 
-import stsc.general.statistic.Metrics;
 import stsc.general.statistic.SortedStrategies;
 import stsc.general.statistic.cost.comparator.MetricsComparator;
 import stsc.general.statistic.cost.comparator.MetricsSameComparator;
@@ -39,8 +38,7 @@ public final class StatisticsByCostSelector extends BorderedStrategySelector {
 	@Override
 	public synchronized List<TradingStrategy> addStrategy(final TradingStrategy newStrategy) {
 		final List<TradingStrategy> result = new ArrayList<>();
-		final Metrics metrics = newStrategy.getMetrics();
-		final Double compareValue = costFunction.calculate(metrics);
+		final Double compareValue = newStrategy.getCost(costFunction);
 		if (select.addStrategy(compareValue, newStrategy)) {
 			if (select.size() > maxPossibleSize) {
 				final Optional<TradingStrategy> deletedTradingStrategy = select.deleteLast();
@@ -56,7 +54,7 @@ public final class StatisticsByCostSelector extends BorderedStrategySelector {
 
 	@Override
 	public synchronized boolean removeStrategy(final TradingStrategy strategy) {
-		return select.removeStrategy(costFunction.calculate(strategy.getMetrics()), strategy);
+		return select.removeStrategy(strategy.getCost(costFunction), strategy);
 	}
 
 	@Override
@@ -75,6 +73,10 @@ public final class StatisticsByCostSelector extends BorderedStrategySelector {
 		return select.size();
 	}
 
+	public CostFunction getCostFunction() {
+		return costFunction;
+	}
+
 	@Override
 	public String toString() {
 		return "Size: " + select.size();
@@ -54,10 +54,10 @@ public final class StatisticsWithMetricsClusterDistanceSelector extends Bordered
 				return false;
 			final Metrics ls = this.getStrategy().getMetrics();
 			final Metrics rs = ((ClusterKey) other).getStrategy().getMetrics();
-			Double resDiff = 0.0;
+			double resDiff = 0.0;
 			for (Entry<MetricType, Double> e : distanceParameters.entrySet()) {
-				final Double lv = ls.getDoubleMetric(e.getKey()) * e.getValue();
-				final Double rv = rs.getDoubleMetric(e.getKey()) * e.getValue();
+				final double lv = ls.getDoubleValue(e.getKey()) * e.getValue();
+				final double rv = rs.getDoubleValue(e.getKey()) * e.getValue();
 				resDiff += Math.abs(lv - rv);
 			}
 			return resDiff < Settings.doubleEpsilon;
@@ -70,16 +70,16 @@ public final class StatisticsWithMetricsClusterDistanceSelector extends Bordered
 		public int compare(ClusterKey left, ClusterKey right) {
 			final Metrics ls = left.getStrategy().getMetrics();
 			final Metrics rs = right.getStrategy().getMetrics();
-			Double resDiff = 0.0;
+			double resDiff = 0.0;
 			for (Entry<MetricType, Double> e : distanceParameters.entrySet()) {
-				final Double lv = ls.getDoubleMetric(e.getKey()) * e.getValue();
-				final Double rv = rs.getDoubleMetric(e.getKey()) * e.getValue();
+				final double lv = ls.getDoubleValue(e.getKey()) * e.getValue();
+				final double rv = rs.getDoubleValue(e.getKey()) * e.getValue();
 				resDiff += Math.abs(lv - rv);
 			}
 			if (resDiff <= 1.0) {
 				return 0;
 			}
-			return (int) (rs.getDoubleMetric(MetricType.avGain) - ls.getDoubleMetric(MetricType.avGain));
+			return (int) (rs.getDoubleValue(MetricType.avGain) - ls.getDoubleValue(MetricType.avGain));
 		}
 	}
 
@@ -109,7 +109,7 @@ public final class StatisticsWithMetricsClusterDistanceSelector extends Bordered
 	}
 
 	@Override
-	public int currentStrategiesAmount() {
+	public synchronized int currentStrategiesAmount() {
 		int result = 0;
 		for (SortedStrategies strategies : clustersByKey.values()) {
 			result += strategies.size();
@@ -123,7 +123,7 @@ public final class StatisticsWithMetricsClusterDistanceSelector extends Bordered
 	}
 
 	private Double rating(final TradingStrategy strategy) {
-		return ratingCostFunction.calculate(strategy.getMetrics());
+		return strategy.getCost(ratingCostFunction);
 	}
 
 	@Override
@@ -3,15 +3,27 @@ package stsc.general.strategy.selector;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
 
+import stsc.general.simulator.multistarter.genetic.settings.distance.PointSimulatorSettingsInterval;
 import stsc.general.simulator.multistarter.genetic.settings.distance.SimulatorSettingsInterval;
+import stsc.general.simulator.multistarter.genetic.settings.distance.SimulatorSettingsPoint;
+import stsc.general.simulator.multistarter.genetic.settings.distance.SimulatorSettingsPointIndex;
 import stsc.general.statistic.cost.function.CostFunction;
 import stsc.general.strategy.TradingStrategy;
 
+/**
+ * Stores strategies in clusters: new strategy is added to cluster with smallest average distance (if it is smaller then epsilon). <br/>
+ * For {@link PointSimulatorSettingsInterval} settings of stored strategies are kept in {@link SimulatorSettingsPointIndex}: average
+ * distance could be smaller then epsilon only for clusters with at least one strategy closer then epsilon, so only such clusters are
+ * compared with new strategy.
+ */
 public final class StatisticsWithSettingsClusterDistanceSelector extends BorderedStrategySelector {
 
 	private final class ClusterKey implements Comparable<ClusterKey> {
@@ -38,8 +50,7 @@ public final class StatisticsWithSettingsClusterDistanceSelector extends Bordere
 		}
 
 		private boolean equals(ClusterKey o) {
-			return strategyCost.equals(o.strategyCost) && tradingStrategy.getSettings().getInit().getExecutionsStorage().stringHashCode()
-					.equals(o.tradingStrategy.getSettings().getInit().getExecutionsStorage().stringHashCode());
+			return strategyCost.equals(o.strategyCost) && tradingStrategy.getSettings().fingerprint().equals(o.tradingStrategy.getSettings().fingerprint());
 		}
 
 		@Override
@@ -92,9 +103,12 @@ public final class StatisticsWithSettingsClusterDistanceSelector extends Bordere
 	}
 
 	private final SimulatorSettingsInterval simulatorSettingsInterval;
+	private final Optional<PointSimulatorSettingsInterval> pointSimulatorSettingsInterval;
 	private final CostFunction costFunction;
 
 	private final TreeMap<ClusterKey, Cluster> clustersByCost = new TreeMap<>(Collections.reverseOrder());
+	private final SimulatorSettingsPointIndex<TradingStrategy> strategiesIndex = new SimulatorSettingsPointIndex<>();
+	private final Map<TradingStrategy, Cluster> clustersByStrategy = new IdentityHashMap<>();
 
 	private int maxAmountOfClusters = 10;
 	private int maxElementsInCluster = 10;
@@ -106,6 +120,11 @@ public final class StatisticsWithSettingsClusterDistanceSelector extends Bordere
 		this.maxAmountOfClusters = maxAmountOfClusters;
 		this.maxElementsInCluster = maxElementsInCluster;
 		this.simulatorSettingsInterval = simulatorSettingsInterval;
+		if (simulatorSettingsInterval instanceof PointSimulatorSettingsInterval) {
+			this.pointSimulatorSettingsInterval = Optional.of((PointSimulatorSettingsInterval) simulatorSettingsInterval);
+		} else {
+			this.pointSimulatorSettingsInterval = Optional.empty();
+		}
 		this.costFunction = costFunction;
 	}
 
@@ -121,31 +140,70 @@ public final class StatisticsWithSettingsClusterDistanceSelector extends Bordere
 
 	@Override
 	public synchronized List<TradingStrategy> addStrategy(TradingStrategy strategy) {
-		final Double strategyCost = costFunction.calculate(strategy.getMetrics());
+		final Double strategyCost = strategy.getCost(costFunction);
+		final Optional<SimulatorSettingsPoint> point = pointSimulatorSettingsInterval.map(i -> i.getPoint(strategy.getSettings()));
 		final List<TradingStrategy> deletedElements = new ArrayList<>();
-		final Optional<ClusterKey> closiestClusterKey = findClosiestCluster(strategy);
+		final Optional<ClusterKey> closiestClusterKey = findClosiestCluster(strategy, point);
 		if (!closiestClusterKey.isPresent()) {
 			final Cluster newCluster = new Cluster(strategyCost, strategy);
-			clustersByCost.put(newCluster.calculateClusterKey(), newCluster);
+			putCluster(newCluster, deletedElements);
+			addToIndex(point, strategy, newCluster);
 		} else {
 			final Cluster clusterToAddTo = clustersByCost.remove(closiestClusterKey.get());
 			final Optional<TradingStrategy> deletedStrategy = clusterToAddTo.addStrategy(strategyCost, strategy);
-			clustersByCost.put(clusterToAddTo.calculateClusterKey(), clusterToAddTo);
+			putCluster(clusterToAddTo, deletedElements);
 			if (deletedStrategy.isPresent()) {
 				deletedElements.add(deletedStrategy.get());
+				removeFromIndex(deletedStrategy.get());
+			}
+			if (!deletedStrategy.isPresent() || deletedStrategy.get() != strategy) {
+				addToIndex(point, strategy, clusterToAddTo);
 			}
 		}
 		if (clustersByCost.size() > maxAmountOfClusters) {
-			final Cluster clusterToDelete = clustersByCost.pollLastEntry().getValue();
-			deletedElements.addAll(clusterToDelete.strategiesByCost.values());
+			deleteCluster(clustersByCost.pollLastEntry().getValue(), deletedElements);
 		}
 		return deletedElements;
 	}
 
-	private Optional<ClusterKey> findClosiestCluster(TradingStrategy strategy) {
+	/**
+	 * Cluster keys are ordered by cost, so cluster replaces stored cluster with equal key cost (strategies of replaced cluster are deleted).
+	 */
+	private void putCluster(final Cluster cluster, final List<TradingStrategy> deletedElements) {
+		final Cluster replacedCluster = clustersByCost.put(cluster.calculateClusterKey(), cluster);
+		if (replacedCluster != null && replacedCluster != cluster) {
+			deleteCluster(replacedCluster, deletedElements);
+		}
+	}
+
+	private void deleteCluster(final Cluster cluster, final List<TradingStrategy> deletedElements) {
+		deletedElements.addAll(cluster.strategiesByCost.values());
+		for (TradingStrategy deletedStrategy : cluster.strategiesByCost.values()) {
+			removeFromIndex(deletedStrategy);
+		}
+	}
+
+	private void addToIndex(final Optional<SimulatorSettingsPoint> point, final TradingStrategy strategy, final Cluster cluster) {
+		if (point.isPresent()) {
+			strategiesIndex.add(point.get(), strategy);
+			clustersByStrategy.put(strategy, cluster);
+		}
+	}
+
+	private void removeFromIndex(final TradingStrategy strategy) {
+		if (strategiesIndex.remove(strategy)) {
+			clustersByStrategy.remove(strategy);
+		}
+	}
+
+	private Optional<ClusterKey> findClosiestCluster(final TradingStrategy strategy, final Optional<SimulatorSettingsPoint> point) {
+		final Optional<Set<Cluster>> candidates = point.map(p -> findCandidateClusters(p));
 		ClusterKey closiestClusterKey = null;
 		double distanceToClosiestCluster = Double.MAX_VALUE;
 		for (Entry<ClusterKey, Cluster> e : clustersByCost.entrySet()) {
+			if (candidates.isPresent() && !candidates.get().contains(e.getValue())) {
+				continue;
+			}
 			final double distanceToCluster = e.getValue().getDistance(strategy);
 			if (distanceToCluster < distanceToClosiestCluster && distanceToCluster < epsilon) {
 				closiestClusterKey = e.getKey();
@@ -155,13 +213,21 @@ public final class StatisticsWithSettingsClusterDistanceSelector extends Bordere
 		return Optional.ofNullable(closiestClusterKey);
 	}
 
+	private Set<Cluster> findCandidateClusters(final SimulatorSettingsPoint point) {
+		final Set<Cluster> result = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (TradingStrategy closeStrategy : strategiesIndex.find(point, epsilon)) {
+			result.add(clustersByStrategy.get(closeStrategy));
+		}
+		return result;
+	}
+
 	@Override
 	public synchronized boolean removeStrategy(TradingStrategy strategy) {
 		return false;
 	}
 
 	@Override
-	public List<TradingStrategy> getStrategies() {
+	public synchronized List<TradingStrategy> getStrategies() {
 		final ArrayList<TradingStrategy> tradingStrategies = new ArrayList<>();
 		for (Cluster c : clustersByCost.values()) {
 			tradingStrategies.addAll(c.strategiesByCost.values());
@@ -169,14 +235,14 @@ public final class StatisticsWithSettingsClusterDistanceSelector extends Bordere
 		Collections.sort(tradingStrategies, new Comparator<TradingStrategy>() {
 			@Override
 			public int compare(TradingStrategy o1, TradingStrategy o2) {
-				return Double.compare(costFunction.calculate(o2.getMetrics()), costFunction.calculate(o1.getMetrics()));
+				return Double.compare(o2.getCost(costFunction), o1.getCost(costFunction));
 			}
 		});
 		return tradingStrategies;
 	}
 
 	@Override
-	public int currentStrategiesAmount() {
+	public synchronized int currentStrategiesAmount() {
 		int size = 0;
 		for (Cluster c : clustersByCost.values()) {
 			size += c.size();
@@ -3,27 +3,40 @@ package stsc.general.strategy.selector;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.TreeMap;
 
+import stsc.general.simulator.multistarter.genetic.settings.distance.PointSimulatorSettingsInterval;
 import stsc.general.simulator.multistarter.genetic.settings.distance.SimulatorSettingsInterval;
+import stsc.general.simulator.multistarter.genetic.settings.distance.SimulatorSettingsPoint;
+import stsc.general.simulator.multistarter.genetic.settings.distance.SimulatorSettingsPointIndex;
 import stsc.general.statistic.cost.function.CostFunction;
 import stsc.general.strategy.TradingStrategy;
 
 /**
- * This algorithm require domen for each parameter.
+ * This algorithm require domen for each parameter. <br/>
+ * For {@link PointSimulatorSettingsInterval} settings of stored strategies are kept in {@link SimulatorSettingsPointIndex}, so close
+ * strategy is found by radius query (other intervals are compared with all stored strategies).
  */
 public final class StatisticsWithSettingsDistanceSelector extends BorderedStrategySelector {
 
 	private final SimulatorSettingsInterval simulatorSettingsInterval;
+	private final Optional<PointSimulatorSettingsInterval> pointSimulatorSettingsInterval;
 	private final CostFunction costFunction;
 
 	private final TreeMap<Double, TradingStrategy> strategiesByCost = new TreeMap<>(Collections.reverseOrder());
+	private final SimulatorSettingsPointIndex<TradingStrategy> strategiesIndex = new SimulatorSettingsPointIndex<>();
 
 	private double epsilon = 2;
 
 	public StatisticsWithSettingsDistanceSelector(int maxPossibleSize, final SimulatorSettingsInterval simulatorSettingsInterval, CostFunction costFunction) {
 		super(maxPossibleSize);
 		this.simulatorSettingsInterval = simulatorSettingsInterval;
+		if (simulatorSettingsInterval instanceof PointSimulatorSettingsInterval) {
+			this.pointSimulatorSettingsInterval = Optional.of((PointSimulatorSettingsInterval) simulatorSettingsInterval);
+		} else {
+			this.pointSimulatorSettingsInterval = Optional.empty();
+		}
 		this.costFunction = costFunction;
 	}
 
@@ -34,56 +47,91 @@ public final class StatisticsWithSettingsDistanceSelector extends BorderedStrate
 
 	@Override
 	public synchronized List<TradingStrategy> addStrategy(TradingStrategy strategy) {
-		final Double strategyCost = costFunction.calculate(strategy.getMetrics());
+		final Double strategyCost = strategy.getCost(costFunction);
+		final Optional<SimulatorSettingsPoint> point = pointSimulatorSettingsInterval.map(i -> i.getPoint(strategy.getSettings()));
 		final List<TradingStrategy> deletedElements = new ArrayList<>();
 		boolean shouldWeAddStrategy = true;
-		for (TradingStrategy tradingStrategy : strategiesByCost.values()) {
-			final double distance = simulatorSettingsInterval.calculateInterval(tradingStrategy.getSettings(), strategy.getSettings());
-			if (distance < epsilon) {
-				final Double storedStrategyCost = costFunction.calculate(strategy.getMetrics());
-				if (storedStrategyCost > strategyCost) {
-					deletedElements.add(tradingStrategy);
-				} else {
-					shouldWeAddStrategy = false;
-				}
-				break;
+		final Optional<TradingStrategy> closeStrategy = findCloseStrategy(strategy, point);
+		if (closeStrategy.isPresent()) {
+			final TradingStrategy tradingStrategy = closeStrategy.get();
+			final Double storedStrategyCost = strategy.getCost(costFunction);
+			if (storedStrategyCost > strategyCost) {
+				deletedElements.add(tradingStrategy);
+			} else {
+				shouldWeAddStrategy = false;
 			}
 		}
 		if (!deletedElements.isEmpty()) {
-			final Double deletingElementCost = costFunction.calculate(strategy.getMetrics());
-			if (strategiesByCost.remove(deletingElementCost) != null) {
-				addStrategy(strategyCost, strategy);
+			final Double deletingElementCost = strategy.getCost(costFunction);
+			if (removeStrategy(deletingElementCost)) {
+				addStrategy(strategyCost, strategy, point);
 			}
 		} else {
 			if (shouldWeAddStrategy) {
-				addStrategy(strategyCost, strategy);
+				addStrategy(strategyCost, strategy, point);
 				if (strategiesByCost.size() > maxPossibleAmount()) {
-					deletedElements.add(strategiesByCost.pollLastEntry().getValue());
+					final TradingStrategy deletedStrategy = strategiesByCost.pollLastEntry().getValue();
+					strategiesIndex.remove(deletedStrategy);
+					deletedElements.add(deletedStrategy);
 				}
 			}
 		}
 		return deletedElements;
 	}
 
-	private void addStrategy(double strategyCost, TradingStrategy strategy) {
+	/**
+	 * @return stored strategy with biggest cost from strategies closer then epsilon.
+	 */
+	private Optional<TradingStrategy> findCloseStrategy(final TradingStrategy strategy, final Optional<SimulatorSettingsPoint> point) {
+		if (point.isPresent()) {
+			TradingStrategy result = null;
+			for (TradingStrategy tradingStrategy : strategiesIndex.find(point.get(), epsilon)) {
+				if (result == null || tradingStrategy.getCost(costFunction) > result.getCost(costFunction)) {
+					result = tradingStrategy;
+				}
+			}
+			return Optional.ofNullable(result);
+		}
+		for (TradingStrategy tradingStrategy : strategiesByCost.values()) {
+			final double distance = simulatorSettingsInterval.calculateInterval(tradingStrategy.getSettings(), strategy.getSettings());
+			if (distance < epsilon) {
+				return Optional.of(tradingStrategy);
+			}
+		}
+		return Optional.empty();
+	}
+
+	private void addStrategy(double strategyCost, TradingStrategy strategy, Optional<SimulatorSettingsPoint> point) {
 		if (!strategiesByCost.containsKey(strategyCost)) {
 			strategiesByCost.put(strategyCost, strategy);
+			if (point.isPresent()) {
+				strategiesIndex.add(point.get(), strategy);
+			}
+		}
+	}
+
+	private boolean removeStrategy(double strategyCost) {
+		final TradingStrategy deletedStrategy = strategiesByCost.remove(strategyCost);
+		if (deletedStrategy == null) {
+			return false;
 		}
+		strategiesIndex.remove(deletedStrategy);
+		return true;
 	}
 
 	@Override
 	public synchronized boolean removeStrategy(TradingStrategy strategy) {
-		final Double deletingElementCost = costFunction.calculate(strategy.getMetrics());
-		return strategiesByCost.remove(deletingElementCost) != null;
+		final Double deletingElementCost = strategy.getCost(costFunction);
+		return removeStrategy(deletingElementCost);
 	}
 
 	@Override
-	public List<TradingStrategy> getStrategies() {
+	public synchronized List<TradingStrategy> getStrategies() {
 		return new ArrayList<>(strategiesByCost.values());
 	}
 
 	@Override
-	public int currentStrategiesAmount() {
+	public synchronized int currentStrategiesAmount() {
 		return strategiesByCost.size();
 	}
 
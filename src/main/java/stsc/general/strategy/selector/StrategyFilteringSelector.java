@@ -56,22 +56,22 @@ public final class StrategyFilteringSelector extends BorderedStrategySelector {
 	private boolean isFilteredOut(final TradingStrategy strategy) {
 		final Metrics m = strategy.getMetrics();
 		for (Entry<MetricType, Integer> i : integerMinFilters.entrySet()) {
-			if (m.getIntegerMetric(i.getKey()) < i.getValue()) {
+			if (m.getIntegerValue(i.getKey()) < i.getValue()) {
 				return true;
 			}
 		}
 		for (Entry<MetricType, Integer> i : integerMaxFilters.entrySet()) {
-			if (m.getIntegerMetric(i.getKey()) > i.getValue()) {
+			if (m.getIntegerValue(i.getKey()) > i.getValue()) {
 				return true;
 			}
 		}
 		for (Entry<MetricType, Double> i : doubleMinFilters.entrySet()) {
-			if (m.getDoubleMetric(i.getKey()) < i.getValue()) {
+			if (m.getDoubleValue(i.getKey()) < i.getValue()) {
 				return true;
 			}
 		}
 		for (Entry<MetricType, Double> i : doubleMaxFilters.entrySet()) {
-			if (m.getDoubleMetric(i.getKey()) > i.getValue()) {
+			if (m.getDoubleValue(i.getKey()) > i.getValue()) {
 				return true;
 			}
 		}
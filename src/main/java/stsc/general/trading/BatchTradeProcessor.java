@@ -0,0 +1,126 @@
+package stsc.general.trading;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.commons.lang3.Validate;
+
+import stsc.common.BadSignalException;
+import stsc.common.Day;
+import stsc.common.FromToPeriod;
+import stsc.common.algorithms.BadAlgorithmException;
+import stsc.general.statistic.Metrics;
+import stsc.general.statistic.pruning.SimulationPruningPolicy;
+import stsc.storage.ExecutionInstanceProcessor;
+
+/**
+ * {@link BatchTradeProcessor} simulates several {@link TradeProcessor}s (parameterizations of strategy over the same stock storage) in
+ * lockstep over one traversal of shared {@link MarketDataTimeline}. Each trade processor has its own broker and statistics, market data
+ * (stock days) is read once per batch. <br/>
+ * Eod algorithms api takes mutable datafeed, so each trade processor receives own copy of day datafeed (modifications made by algorithms
+ * of one trade processor are not visible to others).
+ * Trade processors stopped by {@link SimulationPruningPolicy} are removed from the lockstep, other processors continue simulation.
+ */
+public final class BatchTradeProcessor {
+
+	private final List<TradeProcessor> tradeProcessors;
+
+	public BatchTradeProcessor(final List<TradeProcessorInit> settings) throws BadAlgorithmException {
+		this(settings, Optional.empty());
+	}
+
+	public BatchTradeProcessor(final List<TradeProcessorInit> settings, final Optional<SimulationPruningPolicy> pruningPolicy) throws BadAlgorithmException {
+		Validate.notEmpty(settings, "batch should contain at least one trade processor");
+		this.tradeProcessors = new ArrayList<>(settings.size());
+		for (TradeProcessorInit tradeProcessorInit : settings) {
+			Validate.isTrue(tradeProcessorInit.getBrokerImpl().getStockStorage() == settings.get(0).getBrokerImpl().getStockStorage(),
+					"all trade processors of batch should use the same stock storage");
+			tradeProcessors.add(new TradeProcessor(tradeProcessorInit, pruningPolicy));
+		}
+	}
+
+	/**
+	 * @return {@link Metrics} of each trade processor (in order of settings).
+	 */
+	public List<Metrics> simulate(final FromToPeriod period, final Optional<Set<String>> stockNames) throws BadSignalException {
+		final MarketDataTimeline timeline = tradeProcessors.get(0).getTimeline(period, stockNames);
+		for (TradeProcessor tradeProcessor : tradeProcessors) {
+			tradeProcessor.startSimulation(timeline);
+		}
+		TradeProcessor[] active = tradeProcessors.toArray(new TradeProcessor[tradeProcessors.size()]);
+		final TradingCalendar calendar = timeline.getCalendar();
+		for (int dayIndex = 0; dayIndex < calendar.size() && active.length > 0; ++dayIndex) {
+			final Date today = calendar.getDate(dayIndex);
+			final int dayEntriesTo = timeline.getDayEntriesTo(dayIndex);
+			HashMap<String, Day> datafeed = null;
+
+			for (TradeProcessor tradeProcessor : active) {
+				tradeProcessor.startDay(today, dayIndex);
+			}
+			for (int entry = timeline.getDayEntriesFrom(dayIndex); entry < dayEntriesTo; ++entry) {
+				final int stockId = timeline.getEntryStockId(entry);
+				final StockTimeline stock = timeline.getStock(stockId);
+				final int row = timeline.getEntryRow(entry);
+				final Day stockDay = stock.getDay(row);
+				final String stockName = stock.getStockName();
+				final double openPrice = stock.getOpen(row);
+				for (TradeProcessor tradeProcessor : active) {
+					tradeProcessor.processStockDay(stockId, stockName, stockDay, openPrice);
+				}
+				if (datafeed == null) {
+					datafeed = new HashMap<String, Day>();
+				}
+				datafeed.put(stockName, stockDay);
+			}
+			int prunedAmount = 0;
+			for (int i = 0; i < active.length; ++i) {
+				final TradeProcessor tradeProcessor = active[i];
+				// last trade processor receives original datafeed
+				final HashMap<String, Day> tradeProcessorDatafeed = (datafeed == null || i == active.length - 1) ? datafeed : new HashMap<>(datafeed);
+				tradeProcessor.finishDay(today, dayIndex, calendar.size(), tradeProcessorDatafeed);
+				if (tradeProcessor.isPruned()) {
+					prunedAmount += 1;
+				}
+			}
+			if (prunedAmount > 0) {
+				active = removePruned(active, prunedAmount);
+			}
+		}
+		final List<Metrics> result = new ArrayList<>(tradeProcessors.size());
+		for (TradeProcessor tradeProcessor : tradeProcessors) {
+			result.add(tradeProcessor.calculateMetrics());
+		}
+		return result;
+	}
+
+	private static TradeProcessor[] removePruned(final TradeProcessor[] active, final int prunedAmount) {
+		final TradeProcessor[] result = new TradeProcessor[active.length - prunedAmount];
+		int index = 0;
+		for (TradeProcessor tradeProcessor : active) {
+			if (!tradeProcessor.isPruned()) {
+				result[index++] = tradeProcessor;
+			}
+		}
+		return result;
+	}
+
+	public int size() {
+		return tradeProcessors.size();
+	}
+
+	/**
+	 * @return true if trade processor for settings with index was stopped by {@link SimulationPruningPolicy}.
+	 */
+	public boolean isPruned(final int index) {
+		return tradeProcessors.get(index).isPruned();
+	}
+
+	public ExecutionInstanceProcessor getExecutionStorage(final int index) {
+		return tradeProcessors.get(index).getExecutionStorage();
+	}
+
+}
@@ -1,9 +1,13 @@
 package stsc.general.trading;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Optional;
 
 import stsc.common.Day;
@@ -12,42 +16,64 @@ import stsc.common.stocks.Stock;
 import stsc.common.storage.StockStorage;
 import stsc.common.trading.Broker;
 
-public class BrokerImpl implements Broker {
+public class BrokerImpl implements Broker, Closeable {
 
-	private final TradingLog tradingLog = new TradingLog();
+	private final TradingLog tradingLog;
 	private final StockStorage stockStorage;
+	private final Optional<Path> tradingLogSpillDirectory;
 
-	private class Shares {
-		private int amount = 0;
+	private final SymbolTable symbols;
 
-		Shares(int amount) {
-			this.amount = amount;
-		}
+	// opened shares indexed by symbol id (zero for not opened positions)
+	private int[] openedLongShares = new int[0];
+	private int[] openedShortShares = new int[0];
 
-		void inc(int amount) {
-			this.amount += amount;
-		}
+	private Date today;
 
-		void dec(int amount) {
-			this.amount -= amount;
-		}
+	private Optional<MarketDataTimeline> timeline = Optional.empty();
+	private final BitSet tradedToday = new BitSet();
 
-		int getAmount() {
-			return amount;
-		}
+	public BrokerImpl(StockStorage stockStorage) {
+		this(stockStorage, Optional.empty());
 	}
 
-	private HashMap<String, Shares> openedLongShares = new HashMap<>();
-	private HashMap<String, Shares> openedShortShares = new HashMap<>();
-
-	private Date today;
+	/**
+	 * @param tradingLogSpillDirectory
+	 *            - {@link TradingLog} will store records at memory mapped file at this directory (for very long simulations).
+	 */
+	public BrokerImpl(StockStorage stockStorage, Path tradingLogSpillDirectory) {
+		this(stockStorage, Optional.of(tradingLogSpillDirectory));
+	}
 
-	public BrokerImpl(StockStorage stockStorage) {
+	BrokerImpl(StockStorage stockStorage, Optional<Path> tradingLogSpillDirectory) {
 		this.stockStorage = stockStorage;
+		this.tradingLogSpillDirectory = tradingLogSpillDirectory;
+		this.tradingLog = tradingLogSpillDirectory.isPresent() ? new TradingLog(tradingLogSpillDirectory.get()) : new TradingLog();
+		this.symbols = tradingLog.getSymbols();
 	}
 
 	public void setToday(Date today) {
 		this.today = today;
+		tradedToday.clear();
+	}
+
+	/**
+	 * Set timeline that is simulated by {@link TradeProcessor}. After that
+	 * {@link #setToday(Date, int)} should be used, so check whether stock has
+	 * data for today is O(1) for stocks from timeline.
+	 */
+	void setTimeline(MarketDataTimeline timeline) {
+		this.timeline = Optional.of(timeline);
+		symbols.setUniverse(timeline);
+	}
+
+	void setToday(Date today, int dayIndex) {
+		setToday(today);
+		final MarketDataTimeline t = timeline.get();
+		final int dayEntriesTo = t.getDayEntriesTo(dayIndex);
+		for (int entry = t.getDayEntriesFrom(dayIndex); entry < dayEntriesTo; ++entry) {
+			tradedToday.set(t.getEntryStockId(entry));
+		}
 	}
 
 	public StockStorage getStockStorage() {
@@ -58,100 +84,82 @@ public class BrokerImpl implements Broker {
 		return tradingLog;
 	}
 
+	public Optional<Path> getTradingLogSpillDirectory() {
+		return tradingLogSpillDirectory;
+	}
+
+	/**
+	 * Releases {@link TradingLog} (for memory mapped log the file is deleted), so it should be called by owner of broker when trading log
+	 * is not necessary anymore.
+	 */
+	@Override
+	public void close() throws IOException {
+		tradingLog.close();
+	}
+
 	@Override
 	public int buy(String stockName, Side side, int sharesAmount) {
-		if (dataExist(stockName)) {
+		final int knownSymbolId = symbols.find(stockName);
+		if (dataExist(knownSymbolId, stockName)) {
+			final int symbolId = knownSymbolId >= 0 ? knownSymbolId : symbols.intern(stockName);
 			if (sharesAmount == 0) {
 				return 0;
 			}
+			ensureCapacity(symbolId);
 			if (side == Side.LONG)
-				buyLong(stockName, sharesAmount);
+				openedLongShares[symbolId] += sharesAmount;
 			else
-				buyShort(stockName, sharesAmount);
+				openedShortShares[symbolId] += sharesAmount;
+			tradingLog.addBuyRecord(today, symbolId, side, sharesAmount);
 			return sharesAmount;
 		}
 		return 0;
 	}
 
-	private void buyLong(String stockName, int sharesAmount) {
-		Shares openAmount = openedLongShares.get(stockName);
-		if (openAmount == null)
-			openedLongShares.put(stockName, new Shares(sharesAmount));
-		else
-			openAmount.inc(sharesAmount);
-		tradingLog.addBuyRecord(today, stockName, Side.LONG, sharesAmount);
-	}
-
-	private void buyShort(String stockName, int sharesAmount) {
-		Shares openAmount = openedShortShares.get(stockName);
-		if (openAmount == null)
-			openedShortShares.put(stockName, new Shares(sharesAmount));
-		else
-			openAmount.inc(sharesAmount);
-		tradingLog.addBuyRecord(today, stockName, Side.SHORT, sharesAmount);
-	}
-
 	@Override
 	public int sell(String stockName, Side side, int sharesAmount) {
-		if (dataExist(stockName)) {
+		final int knownSymbolId = symbols.find(stockName);
+		if (dataExist(knownSymbolId, stockName)) {
+			final int symbolId = knownSymbolId >= 0 ? knownSymbolId : symbols.intern(stockName);
 			if (sharesAmount == 0) {
 				return 0;
 			}
-			int selledAmount = 0;
+			ensureCapacity(symbolId);
 			if (side == Side.LONG)
-				selledAmount = sellLong(stockName, sharesAmount);
+				return sell(openedLongShares, symbolId, side, sharesAmount);
 			else
-				selledAmount = sellShort(stockName, sharesAmount);
-			return selledAmount;
+				return sell(openedShortShares, symbolId, side, sharesAmount);
 		}
 		return 0;
 	}
 
-	private int sellLong(String stockName, int sharesAmount) {
-		Shares openedShares = openedLongShares.get(stockName);
-		if (openedShares == null) {
+	private int sell(final int[] openedShares, int symbolId, Side side, int sharesAmount) {
+		final int openedSharesAmount = openedShares[symbolId];
+		if (openedSharesAmount == 0) {
 			return 0;
-		} else {
-			int openedSharesAmount = openedShares.getAmount();
-			if (openedSharesAmount > sharesAmount) {
-				openedShares.dec(sharesAmount);
-				tradingLog.addSellRecord(today, stockName, Side.LONG, sharesAmount);
-				return sharesAmount;
-			} else if (openedSharesAmount == sharesAmount) {
-				openedLongShares.remove(stockName);
-				tradingLog.addSellRecord(today, stockName, Side.LONG, sharesAmount);
-				return sharesAmount;
-			} else {
-				openedLongShares.remove(stockName);
-				tradingLog.addSellRecord(today, stockName, Side.LONG, openedSharesAmount);
-				return openedSharesAmount;
-			}
 		}
+		final int selledAmount = Math.min(openedSharesAmount, sharesAmount);
+		openedShares[symbolId] -= selledAmount;
+		tradingLog.addSellRecord(today, symbolId, side, selledAmount);
+		return selledAmount;
 	}
 
-	private int sellShort(String stockName, int sharesAmount) {
-		Shares openedShares = openedShortShares.get(stockName);
-		if (openedShares == null) {
-			return 0;
-		} else {
-			int openedSharesAmount = openedShares.getAmount();
-			if (openedSharesAmount > sharesAmount) {
-				openedShares.dec(sharesAmount);
-				tradingLog.addSellRecord(today, stockName, Side.SHORT, sharesAmount);
-				return sharesAmount;
-			} else if (openedSharesAmount == sharesAmount) {
-				openedShortShares.remove(stockName);
-				tradingLog.addSellRecord(today, stockName, Side.SHORT, sharesAmount);
-				return sharesAmount;
-			} else {
-				openedShortShares.remove(stockName);
-				tradingLog.addSellRecord(today, stockName, Side.SHORT, openedSharesAmount);
-				return openedSharesAmount;
-			}
+	private void ensureCapacity(int symbolId) {
+		if (symbolId >= openedLongShares.length) {
+			final int newSize = Math.max(symbolId + 1, symbols.size());
+			openedLongShares = Arrays.copyOf(openedLongShares, newSize);
+			openedShortShares = Arrays.copyOf(openedShortShares, newSize);
 		}
 	}
 
-	private boolean dataExist(String stockName) {
+	/**
+	 * Symbol is interned only after this check, so unknown stocks do not grow
+	 * {@link SymbolTable}.
+	 */
+	private boolean dataExist(int symbolId, String stockName) {
+		if (timeline.isPresent() && symbolId >= 0 && symbols.isUniverseSymbol(symbolId)) {
+			return tradedToday.get(symbolId);
+		}
 		final Optional<Stock> stockPtr = stockStorage.getStock(stockName);
 		if (!stockPtr.isPresent()) {
 			return false;
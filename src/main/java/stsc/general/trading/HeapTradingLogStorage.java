@@ -0,0 +1,64 @@
+package stsc.general.trading;
+
+import java.util.Arrays;
+
+/**
+ * {@link TradingLogStorage} with records stored at growable parallel
+ * primitive arrays on heap.
+ */
+final class HeapTradingLogStorage implements TradingLogStorage {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private int size = 0;
+	private int[] epochDays = new int[INITIAL_CAPACITY];
+	private int[] symbolIds = new int[INITIAL_CAPACITY];
+	private byte[] flags = new byte[INITIAL_CAPACITY];
+	private int[] amounts = new int[INITIAL_CAPACITY];
+
+	@Override
+	public void add(int epochDay, int symbolId, byte flag, int amount) {
+		if (size == epochDays.length) {
+			final int newCapacity = size * 2;
+			epochDays = Arrays.copyOf(epochDays, newCapacity);
+			symbolIds = Arrays.copyOf(symbolIds, newCapacity);
+			flags = Arrays.copyOf(flags, newCapacity);
+			amounts = Arrays.copyOf(amounts, newCapacity);
+		}
+		epochDays[size] = epochDay;
+		symbolIds[size] = symbolId;
+		flags[size] = flag;
+		amounts[size] = amount;
+		size += 1;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public int getEpochDay(int index) {
+		return epochDays[index];
+	}
+
+	@Override
+	public int getSymbolId(int index) {
+		return symbolIds[index];
+	}
+
+	@Override
+	public byte getFlags(int index) {
+		return flags[index];
+	}
+
+	@Override
+	public int getAmount(int index) {
+		return amounts[index];
+	}
+
+	@Override
+	public void close() {
+	}
+
+}
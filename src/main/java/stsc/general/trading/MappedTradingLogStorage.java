@@ -0,0 +1,121 @@
+package stsc.general.trading;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Optional;
+
+/**
+ * Disk backed {@link TradingLogStorage}. Records are appended as fixed width
+ * (16 bytes) binary records into memory mapped segments of a temporary file,
+ * so heap usage do not depend on amount of records. File is created on first
+ * record and deleted by {@link #close()}.
+ */
+final class MappedTradingLogStorage implements TradingLogStorage {
+
+	static final int DEFAULT_SEGMENT_RECORDS = 1 << 20;
+
+	private static final int RECORD_BYTES = 16;
+	private static final int EPOCH_DAY_OFFSET = 0;
+	private static final int SYMBOL_ID_OFFSET = 4;
+	private static final int FLAGS_OFFSET = 8;
+	private static final int AMOUNT_OFFSET = 12;
+
+	private final Path directory;
+	private final int segmentRecordsShift;
+	private final int segmentRecordsMask;
+
+	private Optional<FileChannel> channel = Optional.empty();
+	private final ArrayList<MappedByteBuffer> segments = new ArrayList<>();
+	private int size = 0;
+
+	MappedTradingLogStorage(final Path directory) {
+		this(directory, DEFAULT_SEGMENT_RECORDS);
+	}
+
+	/**
+	 * @param segmentRecords
+	 *            - amount of records at one mapped segment (should be power of two).
+	 */
+	MappedTradingLogStorage(final Path directory, final int segmentRecords) {
+		if (Integer.bitCount(segmentRecords) != 1) {
+			throw new IllegalArgumentException("Segment records amount should be power of two: " + segmentRecords);
+		}
+		this.directory = directory;
+		this.segmentRecordsShift = Integer.numberOfTrailingZeros(segmentRecords);
+		this.segmentRecordsMask = segmentRecords - 1;
+	}
+
+	@Override
+	public void add(int epochDay, int symbolId, byte flags, int amount) {
+		if ((size >> segmentRecordsShift) == segments.size()) {
+			addSegment();
+		}
+		final MappedByteBuffer segment = segments.get(size >> segmentRecordsShift);
+		final int offset = (size & segmentRecordsMask) * RECORD_BYTES;
+		segment.putInt(offset + EPOCH_DAY_OFFSET, epochDay);
+		segment.putInt(offset + SYMBOL_ID_OFFSET, symbolId);
+		segment.putInt(offset + FLAGS_OFFSET, flags);
+		segment.putInt(offset + AMOUNT_OFFSET, amount);
+		size += 1;
+	}
+
+	private void addSegment() {
+		try {
+			if (!channel.isPresent()) {
+				final Path file = Files.createTempFile(directory, "trading_log", ".bin");
+				channel = Optional.of(FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE));
+			}
+			final long segmentBytes = (long) RECORD_BYTES << segmentRecordsShift;
+			segments.add(channel.get().map(MapMode.READ_WRITE, segments.size() * segmentBytes, segmentBytes));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Trading log segment could not be mapped at " + directory, e);
+		}
+	}
+
+	private int getInt(int index, int fieldOffset) {
+		return segments.get(index >> segmentRecordsShift).getInt((index & segmentRecordsMask) * RECORD_BYTES + fieldOffset);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public int getEpochDay(int index) {
+		return getInt(index, EPOCH_DAY_OFFSET);
+	}
+
+	@Override
+	public int getSymbolId(int index) {
+		return getInt(index, SYMBOL_ID_OFFSET);
+	}
+
+	@Override
+	public byte getFlags(int index) {
+		return (byte) getInt(index, FLAGS_OFFSET);
+	}
+
+	@Override
+	public int getAmount(int index) {
+		return getInt(index, AMOUNT_OFFSET);
+	}
+
+	@Override
+	public void close() throws IOException {
+		segments.clear();
+		size = 0;
+		if (channel.isPresent()) {
+			channel.get().close();
+			channel = Optional.empty();
+		}
+	}
+
+}
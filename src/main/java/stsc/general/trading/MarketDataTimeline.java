@@ -0,0 +1,153 @@
+package stsc.general.trading;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.Set;
+
+import stsc.common.FromToPeriod;
+import stsc.common.stocks.Stock;
+import stsc.common.storage.StockStorage;
+
+/**
+ * Prepared (precomputed) columnar view on {@link StockStorage} for one
+ * simulation period and stock set. Stocks are addressed by int stock id
+ * (index in timeline), days by int day index of {@link TradingCalendar}.<br/>
+ * Also stores day-major index of (stock id, row) entries: all stock days for
+ * day index <b>d</b> are entries from [{@link #getDayEntriesFrom(int)},
+ * {@link #getDayEntriesTo(int)}). So simulation do not need any per-stock
+ * cursor and could start from any day in O(1).<br/>
+ * Timeline is immutable and could be shared by all simulations (on all
+ * threads) with the same {@link StockStorage}, {@link FromToPeriod} and stock
+ * set.
+ */
+public final class MarketDataTimeline {
+
+	private final StockStorage stockStorage;
+	private final FromToPeriod period;
+	private final Optional<Set<String>> stockNames;
+
+	private final TradingCalendar calendar;
+	private final StockTimeline[] stocks;
+	private final HashMap<String, Integer> stockIds = new HashMap<>();
+
+	private final int[] dayStarts;
+	private final int[] entryStockIds;
+	private final int[] entryRows;
+
+	private MarketDataTimeline(final StockStorage stockStorage, final FromToPeriod period, final Optional<Set<String>> stockNames, final TradingCalendar calendar,
+			final StockTimeline[] stocks) {
+		this.stockStorage = stockStorage;
+		this.period = period;
+		this.stockNames = stockNames;
+		this.calendar = calendar;
+		this.stocks = stocks;
+		for (int stockId = 0; stockId < stocks.length; ++stockId) {
+			stockIds.put(stocks[stockId].getStockName(), stockId);
+		}
+		this.dayStarts = new int[calendar.size() + 1];
+		int entriesAmount = 0;
+		for (StockTimeline stock : stocks) {
+			for (int row = 0; row < stock.size(); ++row) {
+				dayStarts[stock.getDayIndex(row) + 1] += 1;
+			}
+			entriesAmount += stock.size();
+		}
+		for (int dayIndex = 0; dayIndex < calendar.size(); ++dayIndex) {
+			dayStarts[dayIndex + 1] += dayStarts[dayIndex];
+		}
+		this.entryStockIds = new int[entriesAmount];
+		this.entryRows = new int[entriesAmount];
+		final int[] dayFill = new int[calendar.size()];
+		for (int stockId = 0; stockId < stocks.length; ++stockId) {
+			final StockTimeline stock = stocks[stockId];
+			for (int row = 0; row < stock.size(); ++row) {
+				final int dayIndex = stock.getDayIndex(row);
+				final int entry = dayStarts[dayIndex] + dayFill[dayIndex]++;
+				entryStockIds[entry] = stockId;
+				entryRows[entry] = row;
+			}
+		}
+	}
+
+	public static MarketDataTimeline create(final StockStorage stockStorage, final FromToPeriod period, final Optional<Set<String>> stockNames) {
+		final ArrayList<Stock> simulatedStocks = new ArrayList<>();
+		for (String stockName : stockStorage.getStockNames()) {
+			if (stockNames.isPresent() && !stockNames.get().contains(stockName)) {
+				continue;
+			}
+			final Optional<Stock> stock = stockStorage.getStock(stockName);
+			if (stock.isPresent()) {
+				simulatedStocks.add(stock.get());
+			}
+		}
+		final TradingCalendar calendar = TradingCalendar.createForStocks(simulatedStocks, period.getFrom(), period.getTo());
+		final ArrayList<StockTimeline> stocks = new ArrayList<>();
+		for (Stock stock : simulatedStocks) {
+			final Optional<StockTimeline> stockTimeline = StockTimeline.create(stock, calendar);
+			if (stockTimeline.isPresent()) {
+				stocks.add(stockTimeline.get());
+			}
+		}
+		return new MarketDataTimeline(stockStorage, period, stockNames, calendar, stocks.toArray(new StockTimeline[stocks.size()]));
+	}
+
+	/**
+	 * @return true if timeline was prepared for the same storage (by
+	 *         reference), period and stock set.
+	 */
+	public boolean isPreparedFor(final StockStorage stockStorage, final FromToPeriod period, final Optional<Set<String>> stockNames) {
+		return this.stockStorage == stockStorage && //
+				this.period.getFrom().equals(period.getFrom()) && //
+				this.period.getTo().equals(period.getTo()) && //
+				this.stockNames.equals(stockNames);
+	}
+
+	public TradingCalendar getCalendar() {
+		return calendar;
+	}
+
+	public int getStocksAmount() {
+		return stocks.length;
+	}
+
+	public String getStockName(final int stockId) {
+		return stocks[stockId].getStockName();
+	}
+
+	/**
+	 * @return stock id or -1 if timeline do not contain such stock.
+	 */
+	public int findStockId(final String stockName) {
+		final Integer stockId = stockIds.get(stockName);
+		if (stockId == null) {
+			return -1;
+		}
+		return stockId;
+	}
+
+	StockTimeline getStock(final int stockId) {
+		return stocks[stockId];
+	}
+
+	int getDayEntriesFrom(final int dayIndex) {
+		return dayStarts[dayIndex];
+	}
+
+	int getDayEntriesTo(final int dayIndex) {
+		return dayStarts[dayIndex + 1];
+	}
+
+	int getEntryStockId(final int entry) {
+		return entryStockIds[entry];
+	}
+
+	int getEntryRow(final int entry) {
+		return entryRows[entry];
+	}
+
+	@Override
+	public String toString() {
+		return calendar.toString() + " " + stocks.length;
+	}
+}
@@ -0,0 +1,131 @@
+package stsc.general.trading;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+
+import stsc.common.Day;
+import stsc.common.stocks.Stock;
+
+/**
+ * Columnar (structure of arrays) representation of stock days that belongs
+ * to {@link TradingCalendar}. Row <b>i</b> of the timeline is a day of the
+ * stock, with {@link #getDayIndex(int)} index in calendar (rows are strictly
+ * increasing by day index, duplicated stock days are skipped).
+ */
+final class StockTimeline {
+
+	private final String stockName;
+	private final Day[] days;
+	private final int[] dayIndexes;
+	private final double[] open;
+	private final double[] close;
+	private final double[] high;
+	private final double[] low;
+	private final double[] volume;
+
+	private StockTimeline(final String stockName, final int size) {
+		this.stockName = stockName;
+		this.days = new Day[size];
+		this.dayIndexes = new int[size];
+		this.open = new double[size];
+		this.close = new double[size];
+		this.high = new double[size];
+		this.low = new double[size];
+		this.volume = new double[size];
+	}
+
+	private StockTimeline(final StockTimeline from, final int size) {
+		this.stockName = from.stockName;
+		this.days = Arrays.copyOf(from.days, size);
+		this.dayIndexes = Arrays.copyOf(from.dayIndexes, size);
+		this.open = Arrays.copyOf(from.open, size);
+		this.close = Arrays.copyOf(from.close, size);
+		this.high = Arrays.copyOf(from.high, size);
+		this.low = Arrays.copyOf(from.low, size);
+		this.volume = Arrays.copyOf(from.volume, size);
+	}
+
+	/**
+	 * @return timeline of stock days that belongs to calendar or empty if
+	 *         there is no such days.
+	 */
+	static Optional<StockTimeline> create(final Stock stock, final TradingCalendar calendar) {
+		final ArrayList<Day> stockDays = stock.getDays();
+		if (calendar.size() == 0 || stockDays.isEmpty()) {
+			return Optional.empty();
+		}
+		final int firstEpochDay = calendar.getEpochDay(0);
+		final int lastEpochDay = calendar.getEpochDay(calendar.size() - 1);
+		final StockTimeline result = new StockTimeline(stock.getInstrumentName(), stockDays.size());
+		int size = 0;
+		int lastDayIndex = -1;
+		for (Day day : stockDays) {
+			final int epochDay = TradingCalendar.toEpochDay(day.date);
+			if (epochDay < firstEpochDay) {
+				continue;
+			}
+			if (epochDay > lastEpochDay) {
+				break;
+			}
+			final int dayIndex = calendar.findDayIndex(epochDay);
+			if (dayIndex <= lastDayIndex) {
+				continue;
+			}
+			result.days[size] = day;
+			result.dayIndexes[size] = dayIndex;
+			result.open[size] = day.getPrices().getOpen();
+			result.close[size] = day.getPrices().getClose();
+			result.high[size] = day.getPrices().getHigh();
+			result.low[size] = day.getPrices().getLow();
+			result.volume[size] = day.getVolume();
+			size += 1;
+			lastDayIndex = dayIndex;
+		}
+		if (size == 0) {
+			return Optional.empty();
+		}
+		return Optional.of(new StockTimeline(result, size));
+	}
+
+	String getStockName() {
+		return stockName;
+	}
+
+	int size() {
+		return dayIndexes.length;
+	}
+
+	Day getDay(final int row) {
+		return days[row];
+	}
+
+	int getDayIndex(final int row) {
+		return dayIndexes[row];
+	}
+
+	double getOpen(final int row) {
+		return open[row];
+	}
+
+	double getClose(final int row) {
+		return close[row];
+	}
+
+	double getHigh(final int row) {
+		return high[row];
+	}
+
+	double getLow(final int row) {
+		return low[row];
+	}
+
+	double getVolume(final int row) {
+		return volume[row];
+	}
+
+	@Override
+	public String toString() {
+		return stockName + " " + dayIndexes.length;
+	}
+}
@@ -0,0 +1,87 @@
+package stsc.general.trading;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Optional;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Interning table of stock names (symbols). Each symbol gets dense int id, so
+ * positions and prices could be stored at primitive arrays indexed by id.<br/>
+ * Symbols of {@link MarketDataTimeline} universe have the same ids as stock
+ * ids of the timeline (shared, immutable part). Symbols that are not part of
+ * universe are interned dynamically and get ids after universe ones.
+ */
+public final class SymbolTable {
+
+	private Optional<MarketDataTimeline> universe = Optional.empty();
+	private int universeSize = 0;
+
+	private final HashMap<String, Integer> ids = new HashMap<>();
+	private final ArrayList<String> names = new ArrayList<>();
+
+	SymbolTable() {
+	}
+
+	void setUniverse(final MarketDataTimeline universe) {
+		if (this.universe.isPresent() && this.universe.get() == universe) {
+			return;
+		}
+		Validate.isTrue(!this.universe.isPresent() && names.isEmpty(), "Universe should be set before any symbol is interned");
+		this.universe = Optional.of(universe);
+		this.universeSize = universe.getStocksAmount();
+	}
+
+	/**
+	 * @return id of universe or already interned symbol, -1 for unknown symbol
+	 *         (symbol is not interned).
+	 */
+	public int find(final String symbol) {
+		if (universe.isPresent()) {
+			final int stockId = universe.get().findStockId(symbol);
+			if (stockId >= 0) {
+				return stockId;
+			}
+		}
+		final Integer id = ids.get(symbol);
+		return id == null ? -1 : id;
+	}
+
+	public int intern(final String symbol) {
+		if (universe.isPresent()) {
+			final int stockId = universe.get().findStockId(symbol);
+			if (stockId >= 0) {
+				return stockId;
+			}
+		}
+		final Integer id = ids.get(symbol);
+		if (id != null) {
+			return id;
+		}
+		final int newId = universeSize + names.size();
+		ids.put(symbol, newId);
+		names.add(symbol);
+		return newId;
+	}
+
+	public String getSymbol(final int id) {
+		if (id < universeSize) {
+			return universe.get().getStockName(id);
+		}
+		return names.get(id - universeSize);
+	}
+
+	public boolean isUniverseSymbol(final int id) {
+		return id < universeSize;
+	}
+
+	public int size() {
+		return universeSize + names.size();
+	}
+
+	@Override
+	public String toString() {
+		return universeSize + " + " + names.toString();
+	}
+}
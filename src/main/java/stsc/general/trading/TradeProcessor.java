@@ -2,28 +2,26 @@ package stsc.general.trading;
 
 import java.util.Date;
 import java.util.HashMap;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TimeZone;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.joda.time.LocalDate;
 
 import stsc.common.BadSignalException;
 import stsc.common.Day;
 import stsc.common.FromToPeriod;
 import stsc.common.algorithms.BadAlgorithmException;
-import stsc.common.stocks.Stock;
 import stsc.common.storage.StockStorage;
 import stsc.common.trading.Broker;
 import stsc.general.statistic.Metrics;
 import stsc.general.statistic.StatisticsProcessor;
+import stsc.general.statistic.pruning.SimulationPruningPolicy;
 import stsc.storage.ExecutionInstanceProcessor;
 
 /**
- * {@link TradeProcessor} is a container for {@link Broker}, {@link ExecutionInstanceProcessor}, {@link DayIteratorStorage} and algorithm of simulation.
+ * {@link TradeProcessor} is a container for {@link Broker}, {@link ExecutionInstanceProcessor}, {@link MarketDataTimeline} and algorithm of simulation.
  */
 public final class TradeProcessor {
 
@@ -34,83 +32,108 @@ public final class TradeProcessor {
 	static Logger logger = LogManager.getLogger(TradeProcessor.class.getSimpleName());
 
 	private final BrokerImpl broker;
+	private final Optional<MarketDataTimeline> preparedTimeline;
 	private final ExecutionInstanceProcessor executionsStarter;
-
-	private DayIteratorStorage stocks;
+	private final Optional<SimulationPruningPolicy> pruningPolicy;
+	private StatisticsProcessor statisticsProcessor;
+	private boolean pruned = false;
 
 	public TradeProcessor(final TradeProcessorInit settings) throws BadAlgorithmException {
+		this(settings, Optional.empty());
+	}
+
+	public TradeProcessor(final TradeProcessorInit settings, final Optional<SimulationPruningPolicy> pruningPolicy) throws BadAlgorithmException {
 		this.broker = settings.getBrokerImpl();
-		this.stocks = new DayIteratorStorage(settings.getPeriod().getFrom());
+		this.preparedTimeline = settings.getMarketDataTimeline();
 		this.executionsStarter = settings.getExecutionsStorage().initialize(broker, broker.getStockStorage().getStockNames());
+		this.pruningPolicy = pruningPolicy;
 	}
 
 	public Metrics simulate(final FromToPeriod period, Optional<Set<String>> stockNames) throws BadSignalException {
-		collectStocksFromStorage(stockNames);
-		return startSimulationProcess(period).calculate();
-	}
-
-	private StatisticsProcessor startSimulationProcess(final FromToPeriod period) throws BadSignalException {
-		final StatisticsProcessor statisticsProcessor = new StatisticsProcessor(broker.getTradingLog());
-		LocalDate dayIterator = new LocalDate(period.getFrom());
-		final LocalDate endDate = new LocalDate(period.getTo());
-		while (dayIterator.isBefore(endDate)) {
-			final HashMap<String, Day> datafeed = new HashMap<String, Day>();
-			final Date today = dayIterator.toDate();
-			final Day currentDay = new Day(today);
-
-			broker.setToday(today);
-			for (Entry<String, DayIterator> stock : stocks) {
-				final DayIterator stockIterator = stock.getValue();
-				final Optional<Day> stockDayPtr = stockIterator.getCurrentDayAndNext(currentDay);
-				if (stockDayPtr.isPresent()) {
-					final Day stockDay = stockDayPtr.get();
-					final String stockName = stock.getKey();
-					if (stockDay.compareTo(currentDay) == 0) {
-						statisticsProcessor.setStockDay(stockName, stockDay);
-						executionsStarter.runStockAlgorithms(stockName, stockDay);
-						datafeed.put(stockName, stockDay);
-					} else {
-						logger.error("Bad day returned for stock " + stockName + " for day " + today);
-						// TODO delete me i'm for testing
-						throw new RuntimeException("Test exception");
-					}
+		final MarketDataTimeline timeline = getTimeline(period, stockNames);
+		startSimulation(timeline);
+		final TradingCalendar calendar = timeline.getCalendar();
+		for (int dayIndex = 0; dayIndex < calendar.size() && !pruned; ++dayIndex) {
+			final Date today = calendar.getDate(dayIndex);
+			final int dayEntriesTo = timeline.getDayEntriesTo(dayIndex);
+			// datafeed is a part of eod algorithms api (and could be stored by
+			// them), so it is created only for days with data
+			HashMap<String, Day> datafeed = null;
+
+			startDay(today, dayIndex);
+			for (int entry = timeline.getDayEntriesFrom(dayIndex); entry < dayEntriesTo; ++entry) {
+				final int stockId = timeline.getEntryStockId(entry);
+				final StockTimeline stock = timeline.getStock(stockId);
+				final int row = timeline.getEntryRow(entry);
+				final Day stockDay = stock.getDay(row);
+				final String stockName = stock.getStockName();
+				processStockDay(stockId, stockName, stockDay, stock.getOpen(row));
+				if (datafeed == null) {
+					datafeed = new HashMap<String, Day>();
 				}
+				datafeed.put(stockName, stockDay);
 			}
-			if (!datafeed.isEmpty()) {
-				executionsStarter.runEodAlgorithms(today, datafeed);
-				statisticsProcessor.processEod();
-			}
-			dayIterator = dayIterator.plusDays(1);
+			finishDay(today, dayIndex, calendar.size(), datafeed);
 		}
-		return statisticsProcessor;
+		return statisticsProcessor.calculate();
 	}
 
-	private void collectStocksFromStorage(final Optional<Set<String>> stockNames) {
-		if (stockNames.isPresent()) {
-			final StockStorage stockStorage = broker.getStockStorage();
-			for (String i : stockStorage.getStockNames()) {
-				if (stockNames.get().contains(i)) {
-					addStock(stockStorage.getStock(i));
-				}
-			}
-		} else {
-			collectStocksFromStorage();
+	MarketDataTimeline getTimeline(final FromToPeriod period, final Optional<Set<String>> stockNames) {
+		final StockStorage stockStorage = broker.getStockStorage();
+		if (preparedTimeline.isPresent() && preparedTimeline.get().isPreparedFor(stockStorage, period, stockNames)) {
+			return preparedTimeline.get();
 		}
+		return MarketDataTimeline.create(stockStorage, period, stockNames);
 	}
 
-	private void collectStocksFromStorage() {
-		final StockStorage stockStorage = broker.getStockStorage();
-		for (String i : stockStorage.getStockNames()) {
-			addStock(stockStorage.getStock(i));
-		}
+	// simulation day steps (BatchTradeProcessor runs several trade processors over one timeline with them)
+
+	void startSimulation(final MarketDataTimeline timeline) {
+		broker.setTimeline(timeline);
+		statisticsProcessor = new StatisticsProcessor(broker.getTradingLog());
+		pruned = false;
 	}
 
-	private void addStock(Optional<Stock> stock) {
-		if (stock.isPresent()) {
-			stocks.add(stock.get());
+	void startDay(final Date today, final int dayIndex) {
+		broker.setToday(today, dayIndex);
+	}
+
+	void processStockDay(final int stockId, final String stockName, final Day stockDay, final double openPrice) throws BadSignalException {
+		// stock ids of timeline are symbol ids of broker trading log
+		statisticsProcessor.setStockPrice(stockId, stockDay.date, openPrice);
+		executionsStarter.runStockAlgorithms(stockName, stockDay);
+	}
+
+	/**
+	 * @param datafeed
+	 *            - null for days without data.
+	 */
+	void finishDay(final Date today, final int dayIndex, final int daysAmount, final HashMap<String, Day> datafeed) throws BadSignalException {
+		if (datafeed != null) {
+			executionsStarter.runEodAlgorithms(today, datafeed);
+			statisticsProcessor.processEod();
+		}
+		if (isCheckpoint(dayIndex + 1) && pruningPolicy.get().shouldPrune(statisticsProcessor, dayIndex + 1, daysAmount)) {
+			pruned = true;
 		}
 	}
 
+	Metrics calculateMetrics() {
+		return statisticsProcessor.calculate();
+	}
+
+	private boolean isCheckpoint(final int processedDays) {
+		return pruningPolicy.isPresent() && processedDays % pruningPolicy.get().getCheckpointInterval() == 0;
+	}
+
+	/**
+	 * @return true if simulation was stopped by {@link SimulationPruningPolicy}
+	 *         (so {@link Metrics} are calculated only for part of period).
+	 */
+	public boolean isPruned() {
+		return pruned;
+	}
+
 	public ExecutionInstanceProcessor getExecutionStorage() {
 		return executionsStarter;
 	}
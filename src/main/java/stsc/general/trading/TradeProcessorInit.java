@@ -9,14 +9,20 @@ import java.nio.file.Path;
 import java.text.ParseException;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 
 import stsc.common.FromToPeriod;
 import stsc.common.algorithms.BadAlgorithmException;
+import stsc.common.algorithms.EodExecutionInstance;
+import stsc.common.algorithms.ExecutionInstance;
+import stsc.common.algorithms.StockExecutionInstance;
 import stsc.common.stocks.united.format.UnitedFormatHelper;
 import stsc.common.stocks.united.format.UnitedFormatStock;
 import stsc.common.storage.StockStorage;
+import stsc.general.algorithm.AlgorithmConfigurationImpl;
+import stsc.general.algorithm.Fingerprint;
 import stsc.storage.ExecutionInstancesStorage;
 import stsc.storage.ThreadSafeStockStorage;
 
@@ -25,17 +31,42 @@ public final class TradeProcessorInit implements Cloneable {
 	private final BrokerImpl broker;
 	private final FromToPeriod period;
 	private final ExecutionInstancesStorage executionsStorage;
+	private final Optional<MarketDataTimeline> marketDataTimeline;
 
 	public TradeProcessorInit(final StockStorage stockStorage, final FromToPeriod period) {
+		this(stockStorage, period, new ExecutionInstancesStorage());
+	}
+
+	public TradeProcessorInit(final StockStorage stockStorage, final FromToPeriod period, final ExecutionInstancesStorage executionsStorage) {
 		this.broker = new BrokerImpl(stockStorage);
 		this.period = period;
-		this.executionsStorage = new ExecutionInstancesStorage();
+		this.executionsStorage = executionsStorage;
+		this.marketDataTimeline = Optional.empty();
 	}
 
-	public TradeProcessorInit(final StockStorage stockStorage, final FromToPeriod period, final ExecutionInstancesStorage executionsStorage) {
+	/**
+	 * @param marketDataTimeline
+	 *            - prepared timeline shared between all simulations of one search (it is used by {@link TradeProcessor} only if it was prepared for the
+	 *            same storage, period and stock set).
+	 */
+	public TradeProcessorInit(final StockStorage stockStorage, final FromToPeriod period, final ExecutionInstancesStorage executionsStorage,
+			final MarketDataTimeline marketDataTimeline) {
 		this.broker = new BrokerImpl(stockStorage);
 		this.period = period;
 		this.executionsStorage = executionsStorage;
+		this.marketDataTimeline = Optional.of(marketDataTimeline);
+	}
+
+	/**
+	 * @param tradingLogSpillDirectory
+	 *            - directory for memory mapped {@link TradingLog} records (see {@link BrokerImpl#BrokerImpl(StockStorage, Path)}).
+	 */
+	public TradeProcessorInit(final StockStorage stockStorage, final FromToPeriod period, final ExecutionInstancesStorage executionsStorage,
+			final Path tradingLogSpillDirectory) {
+		this.broker = new BrokerImpl(stockStorage, tradingLogSpillDirectory);
+		this.period = period;
+		this.executionsStorage = executionsStorage;
+		this.marketDataTimeline = Optional.empty();
 	}
 
 	public TradeProcessorInit(final StockStorage stockStorage, final FromToPeriod period, final String config) throws BadAlgorithmException {
@@ -43,6 +74,7 @@ public final class TradeProcessorInit implements Cloneable {
 		this.period = period;
 		final ExecutionsLoader executionsLoader = new ExecutionsLoader(period, config);
 		this.executionsStorage = executionsLoader.getExecutionsStorage();
+		this.marketDataTimeline = Optional.empty();
 	}
 
 	/**
@@ -69,6 +101,7 @@ public final class TradeProcessorInit implements Cloneable {
 			this.broker = new BrokerImpl(stockStorage);
 			this.period = period;
 			this.executionsStorage = executionsStorage;
+			this.marketDataTimeline = Optional.empty();
 		} catch (ClassNotFoundException | IOException | ParseException e) {
 			throw new BadAlgorithmException(e.getMessage());
 		}
@@ -92,10 +125,12 @@ public final class TradeProcessorInit implements Cloneable {
 		return absolutePath;
 	}
 
-	private TradeProcessorInit(final BrokerImpl broker, final FromToPeriod period, final ExecutionInstancesStorage executionsStorage) {
-		this.broker = new BrokerImpl(broker.getStockStorage());
+	private TradeProcessorInit(final BrokerImpl broker, final FromToPeriod period, final ExecutionInstancesStorage executionsStorage,
+			final Optional<MarketDataTimeline> marketDataTimeline) {
+		this.broker = new BrokerImpl(broker.getStockStorage(), broker.getTradingLogSpillDirectory());
 		this.period = period;
 		this.executionsStorage = executionsStorage;
+		this.marketDataTimeline = marketDataTimeline;
 	}
 
 	private Set<String> getStockSet(final Properties p) {
@@ -127,10 +162,37 @@ public final class TradeProcessorInit implements Cloneable {
 		return executionsStorage;
 	}
 
+	public Optional<MarketDataTimeline> getMarketDataTimeline() {
+		return marketDataTimeline;
+	}
+
 	public String stringHashCode() {
 		return getExecutionsStorage().stringHashCode();
 	}
 
+	/**
+	 * Combines (cached) settings fingerprints of stock and eod executions in execution order with execution and algorithm names.
+	 */
+	public Fingerprint fingerprint() {
+		final Fingerprint.Builder builder = Fingerprint.getBuilder();
+		final List<StockExecutionInstance> stockExecutions = getExecutionsStorage().getStockExecutions();
+		builder.add(stockExecutions.size());
+		for (StockExecutionInstance e : stockExecutions) {
+			addExecution(builder, e);
+		}
+		final List<EodExecutionInstance> eodExecutions = getExecutionsStorage().getEodExecutions();
+		builder.add(eodExecutions.size());
+		for (EodExecutionInstance e : eodExecutions) {
+			addExecution(builder, e);
+		}
+		return builder.build();
+	}
+
+	private static void addExecution(final Fingerprint.Builder builder, final ExecutionInstance<?> execution) {
+		builder.add(execution.getExecutionName()).add(execution.getAlgorithmName());
+		builder.add(AlgorithmConfigurationImpl.fingerprint(execution.getSettings()));
+	}
+
 	@Override
 	public String toString() {
 		return getExecutionsStorage().toString();
@@ -138,7 +200,7 @@ public final class TradeProcessorInit implements Cloneable {
 
 	@Override
 	public TradeProcessorInit clone() {
-		return new TradeProcessorInit(broker, period, getExecutionsStorage().clone());
+		return new TradeProcessorInit(broker, period, getExecutionsStorage().clone(), marketDataTimeline);
 	}
 
 	public List<String> generateOutForStocks() {
@@ -0,0 +1,90 @@
+package stsc.general.trading;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+
+import stsc.common.Day;
+import stsc.common.stocks.Stock;
+
+/**
+ * Immutable calendar of simulation (trading) days. Each day is addressed by its index
+ * and stored both as epoch day (amount of days from 1970-01-01, UTC) and as
+ * {@link Date}, so simulation loop could step by index without any allocation.
+ */
+public final class TradingCalendar {
+
+	static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+	private final int[] epochDays;
+	private final Date[] dates;
+
+	private TradingCalendar(final int[] epochDays) {
+		this.epochDays = epochDays;
+		this.dates = new Date[epochDays.length];
+		for (int i = 0; i < epochDays.length; ++i) {
+			dates[i] = toDate(epochDays[i]);
+		}
+	}
+
+	/**
+	 * Calendar with union of stock days from [from, to) period (so days
+	 * without any data, like weekends and holidays, are not part of it).
+	 */
+	static TradingCalendar createForStocks(final List<Stock> stocks, final Date from, final Date to) {
+		final int fromEpochDay = toEpochDay(from);
+		final int periodSize = Math.max(0, toEpochDay(to) - fromEpochDay);
+		final BitSet tradingDays = new BitSet(periodSize);
+		for (Stock stock : stocks) {
+			for (Day day : stock.getDays()) {
+				final int dayOffset = toEpochDay(day.date) - fromEpochDay;
+				if (dayOffset >= 0 && dayOffset < periodSize) {
+					tradingDays.set(dayOffset);
+				}
+			}
+		}
+		final int[] epochDays = new int[tradingDays.cardinality()];
+		int index = 0;
+		for (int i = tradingDays.nextSetBit(0); i >= 0; i = tradingDays.nextSetBit(i + 1)) {
+			epochDays[index++] = fromEpochDay + i;
+		}
+		return new TradingCalendar(epochDays);
+	}
+
+	public int size() {
+		return epochDays.length;
+	}
+
+	public Date getDate(final int dayIndex) {
+		return dates[dayIndex];
+	}
+
+	public int getEpochDay(final int dayIndex) {
+		return epochDays[dayIndex];
+	}
+
+	/**
+	 * @return index of epoch day or (-(insertion point) - 1) if calendar do
+	 *         not contain it (same contract as {@link Arrays#binarySearch}).
+	 */
+	public int findDayIndex(final int epochDay) {
+		return Arrays.binarySearch(epochDays, epochDay);
+	}
+
+	public static int toEpochDay(final Date date) {
+		return (int) Math.floorDiv(date.getTime(), MILLIS_PER_DAY);
+	}
+
+	public static Date toDate(final int epochDay) {
+		return new Date(epochDay * MILLIS_PER_DAY);
+	}
+
+	@Override
+	public String toString() {
+		if (epochDays.length == 0) {
+			return "[]";
+		}
+		return "[" + dates[0] + " - " + dates[dates.length - 1] + "] " + epochDays.length;
+	}
+}
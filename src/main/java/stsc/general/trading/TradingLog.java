@@ -1,34 +1,152 @@
 package stsc.general.trading;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.Writer;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.Date;
+import java.util.List;
 
 import stsc.common.Side;
+import stsc.general.trading.TradingRecord.TradingType;
 
-public final class TradingLog {
+/**
+ * Log of all trading operations made by {@link BrokerImpl}. Records are stored
+ * in a compact form: epoch day (see {@link TradingCalendar}), symbol id (see
+ * {@link #getSymbols()}), packed type / side bits and amount. By default
+ * records are stored at primitive arrays on heap, optionally they could be
+ * spilled to memory mapped file (then {@link #close()} should be called when
+ * log is not necessary anymore).<br/>
+ * Record properties could be read by record index (from 0 to {@link #size()}),
+ * {@link #getRecords()} is a lazy {@link TradingRecord} view on the log.
+ */
+public final class TradingLog implements Closeable {
 
-	private ArrayList<TradingRecord> records = new ArrayList<TradingRecord>();
+	private static final byte BUY_FLAG = 1;
+	private static final byte LONG_FLAG = 2;
+
+	private final SymbolTable symbols = new SymbolTable();
+	private final TradingLogStorage storage;
+
+	private final List<TradingRecord> records = new AbstractList<TradingRecord>() {
+		@Override
+		public TradingRecord get(int index) {
+			return getRecord(index);
+		}
+
+		@Override
+		public int size() {
+			return storage.size();
+		}
+	};
 
 	TradingLog() {
+		this.storage = new HeapTradingLogStorage();
+	}
+
+	/**
+	 * @param spillDirectory
+	 *            - directory for memory mapped file with records.
+	 */
+	TradingLog(final Path spillDirectory) {
+		this.storage = new MappedTradingLogStorage(spillDirectory);
+	}
+
+	TradingLog(final TradingLogStorage storage) {
+		this.storage = storage;
 	}
 
 	public void addBuyRecord(Date when, String stockName, Side side, int sharesAmount) {
-		records.add(TradingRecord.buy(when, stockName, side, sharesAmount));
+		addBuyRecord(when, symbols.intern(stockName), side, sharesAmount);
 	}
 
 	public void addSellRecord(Date when, String stockName, Side side, int sharesAmount) {
-		records.add(TradingRecord.sell(when, stockName, side, sharesAmount));
+		addSellRecord(when, symbols.intern(stockName), side, sharesAmount);
+	}
+
+	void addBuyRecord(Date when, int symbolId, Side side, int sharesAmount) {
+		add(TradingCalendar.toEpochDay(when), symbolId, (byte) (BUY_FLAG | sideFlag(side)), sharesAmount);
+	}
+
+	void addSellRecord(Date when, int symbolId, Side side, int sharesAmount) {
+		add(TradingCalendar.toEpochDay(when), symbolId, sideFlag(side), sharesAmount);
+	}
+
+	private static byte sideFlag(Side side) {
+		return side == Side.LONG ? LONG_FLAG : 0;
+	}
+
+	private void add(int epochDay, int symbolId, byte flag, int amount) {
+		storage.add(epochDay, symbolId, flag, amount);
+	}
+
+	public int size() {
+		return storage.size();
+	}
+
+	public int getEpochDay(int index) {
+		return storage.getEpochDay(index);
+	}
+
+	public int getSymbolId(int index) {
+		return storage.getSymbolId(index);
+	}
+
+	public boolean isPurchase(int index) {
+		return (storage.getFlags(index) & BUY_FLAG) != 0;
+	}
+
+	public boolean isLong(int index) {
+		return (storage.getFlags(index) & LONG_FLAG) != 0;
 	}
 
+	public int getAmount(int index) {
+		return storage.getAmount(index);
+	}
+
+	public TradingRecord getRecord(int index) {
+		final TradingType type = isPurchase(index) ? TradingType.BUY : TradingType.SELL;
+		final Side side = isLong(index) ? Side.LONG : Side.SHORT;
+		final int symbolId = getSymbolId(index);
+		return new TradingRecord(type, TradingCalendar.toDate(getEpochDay(index)), symbols.getSymbol(symbolId), symbolId, side, getAmount(index));
+	}
+
+	public SymbolTable getSymbols() {
+		return symbols;
+	}
+
+	/**
+	 * Streams records to writer without creating {@link TradingRecord}'s (date
+	 * is formatted once per day).
+	 */
 	public void printOut(Writer w) throws IOException {
-		for (TradingRecord record : records) {
-			record.printOut(w);
+		final int size = size();
+		int formattedEpochDay = 0;
+		String formattedDate = null;
+		for (int i = 0; i < size; ++i) {
+			final int epochDay = getEpochDay(i);
+			if (formattedDate == null || epochDay != formattedEpochDay) {
+				formattedEpochDay = epochDay;
+				formattedDate = TradingRecord.formatDate(TradingCalendar.toDate(epochDay));
+			}
+			TradingRecord.printOut(w, formattedDate, isPurchase(i), symbols.getSymbol(getSymbolId(i)), isLong(i), getAmount(i));
 		}
 	}
 
-	public ArrayList<TradingRecord> getRecords() {
+	/**
+	 * Releases records storage (for memory mapped log the file is deleted).
+	 */
+	@Override
+	public void close() throws IOException {
+		storage.close();
+	}
+
+	/**
+	 * @return lazy (read only) view on the log, {@link TradingRecord}'s are
+	 *         created on access.
+	 */
+	public List<TradingRecord> getRecords() {
 		return records;
 	}
 
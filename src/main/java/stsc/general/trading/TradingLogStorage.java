@@ -0,0 +1,23 @@
+package stsc.general.trading;
+
+import java.io.Closeable;
+
+/**
+ * Storage of {@link TradingLog} records. Each record is (epoch day, symbol id,
+ * packed flags, amount); records are appended only and read by index.
+ */
+interface TradingLogStorage extends Closeable {
+
+	void add(int epochDay, int symbolId, byte flags, int amount);
+
+	int size();
+
+	int getEpochDay(int index);
+
+	int getSymbolId(int index);
+
+	byte getFlags(int index);
+
+	int getAmount(int index);
+
+}
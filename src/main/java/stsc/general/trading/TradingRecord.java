@@ -16,8 +16,8 @@ import stsc.common.Side;
  * of shares {@link #amount}.<br/>
  * <b>Sell</b> is a signal from algorithm to sell {@link #stockName} with amount
  * of shares {@link #amount}.<br/>
- * This record is used by {@link TradingLog} to store trading information from
- * several algorithms.
+ * {@link TradingLog} stores trading information from several algorithms in a
+ * compact form, this class is a view on one of its records.
  */
 public final class TradingRecord {
 	public enum TradingType {
@@ -37,39 +37,41 @@ public final class TradingRecord {
 	private final TradingType type;
 	private final Date date;
 	private final String stockName;
+	private final int symbolId;
 	private final Side side;
 	private final int amount;
 
-	static TradingRecord buy(Date when, String stockName, Side side, int amount) {
-		return new TradingRecord(TradingType.BUY, when, stockName, side, amount);
-	}
-
-	static TradingRecord sell(Date when, String stockName, Side side, int amount) {
-		return new TradingRecord(TradingType.SELL, when, stockName, side, amount);
-	}
-
-	private TradingRecord(TradingType type, Date when, String stockName, Side side, int amount) {
+	TradingRecord(TradingType type, Date when, String stockName, int symbolId, Side side, int amount) {
 		this.type = type;
 		this.date = when;
 		this.stockName = stockName;
+		this.symbolId = symbolId;
 		this.side = side;
 		this.amount = amount;
 	}
 
 	void printOut(Writer w) throws IOException {
-		w.append(dateFormat.format(date));
+		printOut(w, formatDate(date), isPurchase(), stockName, isLong(), amount);
+	}
+
+	static String formatDate(Date date) {
+		return dateFormat.format(date);
+	}
+
+	static void printOut(Writer w, String formattedDate, boolean purchase, String stockName, boolean isLong, int amount) throws IOException {
+		w.append(formattedDate);
 		w.append("\t");
-		if (type == TradingType.BUY)
+		if (purchase)
 			w.append("B");
 		else
 			w.append("S");
 		w.append("\t").append(stockName).append("\t");
-		if (side == Side.LONG)
+		if (isLong)
 			w.append("LONG");
 		else
 			w.append("SHORT");
 		w.append("\t");
-		w.write(Integer.valueOf(amount).toString());
+		w.write(Integer.toString(amount));
 		w.append("\n");
 	}
 
@@ -89,6 +91,14 @@ public final class TradingRecord {
 		return stockName;
 	}
 
+	/**
+	 * @return id of {@link #stockName} at {@link SymbolTable} of
+	 *         {@link TradingLog}.
+	 */
+	public int getSymbolId() {
+		return symbolId;
+	}
+
 	public Side getSide() {
 		return side;
 	}
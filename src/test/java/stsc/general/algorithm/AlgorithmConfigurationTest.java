@@ -35,4 +35,28 @@ public final class AlgorithmConfigurationTest {
 		final Double d = as.getDoubleSetting("kill", 0.0);
 		Assert.assertEquals(15.343, d, Settings.doubleEpsilon);
 	}
+
+	@Test
+	public void testFingerprint() {
+		final AlgorithmConfigurationImpl left = new AlgorithmConfigurationImpl();
+		left.setInteger("a", 1).setInteger("b", 2).setDouble("c", 3.5).setString("d", "e").addSubExecutionName("f").addSubExecutionName("g");
+		final AlgorithmConfigurationImpl right = new AlgorithmConfigurationImpl();
+		right.addSubExecutionName("f").addSubExecutionName("g").setString("d", "e").setDouble("c", 3.5).setInteger("b", 2).setInteger("a", 1);
+		Assert.assertEquals(left.fingerprint(), right.fingerprint());
+		Assert.assertEquals(left.fingerprint(), left.clone().fingerprint());
+
+		final Fingerprint before = right.fingerprint();
+		right.setSubExecutionName(0, "g");
+		Assert.assertNotEquals(before, right.fingerprint());
+		right.setSubExecutionName(0, "f");
+		Assert.assertEquals(before, right.fingerprint());
+		right.setInteger("a", 2);
+		Assert.assertNotEquals(before, right.fingerprint());
+
+		final AlgorithmConfigurationImpl stringAsInteger = new AlgorithmConfigurationImpl();
+		stringAsInteger.setString("a", "1");
+		final AlgorithmConfigurationImpl integer = new AlgorithmConfigurationImpl();
+		integer.setInteger("a", 1);
+		Assert.assertNotEquals(stringAsInteger.fingerprint(), integer.fingerprint());
+	}
 }
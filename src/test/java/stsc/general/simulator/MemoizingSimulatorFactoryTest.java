@@ -0,0 +1,180 @@
+package stsc.general.simulator;
+
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import stsc.common.FromToPeriod;
+import stsc.common.Settings;
+import stsc.common.storage.SignalsStorage;
+import stsc.general.algorithm.Fingerprint;
+import stsc.general.statistic.MetricType;
+import stsc.general.statistic.Metrics;
+import stsc.general.trading.TradeProcessorInit;
+import stsc.storage.mocks.StockStorageMock;
+
+public final class MemoizingSimulatorFactoryTest {
+
+	@Rule
+	public TemporaryFolder testFolder = new TemporaryFolder();
+
+	private static final class TestExecution implements Execution {
+
+		private final String settings;
+		private final TradeProcessorInit init;
+		private final Set<String> stockNames;
+
+		TestExecution(final String settings, final FromToPeriod period, final String... stockNames) {
+			this.settings = settings;
+			this.init = new TradeProcessorInit(StockStorageMock.getStockStorage(), period);
+			this.stockNames = new HashSet<>(Arrays.asList(stockNames));
+		}
+
+		@Override
+		public long getId() {
+			return 0;
+		}
+
+		@Override
+		public TradeProcessorInit getInit() {
+			return init;
+		}
+
+		@Override
+		public String stringHashCode() {
+			return settings;
+		}
+
+		@Override
+		public Fingerprint fingerprint() {
+			return Fingerprint.getBuilder().add(settings).build();
+		}
+
+		@Override
+		public Execution clone() {
+			return this;
+		}
+
+		@Override
+		public Optional<Set<String>> getStockNames() {
+			return Optional.of(stockNames);
+		}
+
+	}
+
+	private static final class CountingSimulatorFactory implements SimulatorFactory {
+
+		private final AtomicInteger simulations = new AtomicInteger();
+
+		@Override
+		public Simulator createSimulator() {
+			return new Simulator() {
+				private Metrics metrics;
+
+				@Override
+				public void simulateMarketTrading(Execution simulatorSettings) {
+					final HashMap<MetricType, Double> doubleMetrics = new HashMap<>();
+					doubleMetrics.put(MetricType.avGain, (double) simulations.incrementAndGet());
+					final HashMap<MetricType, Integer> integerMetrics = new HashMap<>();
+					integerMetrics.put(MetricType.period, 18);
+					metrics = new Metrics(doubleMetrics, integerMetrics);
+				}
+
+				@Override
+				public Metrics getMetrics() {
+					return metrics;
+				}
+
+				@Override
+				public SignalsStorage getSignalsStorage() {
+					return null;
+				}
+			};
+		}
+	}
+
+	private static double simulate(final SimulatorFactory factory, final Execution execution) throws Exception {
+		final Simulator simulator = factory.createSimulator();
+		simulator.simulateMarketTrading(execution);
+		return simulator.getMetrics().getDoubleMetric(MetricType.avGain);
+	}
+
+	@Test
+	public void testMemoizingSimulatorFactoryKey() throws Exception {
+		final FromToPeriod period = new FromToPeriod("01-09-2002", "27-09-2002");
+		final FromToPeriod otherPeriod = new FromToPeriod("01-09-2002", "28-09-2002");
+		final Object key = MemoizingSimulatorFactory.calculateKey(new TestExecution("a", period, "aapl", "adm"));
+		Assert.assertEquals(key, MemoizingSimulatorFactory.calculateKey(new TestExecution("a", period, "adm", "aapl")));
+		Assert.assertNotEquals(key, MemoizingSimulatorFactory.calculateKey(new TestExecution("b", period, "aapl", "adm")));
+		Assert.assertNotEquals(key, MemoizingSimulatorFactory.calculateKey(new TestExecution("a", otherPeriod, "aapl", "adm")));
+		Assert.assertNotEquals(key, MemoizingSimulatorFactory.calculateKey(new TestExecution("a", period, "aapl")));
+	}
+
+	@Test
+	public void testMemoizingSimulatorFactoryLru() throws Exception {
+		final FromToPeriod period = new FromToPeriod("01-09-2002", "27-09-2002");
+		final CountingSimulatorFactory counting = new CountingSimulatorFactory();
+		final MemoizingSimulatorFactory factory = new MemoizingSimulatorFactory(counting, 2);
+		Assert.assertEquals(1.0, simulate(factory, new TestExecution("a", period, "aapl")), Settings.doubleEpsilon);
+		Assert.assertEquals(2.0, simulate(factory, new TestExecution("b", period, "aapl")), Settings.doubleEpsilon);
+		Assert.assertEquals(1.0, simulate(factory, new TestExecution("a", period, "aapl")), Settings.doubleEpsilon);
+		Assert.assertEquals(3.0, simulate(factory, new TestExecution("c", period, "aapl")), Settings.doubleEpsilon);
+		// 'b' was least recently used
+		Assert.assertEquals(4.0, simulate(factory, new TestExecution("b", period, "aapl")), Settings.doubleEpsilon);
+		Assert.assertEquals(1, factory.getHits());
+		Assert.assertEquals(4, factory.getMisses());
+	}
+
+	@Test
+	public void testMemoizingSimulatorFactoryDiskStore() throws Exception {
+		final FromToPeriod period = new FromToPeriod("01-09-2002", "27-09-2002");
+		final Path store = testFolder.getRoot().toPath().resolve("cache");
+		final MemoizingSimulatorFactory first = new MemoizingSimulatorFactory(new CountingSimulatorFactory(), 10, Optional.of(store));
+		Assert.assertEquals(1.0, simulate(first, new TestExecution("a", period, "aapl")), Settings.doubleEpsilon);
+
+		final MemoizingSimulatorFactory second = new MemoizingSimulatorFactory(new CountingSimulatorFactory(), 10, Optional.of(store));
+		final Simulator simulator = second.createSimulator();
+		simulator.simulateMarketTrading(new TestExecution("a", period, "aapl"));
+		Assert.assertEquals(1.0, simulator.getMetrics().getDoubleMetric(MetricType.avGain), Settings.doubleEpsilon);
+		Assert.assertEquals(18, simulator.getMetrics().getIntegerMetric(MetricType.period).intValue());
+		Assert.assertEquals(1, second.getHits());
+		Assert.assertEquals(0, second.getMisses());
+	}
+
+	@Test
+	public void testMemoizingSimulatorFactoryDiskStoreOtherVersion() throws Exception {
+		final FromToPeriod period = new FromToPeriod("01-09-2002", "27-09-2002");
+		final Path store = testFolder.getRoot().toPath().resolve("cache");
+		final MemoizingSimulatorFactory first = new MemoizingSimulatorFactory(new CountingSimulatorFactory(), 10, Optional.of(store));
+		Assert.assertEquals(1.0, simulate(first, new TestExecution("a", period, "aapl")), Settings.doubleEpsilon);
+		final Path file = store.resolve(MemoizingSimulatorFactory.calculateKey(new TestExecution("a", period, "aapl")).toString() + ".metrics");
+		Assert.assertTrue(Files.exists(file));
+		// metrics without header (as it was written before format versions)
+		try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+			out.writeByte(0);
+			out.writeByte(0);
+		}
+
+		final MemoizingSimulatorFactory second = new MemoizingSimulatorFactory(new CountingSimulatorFactory(), 10, Optional.of(store));
+		Assert.assertEquals(1.0, simulate(second, new TestExecution("a", period, "aapl")), Settings.doubleEpsilon);
+		Assert.assertEquals(0, second.getHits());
+		Assert.assertEquals(1, second.getMisses());
+
+		// simulated metrics replaced stored one
+		final MemoizingSimulatorFactory third = new MemoizingSimulatorFactory(new CountingSimulatorFactory(), 10, Optional.of(store));
+		Assert.assertEquals(1.0, simulate(third, new TestExecution("a", period, "aapl")), Settings.doubleEpsilon);
+		Assert.assertEquals(1, third.getHits());
+	}
+
+}
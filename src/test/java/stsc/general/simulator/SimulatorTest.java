@@ -1,9 +1,11 @@
 package stsc.general.simulator;
 
 import java.io.File;
+import java.io.StringWriter;
 import java.net.URISyntaxException;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Assert;
@@ -60,6 +62,35 @@ public final class SimulatorTest {
 		Assert.assertEquals(6.125517, metrics.getDoubleMetric(MetricType.avGain), Settings.doubleEpsilon);
 	}
 
+	private static String simulateAndPrintOutTradingLog(final TradeProcessorInit tpi, final Simulator simulator) throws Exception {
+		simulator.simulateMarketTrading(new ExecutionImpl(0, tpi));
+		final StringWriter tradingLog = new StringWriter();
+		tpi.getBrokerImpl().getTradingLog().printOut(tradingLog);
+		return tradingLog.toString();
+	}
+
+	@Test
+	public void testLongSideOnApplWithTradingLogSpill() throws Exception {
+		final Path spillDirectory = testFolder.newFolder("spill").toPath();
+		final ExecutionInstancesStorage executionsStorage = new ExecutionInstancesStorage();
+		final FromToPeriod period = new FromToPeriod("01-09-2002", "27-09-2002");
+		executionsStorage.addEodExecution(new EodExecutionInstance("eName", OneSideOpenAlgorithm.class, new AlgorithmConfigurationImpl()));
+
+		final String heapTradingLog = simulateAndPrintOutTradingLog(new TradeProcessorInit(stockStorageForAapl, period, executionsStorage), new SimulatorImpl());
+		final TradeProcessorInit tpi = new TradeProcessorInit(stockStorageForAapl, period, executionsStorage, spillDirectory);
+		final Simulator simulator = new SimulatorImpl();
+		// trading log is available after simulation till simulator is closed
+		final String spilledTradingLog = simulateAndPrintOutTradingLog(tpi, simulator);
+		final Metrics metrics = simulator.getMetrics();
+		Assert.assertEquals(18, metrics.getIntegerMetric(MetricType.period).intValue());
+		Assert.assertEquals(6.125517, metrics.getDoubleMetric(MetricType.avGain), Settings.doubleEpsilon);
+		Assert.assertFalse(spilledTradingLog.isEmpty());
+		Assert.assertEquals(heapTradingLog, spilledTradingLog);
+		simulator.close();
+		Assert.assertEquals(0, tpi.getBrokerImpl().getTradingLog().size());
+		Assert.assertEquals(0, spillDirectory.toFile().list().length);
+	}
+
 	@Test
 	public void testLongSideOnApplForTwoMonths() throws Exception {
 		final ExecutionInstancesStorage executionsStorage = new ExecutionInstancesStorage();
@@ -90,6 +121,27 @@ public final class SimulatorTest {
 		Assert.assertEquals(-6.125517, metrics.getDoubleMetric(MetricType.avGain), Settings.doubleEpsilon);
 	}
 
+	@Test
+	public void testBatchSimulatorOnAppl() throws Exception {
+		final FromToPeriod period = new FromToPeriod("01-09-2002", "27-09-2002");
+		final List<Execution> executions = new ArrayList<>();
+		for (String side : new String[] { "long", "short", "long" }) {
+			final ExecutionInstancesStorage executionsStorage = new ExecutionInstancesStorage();
+			executionsStorage.addEodExecution(new EodExecutionInstance("eName", OneSideOpenAlgorithm.class, new AlgorithmConfigurationImpl().setString("side", side)));
+			executions.add(new ExecutionImpl(executions.size(), new TradeProcessorInit(stockStorageForAapl, period, executionsStorage)));
+		}
+		Assert.assertTrue(BatchSimulator.isBatchable(executions.get(0), executions.get(1)));
+		final BatchSimulator simulator = new BatchSimulator();
+		simulator.simulateMarketTrading(executions);
+		Assert.assertEquals(3, simulator.size());
+		Assert.assertEquals(18, simulator.getMetrics(0).getIntegerMetric(MetricType.period).intValue());
+		Assert.assertEquals(6.125517, simulator.getMetrics(0).getDoubleMetric(MetricType.avGain), Settings.doubleEpsilon);
+		Assert.assertEquals(18, simulator.getMetrics(1).getIntegerMetric(MetricType.period).intValue());
+		Assert.assertEquals(-6.125517, simulator.getMetrics(1).getDoubleMetric(MetricType.avGain), Settings.doubleEpsilon);
+		Assert.assertEquals(6.125517, simulator.getMetrics(2).getDoubleMetric(MetricType.avGain), Settings.doubleEpsilon);
+		Assert.assertFalse(simulator.isPruned(2));
+	}
+
 	@Test
 	public void testSimpleSimulator() throws Exception {
 		final Path testOutputPath = FileSystems.getDefault().getPath(testFolder.getRoot().getAbsolutePath());
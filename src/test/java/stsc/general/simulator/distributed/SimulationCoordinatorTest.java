@@ -0,0 +1,232 @@
+package stsc.general.simulator.distributed;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import stsc.algorithms.primitive.eod.OneSideOpenAlgorithm;
+import stsc.common.FromToPeriod;
+import stsc.common.Settings;
+import stsc.common.algorithms.BadAlgorithmException;
+import stsc.common.algorithms.EodExecutionInstance;
+import stsc.common.storage.SignalsStorage;
+import stsc.common.storage.StockStorage;
+import stsc.general.algorithm.AlgorithmConfigurationImpl;
+import stsc.general.simulator.Execution;
+import stsc.general.simulator.ExecutionImpl;
+import stsc.general.simulator.Simulator;
+import stsc.general.simulator.SimulatorFactory;
+import stsc.general.simulator.SimulatorImpl;
+import stsc.general.statistic.MetricType;
+import stsc.general.statistic.Metrics;
+import stsc.general.trading.TradeProcessorInit;
+import stsc.storage.ExecutionInstancesStorage;
+import stsc.storage.mocks.StockStorageMock;
+
+public final class SimulationCoordinatorTest {
+
+	private final StockStorage stockStorage = StockStorageMock.getStockStorage();
+
+	/**
+	 * Simulator that returns 'size' setting of first eod execution as average gain.
+	 */
+	private static final class SettingSimulatorFactory implements SimulatorFactory {
+		@Override
+		public Simulator createSimulator() {
+			return new Simulator() {
+				private Metrics metrics;
+
+				@Override
+				public void simulateMarketTrading(Execution simulatorSettings) {
+					final int size = simulatorSettings.getInit().getExecutionsStorage().getEodExecutions().get(0).getSettings().getIntegers().get("size");
+					final HashMap<MetricType, Double> doubleMetrics = new HashMap<>();
+					doubleMetrics.put(MetricType.avGain, (double) size);
+					final HashMap<MetricType, Integer> integerMetrics = new HashMap<>();
+					integerMetrics.put(MetricType.period, 18);
+					metrics = new Metrics(doubleMetrics, integerMetrics);
+				}
+
+				@Override
+				public Metrics getMetrics() {
+					return metrics;
+				}
+
+				@Override
+				public SignalsStorage getSignalsStorage() {
+					return null;
+				}
+			};
+		}
+	}
+
+	private Execution createExecution(final int size) throws ParseException {
+		final ExecutionInstancesStorage executionsStorage = new ExecutionInstancesStorage();
+		final AlgorithmConfigurationImpl settings = new AlgorithmConfigurationImpl();
+		settings.setInteger("size", size).setDouble("ratio", 0.25).setString("side", "short").addSubExecutionName("in");
+		executionsStorage.addEodExecution(new EodExecutionInstance("eName", OneSideOpenAlgorithm.class, settings));
+		final TradeProcessorInit init = new TradeProcessorInit(stockStorage, new FromToPeriod("01-09-2002", "27-09-2002"), executionsStorage);
+		return new ExecutionImpl(size, init, new HashSet<>(Arrays.asList("aapl", "adm")));
+	}
+
+	private static double simulate(final SimulatorFactory factory, final Execution execution) throws Exception {
+		final Simulator simulator = factory.createSimulator();
+		simulator.simulateMarketTrading(execution);
+		return simulator.getMetrics().getDoubleMetric(MetricType.avGain);
+	}
+
+	@Test
+	public void testSimulationProtocolEncodeDecode() throws Exception {
+		final Execution execution = createExecution(7);
+		final MarketDataTimelineCache timelines = new MarketDataTimelineCache(stockStorage);
+		final Execution decoded = SimulationProtocol.decodeExecution(SimulationProtocol.encodeExecution(execution), timelines);
+		Assert.assertEquals(execution.getId(), decoded.getId());
+		Assert.assertEquals(execution.getStockNames(), decoded.getStockNames());
+		Assert.assertEquals(execution.getInit().getPeriod().getFrom(), decoded.getInit().getPeriod().getFrom());
+		Assert.assertEquals(execution.getInit().getPeriod().getTo(), decoded.getInit().getPeriod().getTo());
+		Assert.assertEquals(execution.fingerprint(), decoded.fingerprint());
+		// timeline is prepared once for period and stock set
+		final Execution other = SimulationProtocol.decodeExecution(SimulationProtocol.encodeExecution(createExecution(8)), timelines);
+		Assert.assertSame(timelines.get(decoded.getInit().getPeriod(), decoded.getStockNames()),
+				timelines.get(other.getInit().getPeriod(), other.getStockNames()));
+	}
+
+	@Test
+	public void testSimulationCoordinatorWithSimulatorImpl() throws Exception {
+		final StockStorage aaplStorage = StockStorageMock.getStockStorageFor("aapl");
+		final ExecutionInstancesStorage executionsStorage = new ExecutionInstancesStorage();
+		executionsStorage.addEodExecution(new EodExecutionInstance("eName", OneSideOpenAlgorithm.class, new AlgorithmConfigurationImpl()));
+		final Execution execution = new ExecutionImpl(0, new TradeProcessorInit(aaplStorage, new FromToPeriod("01-09-2002", "27-09-2002"), executionsStorage));
+		final Simulator local = new SimulatorImpl();
+		local.simulateMarketTrading(execution);
+
+		try (SimulationCoordinator coordinator = new SimulationCoordinator(0);
+				SimulationWorker worker = new SimulationWorker(aaplStorage, new InetSocketAddress(InetAddress.getLoopbackAddress(), coordinator.getPort()), 2)
+						.start()) {
+			final Simulator remote = coordinator.createSimulator();
+			remote.simulateMarketTrading(execution);
+			Assert.assertFalse(remote.isPruned());
+			Assert.assertEquals(18, remote.getMetrics().getIntegerMetric(MetricType.period).intValue());
+			Assert.assertEquals(6.125517, remote.getMetrics().getDoubleMetric(MetricType.avGain), Settings.doubleEpsilon);
+			Assert.assertEquals(local.getMetrics(), remote.getMetrics());
+		}
+	}
+
+	@Test
+	public void testSimulationCoordinator() throws Exception {
+		try (SimulationCoordinator coordinator = new SimulationCoordinator(0);
+				SimulationWorker worker = new SimulationWorker(stockStorage, new SettingSimulatorFactory(),
+						new InetSocketAddress(InetAddress.getLoopbackAddress(), coordinator.getPort()), 2).start()) {
+			final ExecutorService executor = Executors.newFixedThreadPool(4);
+			final List<Future<Double>> results = new ArrayList<>();
+			for (int i = 0; i < 8; ++i) {
+				final Execution execution = createExecution(i);
+				results.add(executor.submit(() -> simulate(coordinator, execution)));
+			}
+			for (int i = 0; i < 8; ++i) {
+				Assert.assertEquals(i, results.get(i).get(), Settings.doubleEpsilon);
+			}
+			executor.shutdown();
+			Assert.assertEquals(0, coordinator.getRequeuedTasksAmount());
+		}
+	}
+
+	@Test
+	public void testSimulationCoordinatorRequeueOnWorkerDeath() throws Exception {
+		try (SimulationCoordinator coordinator = new SimulationCoordinator(0)) {
+			final InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), coordinator.getPort());
+			final ExecutorService executor = Executors.newSingleThreadExecutor();
+			try (Socket dyingWorker = new Socket()) {
+				dyingWorker.connect(address);
+				final DataOutputStream out = new DataOutputStream(dyingWorker.getOutputStream());
+				SimulationProtocol.writeHandshake(out);
+				out.flush();
+				final Future<Double> result = executor.submit(() -> simulate(coordinator, createExecution(5)));
+				SimulationProtocol.readRequest(new DataInputStream(dyingWorker.getInputStream()));
+				dyingWorker.close();
+				try (SimulationWorker worker = new SimulationWorker(stockStorage, new SettingSimulatorFactory(), address, 1).start()) {
+					Assert.assertEquals(5.0, result.get(), Settings.doubleEpsilon);
+				}
+			} finally {
+				executor.shutdown();
+			}
+			Assert.assertEquals(1, coordinator.getRequeuedTasksAmount());
+		}
+	}
+
+	private static void connectDyingWorker(final InetSocketAddress address) throws Exception {
+		try (Socket dyingWorker = new Socket()) {
+			dyingWorker.connect(address);
+			final DataOutputStream out = new DataOutputStream(dyingWorker.getOutputStream());
+			SimulationProtocol.writeHandshake(out);
+			out.flush();
+			SimulationProtocol.readRequest(new DataInputStream(dyingWorker.getInputStream()));
+		}
+	}
+
+	@Test
+	public void testSimulationCoordinatorMaxAttempts() throws Exception {
+		try (SimulationCoordinator coordinator = new SimulationCoordinator(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2)) {
+			final InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), coordinator.getPort());
+			final ExecutorService executor = Executors.newSingleThreadExecutor();
+			try {
+				final Future<Double> result = executor.submit(() -> simulate(coordinator, createExecution(5)));
+				connectDyingWorker(address);
+				connectDyingWorker(address);
+				boolean failed = false;
+				try {
+					result.get();
+				} catch (ExecutionException e) {
+					failed = e.getCause() instanceof BadAlgorithmException;
+				}
+				Assert.assertTrue(failed);
+			} finally {
+				executor.shutdown();
+			}
+			Assert.assertEquals(1, coordinator.getRequeuedTasksAmount());
+		}
+	}
+
+	@Test
+	public void testSimulationCoordinatorCloseReleasesConnections() throws Exception {
+		final SimulationCoordinator coordinator = new SimulationCoordinator(0);
+		try (SimulationWorker worker = new SimulationWorker(stockStorage, new SettingSimulatorFactory(),
+				new InetSocketAddress(InetAddress.getLoopbackAddress(), coordinator.getPort()), 2).start()) {
+			Assert.assertEquals(1.0, simulate(coordinator, createExecution(1)), Settings.doubleEpsilon);
+			Assert.assertEquals(2, waitWorkerConnectionsAmount(coordinator, 2));
+			coordinator.close();
+			// connection threads waiting for tasks are woken up
+			Assert.assertEquals(0, waitWorkerConnectionsAmount(coordinator, 0));
+			worker.join();
+			boolean failed = false;
+			try {
+				simulate(coordinator, createExecution(2));
+			} catch (BadAlgorithmException e) {
+				failed = true;
+			}
+			Assert.assertTrue(failed);
+		}
+	}
+
+	private static int waitWorkerConnectionsAmount(final SimulationCoordinator coordinator, final int amount) throws InterruptedException {
+		for (int i = 0; i < 500 && coordinator.getWorkerConnectionsAmount() != amount; ++i) {
+			Thread.sleep(10);
+		}
+		return coordinator.getWorkerConnectionsAmount();
+	}
+
+}
@@ -97,4 +97,20 @@ public class AlgorithmSettingsGeneticListTest {
 		Assert.assertEquals(merge.getDoubleSetting("s", 343.54), original.getDoubleSetting("s", 56.4));
 		Assert.assertEquals(merge.getStringSetting("z", "vrr"), original.getStringSetting("z", "v"));
 	}
+
+	@Test
+	public void testAlgorithmSettingsGeneticListEncodeDecode() throws ParseException, BadParameterException, BadAlgorithmException {
+		final AlgorithmConfigurationSetGeneticGenerator mas = getGeneticGenerator();
+		for (int i = 0; i < 1000; ++i) {
+			final MutableAlgorithmConfiguration original = mas.generateRandom();
+			final int[] genome = new int[mas.parametersSize() + 1];
+			Assert.assertEquals(mas.parametersSize() + 1, mas.encode(original, genome, 1));
+			final MutableAlgorithmConfiguration decoded = mas.decode(genome, 1);
+			final StringBuilder originalSb = new StringBuilder();
+			final StringBuilder decodedSb = new StringBuilder();
+			original.stringHashCode(originalSb);
+			decoded.stringHashCode(decodedSb);
+			Assert.assertEquals(originalSb.toString(), decodedSb.toString());
+		}
+	}
 }
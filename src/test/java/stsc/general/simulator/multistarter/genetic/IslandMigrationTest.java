@@ -0,0 +1,60 @@
+package stsc.general.simulator.multistarter.genetic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import stsc.general.statistic.MetricType;
+import stsc.general.statistic.Metrics;
+import stsc.general.strategy.TradingStrategy;
+
+public class IslandMigrationTest {
+
+	private static List<TradingStrategy> getStrategies(final int size) {
+		final List<TradingStrategy> result = new ArrayList<>();
+		for (int i = 0; i < size; ++i) {
+			final HashMap<MetricType, Double> doubleMetrics = new HashMap<>();
+			doubleMetrics.put(MetricType.avGain, (double) i);
+			result.add(TradingStrategy.createTest(new Metrics(doubleMetrics, Collections.emptyMap())));
+		}
+		return result;
+	}
+
+	@Test
+	public void testIslandMigrationPopulations() {
+		final IslandMigration migration = new IslandMigration(3, 5, 2);
+		Assert.assertFalse(migration.isMigrationPopulation(0));
+		Assert.assertFalse(migration.isMigrationPopulation(4));
+		Assert.assertTrue(migration.isMigrationPopulation(5));
+		Assert.assertTrue(migration.isMigrationPopulation(10));
+	}
+
+	@Test
+	public void testIslandMigrationRingDelivery() {
+		final IslandMigration migration = new IslandMigration(3, 1, 2);
+		final List<TradingStrategy> first = getStrategies(4);
+		final List<TradingStrategy> last = getStrategies(1);
+
+		migration.emigrate(0, first);
+		migration.emigrate(2, last);
+		Assert.assertTrue(migration.immigrate(2).isEmpty());
+		// only best migrantsAmount strategies are sent to the next island
+		Assert.assertEquals(first.subList(0, 2), migration.immigrate(1));
+		// last island sends to the first one
+		Assert.assertEquals(last, migration.immigrate(0));
+		// inbox is empty after immigration
+		Assert.assertTrue(migration.immigrate(1).isEmpty());
+		Assert.assertTrue(migration.immigrate(0).isEmpty());
+
+		migration.emigrate(1, first);
+		migration.emigrate(1, last);
+		final List<TradingStrategy> expected = new ArrayList<>(first.subList(0, 2));
+		expected.addAll(last);
+		Assert.assertEquals(expected, migration.immigrate(2));
+	}
+
+}
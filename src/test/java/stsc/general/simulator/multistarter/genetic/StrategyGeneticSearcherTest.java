@@ -1,222 +1,472 @@
-package stsc.general.simulator.multistarter.genetic;
-
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Random;
-import java.util.Set;
-
-import org.junit.Assert;
-import org.junit.Test;
-
-import com.google.common.collect.Maps;
-
-import stsc.common.BadSignalException;
-import stsc.common.algorithms.BadAlgorithmException;
-import stsc.common.storage.SignalsStorage;
-import stsc.general.simulator.Simulator;
-import stsc.general.simulator.SimulatorFactory;
-import stsc.general.simulator.Execution;
-import stsc.general.simulator.multistarter.StrategySearcherException;
-import stsc.general.simulator.multistarter.genetic.settings.distance.SimulatorSettingsInterval;
-import stsc.general.statistic.MetricType;
-import stsc.general.statistic.Metrics;
-import stsc.general.statistic.cost.function.CostWeightedSumFunction;
-import stsc.general.strategy.TradingStrategy;
-import stsc.general.strategy.selector.StatisticsWithSettingsClusterDistanceSelector;
-import stsc.general.strategy.selector.StrategySelector;
-import stsc.general.trading.TradeProcessorInit;
-
-/**
- * This test search max of
- * http://www.wolframalpha.com/input/?i=10-%28%28x%2B1%29%5E6+-+10+*+%28x%2B1%29%5E4+%2B+25+*+%28x%2B1%29%5E2+%29+-+%28%28y%29%5E4-6*%28y%29%5E2%29 function.
- */
-public class StrategyGeneticSearcherTest {
-
-	private static double FROM = -10.0;
-	private static double TO = 10.0;
-
-	private static final class TestSimulatorSettings implements Execution {
-
-		private double x;
-		private double y;
-
-		TestSimulatorSettings(double x, double y) {
-			this.x = x;
-			this.y = y;
-		}
-
-		@Override
-		public TradeProcessorInit getInit() {
-			return null;
-		}
-
-		@Override
-		public String stringHashCode() {
-			return String.valueOf(x) + " " + String.valueOf(y);
-		}
-
-		@Override
-		public Execution clone() {
-			return new TestSimulatorSettings(x, y);
-		}
-
-		@Override
-		public Optional<Set<String>> getStockNames() {
-			return Optional.empty();
-		}
-
-		@Override
-		public long getId() {
-			return 0;
-		}
-
-		public static double getX(Execution ss) {
-			return Double.valueOf(ss.stringHashCode().split(" ")[0]);
-		}
-
-		public static double getY(Execution ss) {
-			return Double.valueOf(ss.stringHashCode().split(" ")[1]);
-		}
-
-		public String toString() {
-			return Double.valueOf(x) + " " + y;
-		}
-
-	}
-
-	private static final class TestGeneticList implements GeneticList {
-
-		private Random r = new Random();
-
-		private double generateRandomDouble() {
-			return generateRandomDouble(FROM, TO);
-		}
-
-		private double generateRandomDouble(double f, double t) {
-			double rf = Math.min(f, t);
-			double rt = Math.max(f, t);
-			return rf + r.nextDouble() * (rt - rf);
-		}
-
-		@Override
-		public Execution generateRandom() throws BadAlgorithmException {
-			final double x = generateRandomDouble();
-			final double y = generateRandomDouble();
-			return new TestSimulatorSettings(x, y);
-		}
-
-		@Override
-		public Execution mutate(Execution settings) {
-			final boolean shouldMutateX = r.nextBoolean();
-			if (shouldMutateX) {
-				return new TestSimulatorSettings(mutate(TestSimulatorSettings.getX(settings)), TestSimulatorSettings.getY(settings));
-			} else {
-				return new TestSimulatorSettings(TestSimulatorSettings.getX(settings), mutate(TestSimulatorSettings.getY(settings)));
-			}
-		}
-
-		private double mutate(double v) {
-			final boolean hugeMutation = r.nextDouble() > 0.7;
-			if (hugeMutation)
-				return generateRandomDouble();
-			else {
-				double r = generateRandomDouble() / 10.0;
-				while (r > TO || r < FROM) {
-					r = generateRandomDouble() / 10.0;
-				}
-				return r;
-			}
-
-		}
-
-		@Override
-		public Execution merge(Execution left, Execution right) {
-			final double x = generateRandomDouble(TestSimulatorSettings.getX(left), TestSimulatorSettings.getX(right));
-			final double y = generateRandomDouble(TestSimulatorSettings.getY(left), TestSimulatorSettings.getY(right));
-			return new TestSimulatorSettings(x, y);
-		}
-
-	}
-
-	private static final class TestSimulator implements Simulator {
-
-		private Metrics metrics;
-
-		@Override
-		public void simulateMarketTrading(Execution simulatorSettings) throws BadAlgorithmException, BadSignalException {
-			final double x = TestSimulatorSettings.getX(simulatorSettings);
-			final double y = TestSimulatorSettings.getY(simulatorSettings);
-			final double v = calculate(x, y);
-			final Map<MetricType, Double> d = new HashMap<>();
-			d.put(MetricType.avGain, v);
-			metrics = new Metrics(d, Maps.newHashMap());
-		}
-
-		private double calculate(double x, double y) {
-			return 10.0 - (Math.pow(x + 1, 6) - 10 * Math.pow(x + 1, 4) + 25 * Math.pow(x + 1, 2)) - (Math.pow(y, 4) - 6 * Math.pow(y, 2));
-		}
-
-		@Override
-		public Metrics getMetrics() {
-			return metrics;
-		}
-
-		@Override
-		public SignalsStorage getSignalsStorage() {
-			return null;
-		}
-
-	}
-
-	private static final class TestSimulatorFactory implements SimulatorFactory {
-
-		@Override
-		public Simulator createSimulator() {
-			return new TestSimulator();
-		}
-
-	}
-
-	private static class TestSimulatorSettingsInterval implements SimulatorSettingsInterval {
-
-		@Override
-		public double calculateInterval(Execution left, Execution right) {
-			final double xDiff = Math.abs(TestSimulatorSettings.getX(left) - TestSimulatorSettings.getX(right));
-			final double yDiff = Math.abs(TestSimulatorSettings.getY(left) - TestSimulatorSettings.getY(right));
-			return xDiff + yDiff;
-		}
-
-	}
-
-	@Test
-	public void testStrategyGeneticSearcherWithDistanceOnSettings() throws StrategySearcherException {
-		final int N = 1;
-		int u = 0;
-		for (int i = 0; i < N; ++i) {
-			final StrategyGeneticSearcher searcher = StrategyGeneticSearcher.getBuilder(). //
-					withPopulationCostFunction(new CostWeightedSumFunction()). //
-					withGeneticList(new TestGeneticList()). //
-					withStrategySelector( //
-							new StatisticsWithSettingsClusterDistanceSelector(50, 25, //
-									new TestSimulatorSettingsInterval(), //
-									new CostWeightedSumFunction()).setEpsilon(0.001))
-					. //
-					withSimulatorFactory(new TestSimulatorFactory()). //
-					withMaxPopulationsAmount(100). //
-					withPopulationSize(300). //
-					withThreadAmount(16). //
-					build();
-			final StrategySelector strategySelector = searcher.waitAndGetSelector();
-			final StatisticsWithSettingsClusterDistanceSelector answer = //
-			new StatisticsWithSettingsClusterDistanceSelector(8, 1, new TestSimulatorSettingsInterval(), new CostWeightedSumFunction()). //
-					setEpsilon(1.5);
-			for (TradingStrategy ts : strategySelector.getStrategies()) {
-				answer.addStrategy(ts);
-			}
-			u += answer.getStrategies().size();
-		}
-		Assert.assertTrue((N - 1 * 5) <= u);
-	}
-
-}
+package stsc.general.simulator.multistarter.genetic;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.Maps;
+
+import stsc.common.BadSignalException;
+import stsc.common.FromToPeriod;
+import stsc.common.Settings;
+import stsc.common.algorithms.BadAlgorithmException;
+import stsc.common.storage.SignalsStorage;
+import stsc.general.algorithm.Fingerprint;
+import stsc.general.simulator.Simulator;
+import stsc.general.simulator.SimulatorFactory;
+import stsc.general.simulator.Execution;
+import stsc.general.simulator.multistarter.StrategySearcherException;
+import stsc.general.simulator.multistarter.genetic.settings.distance.SimulatorSettingsInterval;
+import stsc.general.statistic.MetricType;
+import stsc.general.statistic.Metrics;
+import stsc.general.statistic.cost.comparator.MetricsSameComparator;
+import stsc.general.statistic.cost.function.CostWeightedSumFunction;
+import stsc.general.strategy.TradingStrategy;
+import stsc.general.strategy.selector.StatisticsByCostSelector;
+import stsc.general.strategy.selector.StatisticsWithSettingsClusterDistanceSelector;
+import stsc.general.strategy.selector.StrategyFilteringSelector;
+import stsc.general.strategy.selector.StrategySelector;
+import stsc.general.trading.TradeProcessorInit;
+
+/**
+ * This test search max of
+ * http://www.wolframalpha.com/input/?i=10-%28%28x%2B1%29%5E6+-+10+*+%28x%2B1%29%5E4+%2B+25+*+%28x%2B1%29%5E2+%29+-+%28%28y%29%5E4-6*%28y%29%5E2%29 function.
+ */
+public class StrategyGeneticSearcherTest {
+
+	private static double FROM = -10.0;
+	private static double TO = 10.0;
+
+	private static final class TestSimulatorSettings implements Execution {
+
+		private double x;
+		private double y;
+
+		TestSimulatorSettings(double x, double y) {
+			this.x = x;
+			this.y = y;
+		}
+
+		@Override
+		public TradeProcessorInit getInit() {
+			return null;
+		}
+
+		@Override
+		public String stringHashCode() {
+			return String.valueOf(x) + " " + String.valueOf(y);
+		}
+
+		@Override
+		public Fingerprint fingerprint() {
+			return Fingerprint.getBuilder().add(x).add(y).build();
+		}
+
+		@Override
+		public Execution clone() {
+			return new TestSimulatorSettings(x, y);
+		}
+
+		@Override
+		public Optional<Set<String>> getStockNames() {
+			return Optional.empty();
+		}
+
+		@Override
+		public long getId() {
+			return 0;
+		}
+
+		public static double getX(Execution ss) {
+			return Double.valueOf(ss.stringHashCode().split(" ")[0]);
+		}
+
+		public static double getY(Execution ss) {
+			return Double.valueOf(ss.stringHashCode().split(" ")[1]);
+		}
+
+		public String toString() {
+			return Double.valueOf(x) + " " + y;
+		}
+
+	}
+
+	private static final class TestGeneticList implements GeneticList {
+
+		private Random r = new Random();
+
+		private double generateRandomDouble() {
+			return generateRandomDouble(FROM, TO);
+		}
+
+		private double generateRandomDouble(double f, double t) {
+			double rf = Math.min(f, t);
+			double rt = Math.max(f, t);
+			return rf + r.nextDouble() * (rt - rf);
+		}
+
+		@Override
+		public Execution generateRandom() throws BadAlgorithmException {
+			final double x = generateRandomDouble();
+			final double y = generateRandomDouble();
+			return new TestSimulatorSettings(x, y);
+		}
+
+		@Override
+		public Execution mutate(Execution settings) {
+			final boolean shouldMutateX = r.nextBoolean();
+			if (shouldMutateX) {
+				return new TestSimulatorSettings(mutate(TestSimulatorSettings.getX(settings)), TestSimulatorSettings.getY(settings));
+			} else {
+				return new TestSimulatorSettings(TestSimulatorSettings.getX(settings), mutate(TestSimulatorSettings.getY(settings)));
+			}
+		}
+
+		private double mutate(double v) {
+			final boolean hugeMutation = r.nextDouble() > 0.7;
+			if (hugeMutation)
+				return generateRandomDouble();
+			else {
+				double r = generateRandomDouble() / 10.0;
+				while (r > TO || r < FROM) {
+					r = generateRandomDouble() / 10.0;
+				}
+				return r;
+			}
+
+		}
+
+		@Override
+		public Execution merge(Execution left, Execution right) {
+			final double x = generateRandomDouble(TestSimulatorSettings.getX(left), TestSimulatorSettings.getX(right));
+			final double y = generateRandomDouble(TestSimulatorSettings.getY(left), TestSimulatorSettings.getY(right));
+			return new TestSimulatorSettings(x, y);
+		}
+
+	}
+
+	/**
+	 * Generates first randomAmount executions, after that each second random execution fails.
+	 */
+	private static final class TestFailingGeneticList implements GeneticList {
+
+		private final GeneticList geneticList = new TestGeneticList();
+		private final AtomicInteger calls = new AtomicInteger();
+		private final int randomAmount;
+
+		TestFailingGeneticList(final int randomAmount) {
+			this.randomAmount = randomAmount;
+		}
+
+		@Override
+		public Execution generateRandom() throws BadAlgorithmException {
+			final int call = calls.incrementAndGet();
+			if (call > randomAmount && call % 2 == 0) {
+				throw new BadAlgorithmException("test failure");
+			}
+			return geneticList.generateRandom();
+		}
+
+		@Override
+		public Execution mutate(Execution settings) {
+			return geneticList.mutate(settings);
+		}
+
+		@Override
+		public Execution merge(Execution left, Execution right) {
+			return geneticList.merge(left, right);
+		}
+
+	}
+
+	/**
+	 * Settings values are on grid (with GRID_SIZE values for x and y), so they could be encoded as genome.
+	 */
+	private static final class TestExternalizableGeneticList implements ExternalizableGeneticList {
+
+		private static final int GRID_SIZE = 201;
+
+		private Random r = new Random();
+
+		private static double getValue(int index) {
+			return FROM + index * (TO - FROM) / (GRID_SIZE - 1);
+		}
+
+		private static int getIndex(double value) {
+			return (int) Math.round((value - FROM) * (GRID_SIZE - 1) / (TO - FROM));
+		}
+
+		@Override
+		public Execution generateRandom() throws BadAlgorithmException {
+			return new TestSimulatorSettings(getValue(r.nextInt(GRID_SIZE)), getValue(r.nextInt(GRID_SIZE)));
+		}
+
+		@Override
+		public Execution mutate(Execution settings) {
+			if (r.nextBoolean()) {
+				return new TestSimulatorSettings(getValue(r.nextInt(GRID_SIZE)), TestSimulatorSettings.getY(settings));
+			} else {
+				return new TestSimulatorSettings(TestSimulatorSettings.getX(settings), getValue(r.nextInt(GRID_SIZE)));
+			}
+		}
+
+		@Override
+		public Execution merge(Execution left, Execution right) {
+			return new TestSimulatorSettings(TestSimulatorSettings.getX(left), TestSimulatorSettings.getY(right));
+		}
+
+		@Override
+		public long getId() {
+			return 0;
+		}
+
+		@Override
+		public FromToPeriod getPeriod() {
+			return null;
+		}
+
+		@Override
+		public long size() {
+			return GRID_SIZE * GRID_SIZE;
+		}
+
+		@Override
+		public List<GeneticExecutionInitializer> getStockInitializers() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public List<GeneticExecutionInitializer> getEodInitializers() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public int genomeSize() {
+			return 2;
+		}
+
+		@Override
+		public int[] encode(Execution execution) {
+			return new int[] { getIndex(TestSimulatorSettings.getX(execution)), getIndex(TestSimulatorSettings.getY(execution)) };
+		}
+
+		@Override
+		public Execution decode(int[] genome) throws BadAlgorithmException {
+			return new TestSimulatorSettings(getValue(genome[0]), getValue(genome[1]));
+		}
+
+	}
+
+	private static final class TestSimulator implements Simulator {
+
+		private Metrics metrics;
+
+		@Override
+		public void simulateMarketTrading(Execution simulatorSettings) throws BadAlgorithmException, BadSignalException {
+			final double x = TestSimulatorSettings.getX(simulatorSettings);
+			final double y = TestSimulatorSettings.getY(simulatorSettings);
+			final double v = calculate(x, y);
+			final Map<MetricType, Double> d = new HashMap<>();
+			d.put(MetricType.avGain, v);
+			metrics = new Metrics(d, Maps.newHashMap());
+		}
+
+		private double calculate(double x, double y) {
+			return 10.0 - (Math.pow(x + 1, 6) - 10 * Math.pow(x + 1, 4) + 25 * Math.pow(x + 1, 2)) - (Math.pow(y, 4) - 6 * Math.pow(y, 2));
+		}
+
+		@Override
+		public Metrics getMetrics() {
+			return metrics;
+		}
+
+		@Override
+		public SignalsStorage getSignalsStorage() {
+			return null;
+		}
+
+	}
+
+	private static final class TestSimulatorFactory implements SimulatorFactory {
+
+		@Override
+		public Simulator createSimulator() {
+			return new TestSimulator();
+		}
+
+	}
+
+	private static class TestSimulatorSettingsInterval implements SimulatorSettingsInterval {
+
+		@Override
+		public double calculateInterval(Execution left, Execution right) {
+			final double xDiff = Math.abs(TestSimulatorSettings.getX(left) - TestSimulatorSettings.getX(right));
+			final double yDiff = Math.abs(TestSimulatorSettings.getY(left) - TestSimulatorSettings.getY(right));
+			return xDiff + yDiff;
+		}
+
+	}
+
+	@Test
+	public void testStrategyGeneticSearcherWithDistanceOnSettings() throws StrategySearcherException {
+		final int N = 1;
+		int u = 0;
+		for (int i = 0; i < N; ++i) {
+			final StrategyGeneticSearcher searcher = StrategyGeneticSearcher.getBuilder(). //
+					withPopulationCostFunction(new CostWeightedSumFunction()). //
+					withGeneticList(new TestGeneticList()). //
+					withStrategySelector( //
+							new StatisticsWithSettingsClusterDistanceSelector(50, 25, //
+									new TestSimulatorSettingsInterval(), //
+									new CostWeightedSumFunction()).setEpsilon(0.001))
+					. //
+					withSimulatorFactory(new TestSimulatorFactory()). //
+					withMaxPopulationsAmount(100). //
+					withPopulationSize(300). //
+					withThreadAmount(16). //
+					build();
+			final StrategySelector strategySelector = searcher.waitAndGetSelector();
+			final StatisticsWithSettingsClusterDistanceSelector answer = //
+			new StatisticsWithSettingsClusterDistanceSelector(8, 1, new TestSimulatorSettingsInterval(), new CostWeightedSumFunction()). //
+					setEpsilon(1.5);
+			for (TradingStrategy ts : strategySelector.getStrategies()) {
+				answer.addStrategy(ts);
+			}
+			u += answer.getStrategies().size();
+		}
+		Assert.assertTrue((N - 1 * 5) <= u);
+	}
+
+	@Test
+	public void testIslandGeneticSearcherWithDistanceOnSettings() throws StrategySearcherException {
+		final IslandGeneticSearcher searcher = StrategyGeneticSearcher.getBuilder(). //
+				withPopulationCostFunction(new CostWeightedSumFunction()). //
+				withGeneticList(new TestGeneticList()). //
+				withStrategySelector( //
+						new StatisticsWithSettingsClusterDistanceSelector(50, 25, //
+								new TestSimulatorSettingsInterval(), //
+								new CostWeightedSumFunction()).setEpsilon(0.001))
+				. //
+				withIslands(4, 5, 10, () -> new StatisticsWithSettingsClusterDistanceSelector(50, 25, //
+						new TestSimulatorSettingsInterval(), //
+						new CostWeightedSumFunction()).setEpsilon(0.001))
+				. //
+				withSimulatorFactory(new TestSimulatorFactory()). //
+				withMaxPopulationsAmount(50). //
+				withPopulationSize(100). //
+				withThreadAmount(8). //
+				buildIslands();
+		final StrategySelector strategySelector = searcher.waitAndGetSelector();
+		Assert.assertTrue(strategySelector.getStrategies().size() > 0);
+		Assert.assertTrue(strategySelector.getStrategies().size() <= 50 * 25);
+	}
+
+	@Test
+	public void testSteadyStateGeneticSearcherWithDistanceOnSettings() throws StrategySearcherException {
+		final SteadyStateGeneticSearcher searcher = StrategyGeneticSearcher.getBuilder(). //
+				withPopulationCostFunction(new CostWeightedSumFunction()). //
+				withGeneticList(new TestGeneticList()). //
+				withStrategySelector( //
+						new StatisticsWithSettingsClusterDistanceSelector(50, 25, //
+								new TestSimulatorSettingsInterval(), //
+								new CostWeightedSumFunction()).setEpsilon(0.001))
+				. //
+				withSimulatorFactory(new TestSimulatorFactory()). //
+				withMaxPopulationsAmount(50). //
+				withPopulationSize(100). //
+				withThreadAmount(8). //
+				buildSteadyState();
+		final StrategySelector strategySelector = searcher.waitAndGetSelector();
+		Assert.assertEquals(50 * 100, searcher.getFinishedEvaluationsAmount());
+		Assert.assertTrue(searcher.getEvaluationsPerSecond() > 0.0);
+		Assert.assertTrue(strategySelector.getStrategies().size() > 0);
+	}
+
+	@Test
+	public void testSteadyStateGeneticSearcherFailedBreedings() throws StrategySearcherException {
+		// nothing is selected, so children are bred by random generation
+		final StrategySelector selector = new StrategyFilteringSelector(new StatisticsByCostSelector(10, new CostWeightedSumFunction(), new MetricsSameComparator()))
+				.withDoubleMinFilter(MetricType.avGain, Double.POSITIVE_INFINITY);
+		final SteadyStateGeneticSearcher searcher = StrategyGeneticSearcher.getBuilder(). //
+				withPopulationCostFunction(new CostWeightedSumFunction()). //
+				withGeneticList(new TestFailingGeneticList(20)). //
+				withStrategySelector(selector). //
+				withSimulatorFactory(new TestSimulatorFactory()). //
+				withMaxPopulationsAmount(5). //
+				withPopulationSize(20). //
+				withThreadAmount(4). //
+				buildSteadyState();
+		searcher.waitAndGetSelector();
+		Assert.assertTrue(searcher.getFailedBreedingsAmount() > 0);
+		Assert.assertEquals(5 * 20, searcher.getFinishedEvaluationsAmount() + searcher.getFailedBreedingsAmount());
+	}
+
+	private static List<String> toStrings(final List<TradingStrategy> strategies) {
+		final List<String> result = new ArrayList<>();
+		for (TradingStrategy s : strategies) {
+			result.add(s.getSettings().stringHashCode() + " " + s.getMetrics().getDoubleMetric(MetricType.avGain));
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	private static StrategyGeneticSearcherBuilder getCheckpointBuilder(final ExternalizableGeneticList geneticList) {
+		return StrategyGeneticSearcher.getBuilder(). //
+				withPopulationCostFunction(new CostWeightedSumFunction()). //
+				withGeneticList(geneticList). //
+				withStrategySelector(new StatisticsByCostSelector(50, new CostWeightedSumFunction(), new MetricsSameComparator())). //
+				withSimulatorFactory(new TestSimulatorFactory()). //
+				withPopulationSize(30). //
+				withThreadAmount(4);
+	}
+
+	@Test
+	public void testStrategyGeneticSearcherCheckpointAndResume() throws Exception {
+		final TestExternalizableGeneticList geneticList = new TestExternalizableGeneticList();
+		final Path checkpointFile = Files.createTempFile("genetic_search", ".checkpoint");
+		try {
+			final StrategySelector selector = getCheckpointBuilder(geneticList). //
+					withMaxPopulationsAmount(6). //
+					withCheckpoint(checkpointFile, 2). //
+					build().waitAndGetSelector();
+			Assert.assertFalse(selector.getStrategies().isEmpty());
+			// last checkpoint is written after 6th population
+			final GeneticSearchCheckpoint written = GeneticSearchCheckpoint.read(checkpointFile, geneticList);
+			Assert.assertEquals(6, written.currentSelectionIndex);
+			Assert.assertFalse(written.selectorStrategies.isEmpty());
+			Assert.assertFalse(written.population.isEmpty());
+			Assert.assertFalse(written.pendingExecutions.isEmpty());
+
+			// without pending executions and with reached populations amount resumed searcher does not change restored state
+			final GeneticSearchCheckpoint checkpoint = new GeneticSearchCheckpoint(7, 12.5, 10.0, written.selectorStrategies, written.population,
+					new ArrayList<>());
+			checkpoint.write(checkpointFile, geneticList);
+			final StrategyGeneticSearcher resumed = getCheckpointBuilder(geneticList). //
+					withMaxPopulationsAmount(7). //
+					withResumeFrom(checkpointFile). //
+					build();
+			final StrategySelector resumedSelector = resumed.waitAndGetSelector();
+			final GeneticSearchCheckpoint restored = resumed.createCheckpoint();
+			Assert.assertEquals(7, restored.currentSelectionIndex);
+			Assert.assertEquals(12.5, restored.maxPopulationCost, Settings.doubleEpsilon);
+			Assert.assertEquals(10.0, restored.lastCostSum, Settings.doubleEpsilon);
+			Assert.assertEquals(toStrings(written.selectorStrategies), toStrings(resumedSelector.getStrategies()));
+			Assert.assertEquals(toStrings(written.population), toStrings(restored.population));
+			Assert.assertTrue(restored.pendingExecutions.isEmpty());
+		} finally {
+			Files.deleteIfExists(checkpointFile);
+		}
+	}
+
+}
@@ -1,9 +1,21 @@
 package stsc.general.simulator.multistarter.genetic.settings.distance;
 
+import java.text.ParseException;
+import java.util.Random;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import stsc.algorithms.primitive.eod.OneSideOpenAlgorithm;
+import stsc.common.FromToPeriod;
 import stsc.common.Settings;
+import stsc.common.algorithms.EodExecutionInstance;
+import stsc.general.algorithm.AlgorithmConfigurationImpl;
+import stsc.general.simulator.Execution;
+import stsc.general.simulator.ExecutionImpl;
+import stsc.general.trading.TradeProcessorInit;
+import stsc.storage.ExecutionInstancesStorage;
+import stsc.storage.mocks.StockStorageMock;
 
 public class SimulatorSettingsIntervalTest {
 
@@ -18,4 +30,34 @@ public class SimulatorSettingsIntervalTest {
 		Assert.assertNotNull(interval);
 	}
 
+	private static Execution getExecution(final int eodsAmount, final double ratio, final int size, final int n) throws ParseException {
+		final ExecutionInstancesStorage executionsStorage = new ExecutionInstancesStorage();
+		for (int i = 0; i < eodsAmount; ++i) {
+			final AlgorithmConfigurationImpl settings = new AlgorithmConfigurationImpl();
+			settings.setDouble("ratio", ratio + i).setInteger("size", size).setInteger("n", n).setString("side", "long");
+			executionsStorage.addEodExecution(new EodExecutionInstance("eName" + i, OneSideOpenAlgorithm.class, settings));
+		}
+		return new ExecutionImpl(0, new TradeProcessorInit(StockStorageMock.getStockStorage(), new FromToPeriod("01-09-2002", "27-09-2002"), executionsStorage));
+	}
+
+	@Test
+	public void testSimulatorSettingsIntervalPointDistance() throws ParseException {
+		final SimulatorSettingsIntervalImpl interval = new SimulatorSettingsIntervalImpl();
+		final Random random = new Random(11);
+		for (int i = 0; i < 100; ++i) {
+			final int eodsAmount = 1 + random.nextInt(2);
+			final Execution left = getExecution(eodsAmount, random.nextDouble() * 10.0, random.nextInt(20), random.nextInt(5));
+			final Execution right = getExecution(eodsAmount, random.nextDouble() * 10.0, random.nextInt(20), random.nextInt(5));
+			final SimulatorSettingsPoint leftPoint = interval.getPoint(left);
+			final SimulatorSettingsPoint rightPoint = interval.getPoint(right);
+			Assert.assertEquals(leftPoint.getKey(), rightPoint.getKey());
+			Assert.assertEquals(interval.calculateInterval(left, right), leftPoint.calculateDistance(rightPoint), Settings.doubleEpsilon);
+		}
+		// executions with other algorithms have other keys
+		final Execution one = getExecution(1, 1.0, 1, 1);
+		final Execution two = getExecution(2, 1.0, 1, 1);
+		Assert.assertEquals(SimulatorSettingsIntervalImpl.MAX_INTERVAL_VALUE, interval.calculateInterval(one, two), Settings.doubleEpsilon);
+		Assert.assertNotEquals(interval.getPoint(one).getKey(), interval.getPoint(two).getKey());
+	}
+
 }
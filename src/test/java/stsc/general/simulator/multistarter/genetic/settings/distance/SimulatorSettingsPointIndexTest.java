@@ -0,0 +1,64 @@
+package stsc.general.simulator.multistarter.genetic.settings.distance;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SimulatorSettingsPointIndexTest {
+
+	private static SimulatorSettingsPoint getPoint(final Random random) {
+		final double[] coordinates = new double[3];
+		for (int i = 0; i < coordinates.length; ++i) {
+			coordinates[i] = random.nextInt(20);
+		}
+		return new SimulatorSettingsPoint("key", coordinates);
+	}
+
+	private static void assertFind(final SimulatorSettingsPointIndex<Integer> index, final List<SimulatorSettingsPoint> points, final List<Boolean> stored,
+			final SimulatorSettingsPoint point, final double radius) {
+		final HashSet<Integer> expected = new HashSet<>();
+		for (int i = 0; i < points.size(); ++i) {
+			if (stored.get(i) && points.get(i).calculateDistance(point) < radius) {
+				expected.add(i);
+			}
+		}
+		final List<Integer> found = index.find(point, radius);
+		Assert.assertEquals(expected.size(), found.size());
+		Assert.assertEquals(expected, new HashSet<>(found));
+	}
+
+	@Test
+	public void testSimulatorSettingsPointIndex() {
+		final Random random = new Random(17);
+		final SimulatorSettingsPointIndex<Integer> index = new SimulatorSettingsPointIndex<>();
+		final List<SimulatorSettingsPoint> points = new ArrayList<>();
+		final List<Boolean> stored = new ArrayList<>();
+		// values are removed by identity
+		final List<Integer> values = new ArrayList<>();
+		for (int i = 0; i < 500; ++i) {
+			final SimulatorSettingsPoint point = getPoint(random);
+			points.add(point);
+			stored.add(true);
+			values.add(new Integer(i));
+			index.add(point, values.get(i));
+		}
+		Assert.assertEquals(500, index.size());
+		for (int i = 0; i < 50; ++i) {
+			assertFind(index, points, stored, getPoint(random), 1 + random.nextInt(8));
+		}
+		for (int i = 0; i < 400; ++i) {
+			final int value = random.nextInt(points.size());
+			Assert.assertEquals(stored.get(value), index.remove(values.get(value)));
+			stored.set(value, false);
+		}
+		for (int i = 0; i < 50; ++i) {
+			assertFind(index, points, stored, getPoint(random), 1 + random.nextInt(8));
+		}
+		Assert.assertTrue(index.find(new SimulatorSettingsPoint("other key", new double[] { 1.0, 1.0, 1.0 }), 100.0).isEmpty());
+	}
+
+}
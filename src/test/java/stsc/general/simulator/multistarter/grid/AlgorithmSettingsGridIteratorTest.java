@@ -108,4 +108,35 @@ public class AlgorithmSettingsGridIteratorTest {
 		}
 		Assert.assertEquals(8, sum);
 	}
+
+	@Test
+	public void testGridSearcherGetByIndexAndIndexOf() throws BadParameterException {
+		final AlgorithmSettingsIteratorFactory factory = new AlgorithmSettingsIteratorFactory();
+		factory.add(new MpInteger("n", 1, 3, 1));
+		factory.add(new MpDouble("d", 0.1, 0.6, 0.2));
+		factory.add(new MpString("l", Arrays.asList(new String[] { "asd", "asd", "ibm" })));
+		factory.add(new MpSubExecution("", Arrays.asList(new String[] { "ema", "in" })));
+		final AlgorithmConfigurationSetGridGenerator mas = factory.getGridIterator();
+		Assert.assertEquals(36, mas.size());
+
+		long index = 0;
+		int canonical = 0;
+		for (MutableAlgorithmConfiguration se : mas) {
+			final MutableAlgorithmConfiguration decoded = mas.get(index);
+			Assert.assertEquals(se.toString(), decoded.toString());
+			if (mas.isCanonical(index)) {
+				canonical += 1;
+				Assert.assertEquals(index, mas.indexOf(decoded));
+			} else {
+				Assert.assertNotEquals(index, mas.indexOf(decoded));
+				Assert.assertTrue(mas.isCanonical(mas.indexOf(decoded)));
+			}
+			index += 1;
+		}
+		Assert.assertEquals(36, index);
+		Assert.assertEquals(24, canonical);
+
+		final MutableAlgorithmConfiguration notInGrid = mas.get(5).setInteger("n", 7);
+		Assert.assertEquals(-1, mas.indexOf(notInGrid));
+	}
 }
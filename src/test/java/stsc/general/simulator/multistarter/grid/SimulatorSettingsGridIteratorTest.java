@@ -78,14 +78,37 @@ public class SimulatorSettingsGridIteratorTest {
 		ssFactory.addEod("a3", TestGridSimulatorSettings.algoEodName("OneSideOpenAlgorithm"), f1.getGridIterator());
 		ssFactory.addEod("a4", TestGridSimulatorSettings.algoEodName("OneSideOpenAlgorithm"), f1.getGridIterator());
 
+		final SimulatorSettingsGridList list = ssFactory.getList();
 		final Set<String> hashes = new HashSet<>();
 		int allSize = 0;
-		for (Execution simulatorSettings : ssFactory.getList()) {
+		for (Execution simulatorSettings : list) {
 			hashes.add(simulatorSettings.stringHashCode());
 			allSize += 1;
 		}
 
 		Assert.assertEquals(4096, allSize);
 		Assert.assertEquals(256, hashes.size());
+
+		int canonicalSize = 0;
+		for (long i = 0; i < list.size(); ++i) {
+			if (list.isCanonical(i)) {
+				canonicalSize += 1;
+			}
+		}
+		Assert.assertEquals(256, canonicalSize);
+	}
+
+	@Test
+	public void testSimulatorSettingsGridListGetByIndex() throws BadAlgorithmException {
+		final SimulatorSettingsGridList list = TestGridSimulatorSettings.getGridList();
+		long index = 0;
+		for (Execution execution : list) {
+			final Execution decoded = list.get(index);
+			Assert.assertEquals(index, decoded.getId());
+			Assert.assertEquals(execution.stringHashCode(), decoded.stringHashCode());
+			Assert.assertEquals(index, list.indexOf(execution));
+			index += 1;
+		}
+		Assert.assertEquals(list.size(), index);
 	}
 }
@@ -2,22 +2,105 @@ package stsc.general.simulator.multistarter.grid;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import stsc.algorithms.primitive.eod.OneSideOpenAlgorithm;
 import stsc.common.Settings;
 import stsc.general.simulator.multistarter.StrategySearcher.IndicatorProgressListener;
 import stsc.general.simulator.multistarter.StrategySearcherException;
 import stsc.general.statistic.cost.comparator.MetricsDifferentComparator;
+import stsc.general.strategy.TradingStrategy;
 import stsc.general.strategy.selector.StatisticsCompareSelector;
 import stsc.general.strategy.selector.StrategySelector;
 import stsc.general.testhelper.TestGridSimulatorSettings;
+import stsc.general.testhelper.TestMetricsHelper;
 import stsc.storage.mocks.StockStorageMock;
 
 public class StrategyGridSearcherTest {
 
+	/**
+	 * Stores ids of added strategies, could fail on first added strategy.
+	 */
+	private static final class IdsSelector implements StrategySelector {
+
+		private final List<Long> ids = Collections.synchronizedList(new ArrayList<>());
+		private final AtomicBoolean failFirst;
+
+		IdsSelector(final boolean failFirst) {
+			this.failFirst = new AtomicBoolean(failFirst);
+		}
+
+		@Override
+		public List<TradingStrategy> addStrategy(TradingStrategy strategy) {
+			if (failFirst.getAndSet(false)) {
+				throw new IllegalStateException("failing strategy");
+			}
+			ids.add(strategy.getSettings().getId());
+			return Collections.emptyList();
+		}
+
+		@Override
+		public boolean removeStrategy(TradingStrategy strategy) {
+			return false;
+		}
+
+		@Override
+		public List<TradingStrategy> getStrategies() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public int currentStrategiesAmount() {
+			return ids.size();
+		}
+
+		@Override
+		public int maxPossibleAmount() {
+			return Integer.MAX_VALUE;
+		}
+
+		List<Long> getIds() {
+			return ids;
+		}
+	}
+
+	private SimulatorSettingsGridList getGridWithRepeatedValues() throws Exception {
+		final SimulatorSettingsGridFactory factory = new SimulatorSettingsGridFactory(StockStorageMock.getStockStorage(), TestMetricsHelper.getPeriod());
+		factory.addEod("os", OneSideOpenAlgorithm.class.getName(), "side", Arrays.asList(new String[] { "long", "long", "short", "short" }));
+		return factory.getList();
+	}
+
+	@Test
+	public void testStrategyGridSearcherSimulatesUniquePoints() throws Exception {
+		final SimulatorSettingsGridList list = getGridWithRepeatedValues();
+		Assert.assertEquals(4, list.size());
+		final IdsSelector selector = new IdsSelector(false);
+		final StrategyGridSearcher searcher = StrategyGridSearcher.getBuilder(). //
+				setSimulatorSettingsGridList(list). //
+				setSelector(selector). //
+				setThreadAmount(2).build();
+		searcher.waitAndGetSelector();
+		final List<Long> ids = selector.getIds();
+		Assert.assertEquals(2, ids.size());
+		Assert.assertNotEquals(list.get(ids.get(0)).fingerprint(), list.get(ids.get(1)).fingerprint());
+	}
+
+	@Test
+	public void testStrategyGridSearcherContinuesAfterRuntimeException() throws Exception {
+		final IdsSelector selector = new IdsSelector(true);
+		final StrategyGridSearcher searcher = StrategyGridSearcher.getBuilder(). //
+				setSimulatorSettingsGridList(getGridWithRepeatedValues()). //
+				setSelector(selector). //
+				setThreadAmount(1).build();
+		searcher.waitAndGetSelector();
+		Assert.assertEquals(1, selector.getIds().size());
+	}
+
 	@Test
 	public void testStrategyGridSearcher() throws Exception {
 		final SimulatorSettingsGridList list = TestGridSimulatorSettings.getGridList(StockStorageMock.getStockStorage(), Arrays.asList(new String[] { "open" }),
@@ -0,0 +1,54 @@
+package stsc.general.statistic;
+
+import java.util.Date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import stsc.common.Settings;
+
+public class EquityCurveTest {
+
+	private static final long DAY = 24L * 60 * 60 * 1000;
+
+	@Test
+	public void testEquityCurve() {
+		final EquityCurve equityCurve = new EquityCurve();
+		for (int i = 0; i < 40; ++i) {
+			equityCurve.add(new Date(i * 2 * DAY), i * 10.0);
+		}
+		Assert.assertEquals(40, equityCurve.size());
+		Assert.assertEquals(390.0, equityCurve.getLastValue(), Settings.doubleEpsilon);
+		Assert.assertEquals(78 * DAY, equityCurve.getLastTime());
+		Assert.assertEquals(new Date(6 * DAY), equityCurve.get(3).date);
+
+		Assert.assertEquals(3, equityCurve.find(new Date(6 * DAY)));
+		Assert.assertEquals(4, equityCurve.find(new Date(7 * DAY)));
+		Assert.assertEquals(40, equityCurve.find(new Date(100 * DAY)));
+	}
+
+	@Test
+	public void testEquityCurveMoneyAndPercentCopies() {
+		final EquityCurve equityCurve = new EquityCurve();
+		for (int i = 0; i < 20; ++i) {
+			equityCurve.add(new Date(i * DAY), i * 10.0);
+		}
+		equityCurve.setLast(200.0);
+		final EquityCurve inMoney = equityCurve.clone();
+		equityCurve.recalculateWithMax(2.0);
+
+		Assert.assertEquals(100.0, equityCurve.getLastValue(), Settings.doubleEpsilon);
+		Assert.assertEquals(5.0, equityCurve.get(1).value, Settings.doubleEpsilon);
+		Assert.assertEquals(200.0, inMoney.getLastValue(), Settings.doubleEpsilon);
+		Assert.assertEquals(10.0, inMoney.getValue(1), Settings.doubleEpsilon);
+
+		inMoney.setLast(300.0);
+		Assert.assertEquals(300.0, inMoney.getLastValue(), Settings.doubleEpsilon);
+		Assert.assertEquals(100.0, equityCurve.getLastValue(), Settings.doubleEpsilon);
+
+		equityCurve.add(new Date(20 * DAY), 50.0);
+		Assert.assertEquals(50.0, equityCurve.getLastValue(), Settings.doubleEpsilon);
+		Assert.assertEquals(90.0, equityCurve.getValue(18), Settings.doubleEpsilon);
+		Assert.assertEquals(20, inMoney.size());
+	}
+}
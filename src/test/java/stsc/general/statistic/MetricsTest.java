@@ -1,10 +1,19 @@
 package stsc.general.statistic;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import stsc.common.Settings;
+
 public class MetricsTest {
 
 	@Test
@@ -13,4 +22,50 @@ public class MetricsTest {
 		Assert.assertTrue(m.getDoubleMetrics().isEmpty());
 		Assert.assertTrue(m.getIntegerMetrics().isEmpty());
 	}
+
+	@Test
+	public void testMetricsPrimitiveGetters() {
+		final HashMap<MetricType, Double> doubleMetrics = new HashMap<>();
+		doubleMetrics.put(MetricType.avGain, 4.5);
+		doubleMetrics.put(MetricType.kelly, -0.25);
+		final HashMap<MetricType, Integer> integerMetrics = new HashMap<>();
+		integerMetrics.put(MetricType.period, 18);
+		final Metrics m = new Metrics(doubleMetrics, integerMetrics);
+		Assert.assertEquals(4.5, m.getDoubleValue(MetricType.avGain), Settings.doubleEpsilon);
+		Assert.assertEquals(-0.25, m.getMetricValue(MetricType.kelly), Settings.doubleEpsilon);
+		Assert.assertEquals(18, m.getIntegerValue(MetricType.period));
+		Assert.assertEquals(18.0, m.getMetricValue(MetricType.period), Settings.doubleEpsilon);
+		Assert.assertNull(m.getDoubleMetric(MetricType.winProb));
+		Assert.assertNull(m.getIntegerMetric(MetricType.avGain));
+		Assert.assertEquals(doubleMetrics, m.getDoubleMetrics());
+		Assert.assertEquals(integerMetrics, m.getIntegerMetrics());
+		Assert.assertEquals(new Metrics(doubleMetrics, integerMetrics), m);
+		Assert.assertEquals(new Metrics(doubleMetrics, integerMetrics).hashCode(), m.hashCode());
+		Assert.assertNotEquals(new Metrics(doubleMetrics, new HashMap<>()), m);
+	}
+
+	@Test
+	public void testMetricsWriteRead() throws IOException {
+		final HashMap<MetricType, Double> doubleMetrics = new HashMap<>();
+		doubleMetrics.put(MetricType.avGain, 4.5);
+		final HashMap<MetricType, Integer> integerMetrics = new HashMap<>();
+		integerMetrics.put(MetricType.period, 18);
+		final Metrics m = new Metrics(doubleMetrics, integerMetrics);
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		m.write(new DataOutputStream(bytes));
+		final byte[] written = bytes.toByteArray();
+		Assert.assertEquals(m, Metrics.read(new DataInputStream(new ByteArrayInputStream(written))));
+
+		// version byte follows magic
+		final byte[] otherVersion = Arrays.copyOf(written, written.length);
+		otherVersion[4] += 1;
+		boolean thrown = false;
+		try {
+			Metrics.read(new DataInputStream(new ByteArrayInputStream(otherVersion)));
+		} catch (IOException e) {
+			thrown = true;
+		}
+		Assert.assertTrue(thrown);
+	}
+
 }
@@ -0,0 +1,77 @@
+package stsc.general.statistic.cost.function;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import stsc.common.Settings;
+import stsc.general.statistic.MetricType;
+import stsc.general.statistic.Metrics;
+
+public class CompiledCostFunctionTest {
+
+	private Metrics getMetrics(double avGain, double winProb, int period) {
+		final HashMap<MetricType, Double> doubleMetrics = new HashMap<>();
+		doubleMetrics.put(MetricType.avGain, avGain);
+		doubleMetrics.put(MetricType.winProb, winProb);
+		final HashMap<MetricType, Integer> integerMetrics = new HashMap<>();
+		integerMetrics.put(MetricType.period, period);
+		return new Metrics(doubleMetrics, integerMetrics);
+	}
+
+	private void assertCompiled(final CompilableCostFunction costFunction, final List<Metrics> metrics) {
+		final CompiledCostFunction compiled = costFunction.compile();
+		final double[] costs = compiled.calculate(CompiledCostFunction.pack(metrics));
+		Assert.assertEquals(metrics.size(), costs.length);
+		for (int i = 0; i < metrics.size(); ++i) {
+			final double expected = costFunction.calculate(metrics.get(i));
+			Assert.assertEquals(expected, costs[i], Settings.doubleEpsilon);
+			Assert.assertEquals(expected, compiled.calculate(metrics.get(i)), Settings.doubleEpsilon);
+		}
+	}
+
+	@Test
+	public void testCompiledCostFunctionsEqualToCostFunctions() {
+		final List<Metrics> metrics = new ArrayList<>();
+		metrics.add(getMetrics(1.5, 0.4, 12));
+		metrics.add(getMetrics(-2.25, 0.75, 3));
+		metrics.add(getMetrics(0.0, 0.1, 40));
+
+		assertCompiled(new CostWeightedSumFunction().withParameter(MetricType.winProb, 2.5).withParameter(MetricType.period, 0.5), metrics);
+
+		final CostWeightedProductFunction product = new CostWeightedProductFunction();
+		product.addParameter(MetricType.winProb, 3.0);
+		product.addParameter(MetricType.period, 0.5);
+		assertCompiled(product, metrics);
+
+		final CostBayesianProbabilityFunction bayesian = new CostBayesianProbabilityFunction();
+		assertCompiled(bayesian, metrics);
+		bayesian.addLayer().put(MetricType.period, 6.0);
+		bayesian.addLayer().put(MetricType.avGain, 11.0);
+		bayesian.addLayer().put(MetricType.winProb, 2.0);
+		assertCompiled(bayesian, metrics);
+		bayesian.addLayer();
+		assertCompiled(bayesian, metrics);
+
+		final CostLexicographicalFunction lexicographical = new CostLexicographicalFunction(100.0);
+		lexicographical.addNextValue(MetricType.period);
+		lexicographical.addNextValue(MetricType.avGain);
+		lexicographical.addNextValue(MetricType.winProb);
+		assertCompiled(lexicographical, metrics);
+	}
+
+	@Test
+	public void testCompiledCostFunctionIsConfigurationSnapshot() {
+		final Metrics metrics = getMetrics(1.5, 0.4, 12);
+		final CostWeightedSumFunction costFunction = new CostWeightedSumFunction();
+		final CompiledCostFunction compiled = costFunction.compile();
+		costFunction.withParameter(MetricType.period, 1.0);
+		Assert.assertEquals(1.5, compiled.calculate(metrics), Settings.doubleEpsilon);
+		Assert.assertEquals(13.5, costFunction.calculate(metrics), Settings.doubleEpsilon);
+		Assert.assertTrue(Double.isNaN(metrics.getMetricValues()[MetricType.maxWin.ordinal()]));
+	}
+
+}
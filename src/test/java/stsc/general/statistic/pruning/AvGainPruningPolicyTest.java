@@ -0,0 +1,118 @@
+package stsc.general.statistic.pruning;
+
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.function.DoubleSupplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import stsc.algorithms.primitive.eod.OneSideOpenAlgorithm;
+import stsc.common.FromToPeriod;
+import stsc.common.algorithms.EodExecutionInstance;
+import stsc.general.algorithm.AlgorithmConfigurationImpl;
+import stsc.general.simulator.ExecutionImpl;
+import stsc.general.simulator.Simulator;
+import stsc.general.simulator.SimulatorImpl;
+import stsc.general.statistic.MetricType;
+import stsc.general.statistic.Metrics;
+import stsc.general.statistic.StatisticsProcessor;
+import stsc.general.statistic.cost.comparator.MetricsSameComparator;
+import stsc.general.statistic.cost.function.CostWeightedSumFunction;
+import stsc.general.strategy.TradingStrategy;
+import stsc.general.strategy.selector.ConcurrentStatisticsByCostSelector;
+import stsc.general.strategy.selector.StatisticsByCostSelector;
+import stsc.general.trading.BrokerImpl;
+import stsc.general.trading.TradeProcessorInit;
+import stsc.storage.ExecutionInstancesStorage;
+import stsc.storage.mocks.StockStorageMock;
+
+public class AvGainPruningPolicyTest {
+
+	@Test
+	public void testAvGainPruningPolicyUpperBound() {
+		final AvGainPruningPolicy policy = new AvGainPruningPolicy(10, 0.5, () -> 20.0);
+		Assert.assertEquals(10, policy.getCheckpointInterval());
+		Assert.assertEquals(15.0, policy.calculateUpperBound(10.0, 10), 0.000001);
+		Assert.assertEquals(0.0, policy.calculateUpperBound(-30.0, 10), 0.000001);
+		Assert.assertEquals(100.0, policy.calculateUpperBound(90.0, 100), 0.000001);
+	}
+
+	@Test
+	public void testAvGainPruningPolicyShouldPrune() {
+		final StatisticsProcessor statistics = new StatisticsProcessor(new BrokerImpl(StockStorageMock.getStockStorage()).getTradingLog());
+		Assert.assertEquals(0.0, statistics.getAvGain(), 0.000001);
+		Assert.assertEquals(0, statistics.getPeriod());
+
+		final AvGainPruningPolicy policy = new AvGainPruningPolicy(10, 0.5, () -> 20.0);
+		Assert.assertFalse(policy.shouldPrune(statistics, 50, 100));
+		Assert.assertTrue(policy.shouldPrune(statistics, 70, 100));
+
+		final AvGainPruningPolicy notFullSelector = new AvGainPruningPolicy(10, 0.5, () -> Double.NEGATIVE_INFINITY);
+		Assert.assertFalse(notFullSelector.shouldPrune(statistics, 100, 100));
+	}
+
+	private TradingStrategy getTs(double avGain) {
+		final HashMap<MetricType, Double> dh = new HashMap<>();
+		dh.put(MetricType.avGain, avGain);
+		return TradingStrategy.createTest(new Metrics(dh, new HashMap<>()));
+	}
+
+	@Test
+	public void testAvGainPruningPolicyWorstAvGainOfSelector() {
+		final StatisticsByCostSelector selector = new StatisticsByCostSelector(2, new CostWeightedSumFunction(), new MetricsSameComparator());
+		selector.addStrategy(getTs(1.0));
+		final DoubleSupplier worstAvGain = AvGainPruningPolicy.worstAvGainOf(selector, 2);
+		Assert.assertEquals(Double.NEGATIVE_INFINITY, worstAvGain.getAsDouble(), 0.000001);
+		selector.addStrategy(getTs(2.0));
+		Assert.assertEquals(Double.NEGATIVE_INFINITY, worstAvGain.getAsDouble(), 0.000001);
+		Assert.assertEquals(1.0, worstAvGain.getAsDouble(), 0.000001);
+		selector.addStrategy(getTs(3.0));
+		Assert.assertEquals(1.0, worstAvGain.getAsDouble(), 0.000001);
+		Assert.assertEquals(2.0, worstAvGain.getAsDouble(), 0.000001);
+	}
+
+	private static boolean isAccepted(final CostWeightedSumFunction costFunction) {
+		try {
+			AvGainPruningPolicy.worstAvGainOf(new StatisticsByCostSelector(2, costFunction, new MetricsSameComparator()));
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+		return true;
+	}
+
+	@Test
+	public void testAvGainPruningPolicyWorstAvGainOfAvGainCostOnly() {
+		Assert.assertTrue(isAccepted(new CostWeightedSumFunction()));
+		Assert.assertTrue(isAccepted(new CostWeightedSumFunction().withParameter(MetricType.avGain, 2.0).withParameter(MetricType.sharpeRatio, 0.0)));
+		Assert.assertFalse(isAccepted(new CostWeightedSumFunction().withParameter(MetricType.sharpeRatio, 1.0)));
+		Assert.assertFalse(isAccepted(new CostWeightedSumFunction().withParameter(MetricType.avGain, -1.0)));
+
+		final ConcurrentStatisticsByCostSelector selector = new ConcurrentStatisticsByCostSelector(2, new CostWeightedSumFunction(), new MetricsSameComparator(), 1);
+		final DoubleSupplier worstAvGain = AvGainPruningPolicy.worstAvGainOf(selector, 1);
+		selector.addStrategy(getTs(1.0));
+		selector.addStrategy(getTs(2.0));
+		Assert.assertEquals(1.0, worstAvGain.getAsDouble(), 0.000001);
+	}
+
+	private Simulator simulate(final AvGainPruningPolicy policy) throws Exception {
+		final ExecutionInstancesStorage executionsStorage = new ExecutionInstancesStorage();
+		executionsStorage.addEodExecution(new EodExecutionInstance("eName", OneSideOpenAlgorithm.class, new AlgorithmConfigurationImpl()));
+		final TradeProcessorInit tpi = new TradeProcessorInit(StockStorageMock.getStockStorageFor("aapl"), new FromToPeriod("01-09-2002", "27-09-2002"), executionsStorage);
+		final Simulator simulator = new SimulatorImpl(Optional.of(policy));
+		simulator.simulateMarketTrading(new ExecutionImpl(0, tpi));
+		return simulator;
+	}
+
+	@Test
+	public void testAvGainPruningPolicyOnSimulator() throws Exception {
+		final Simulator notPruned = simulate(new AvGainPruningPolicy(5, 0.5, () -> Double.NEGATIVE_INFINITY));
+		Assert.assertFalse(notPruned.isPruned());
+		Assert.assertEquals(18, notPruned.getMetrics().getIntegerMetric(MetricType.period).intValue());
+
+		final Simulator pruned = simulate(new AvGainPruningPolicy(5, 0.5, () -> 50.0));
+		Assert.assertTrue(pruned.isPruned());
+		Assert.assertTrue(pruned.getMetrics().getIntegerMetric(MetricType.period).intValue() < 18);
+	}
+
+}
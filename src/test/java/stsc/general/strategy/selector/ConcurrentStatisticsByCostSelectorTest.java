@@ -0,0 +1,112 @@
+package stsc.general.strategy.selector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import stsc.common.Settings;
+import stsc.general.statistic.MetricType;
+import stsc.general.statistic.Metrics;
+import stsc.general.statistic.cost.comparator.MetricsSameComparator;
+import stsc.general.statistic.cost.function.CostWeightedSumFunction;
+import stsc.general.strategy.TradingStrategy;
+
+public class ConcurrentStatisticsByCostSelectorTest {
+
+	private TradingStrategy getTs(double avGain, double winProb) {
+		final HashMap<MetricType, Double> dh = new HashMap<>();
+		dh.put(MetricType.avGain, avGain);
+		dh.put(MetricType.winProb, winProb);
+		return TradingStrategy.createTest(new Metrics(dh, new HashMap<>()));
+	}
+
+	@Test
+	public void testConcurrentStatisticsByCostSelectorWithOneStripe() {
+		final ConcurrentStatisticsByCostSelector selector = new ConcurrentStatisticsByCostSelector(3, new CostWeightedSumFunction(), new MetricsSameComparator(), 1);
+		Assert.assertTrue(selector.addStrategy(getTs(10.5, 6.9)).isEmpty());
+		Assert.assertTrue(selector.addStrategy(getTs(10.8, 4.2)).isEmpty());
+		Assert.assertEquals(Double.NEGATIVE_INFINITY, selector.getThreshold(), Settings.doubleEpsilon);
+		Assert.assertTrue(selector.addStrategy(getTs(11.1, 3.3)).isEmpty());
+		Assert.assertEquals(10.5, selector.getThreshold(), Settings.doubleEpsilon);
+
+		List<TradingStrategy> justDeleted = selector.addStrategy(getTs(10.4, 2.5));
+		Assert.assertEquals(10.4, justDeleted.get(0).getAvGain(), Settings.doubleEpsilon);
+		justDeleted = selector.addStrategy(getTs(12.3, 4.5));
+		Assert.assertEquals(10.5, justDeleted.get(0).getAvGain(), Settings.doubleEpsilon);
+		Assert.assertEquals(10.8, selector.getThreshold(), Settings.doubleEpsilon);
+		Assert.assertEquals(3, selector.currentStrategiesAmount());
+
+		Assert.assertTrue(selector.removeStrategy(selector.getStrategies().get(2)));
+		Assert.assertEquals(Double.NEGATIVE_INFINITY, selector.getThreshold(), Settings.doubleEpsilon);
+		Assert.assertEquals(2, selector.getStrategies().size());
+	}
+
+	@Test
+	public void testConcurrentStatisticsByCostSelectorFromSeveralThreads() throws Exception {
+		final ConcurrentStatisticsByCostSelector selector = new ConcurrentStatisticsByCostSelector(10, new CostWeightedSumFunction(), new MetricsSameComparator(), 4);
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		final List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < 4; ++t) {
+			final int thread = t;
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < 250; ++i) {
+					selector.addStrategy(getTs(i * 4 + thread, 0.0));
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+		final List<TradingStrategy> strategies = selector.getStrategies();
+		Assert.assertEquals(10, strategies.size());
+		Assert.assertEquals(10, selector.currentStrategiesAmount());
+		for (int i = 0; i < 10; ++i) {
+			Assert.assertEquals(999 - i, strategies.get(i).getAvGain(), Settings.doubleEpsilon);
+		}
+	}
+
+	/**
+	 * Adds strategy from thread that uses other stripe (of two stripes) then current thread.
+	 */
+	private static List<TradingStrategy> addFromOtherStripe(final ConcurrentStatisticsByCostSelector selector, final TradingStrategy strategy)
+			throws InterruptedException {
+		final List<TradingStrategy> result = new ArrayList<>();
+		Thread thread = new Thread(() -> result.addAll(selector.addStrategy(strategy)));
+		while (thread.getId() % 2 == Thread.currentThread().getId() % 2) {
+			thread = new Thread(() -> result.addAll(selector.addStrategy(strategy)));
+		}
+		thread.start();
+		thread.join();
+		return result;
+	}
+
+	@Test
+	public void testConcurrentStatisticsByCostSelectorReturnsNotSelectedAsDeleted() throws Exception {
+		final ConcurrentStatisticsByCostSelector selector = new ConcurrentStatisticsByCostSelector(2, new CostWeightedSumFunction(), new MetricsSameComparator(), 2);
+		Assert.assertTrue(selector.addStrategy(getTs(10.0, 0.0)).isEmpty());
+		Assert.assertTrue(selector.addStrategy(getTs(9.0, 0.0)).isEmpty());
+		Assert.assertTrue(addFromOtherStripe(selector, getTs(12.0, 0.0)).isEmpty());
+		Assert.assertEquals(9.0, selector.getThreshold(), Settings.doubleEpsilon);
+
+		// 9.5 is better then worst strategy of its stripe, but there are two better strategies at all stripes
+		final TradingStrategy newStrategy = getTs(9.5, 0.0);
+		final List<TradingStrategy> deleted = selector.addStrategy(newStrategy);
+		Assert.assertEquals(2, deleted.size());
+		Assert.assertEquals(9.0, deleted.get(0).getAvGain(), Settings.doubleEpsilon);
+		Assert.assertSame(newStrategy, deleted.get(1));
+		Assert.assertFalse(selector.removeStrategy(newStrategy));
+
+		final List<TradingStrategy> strategies = selector.getStrategies();
+		Assert.assertEquals(2, strategies.size());
+		Assert.assertEquals(12.0, strategies.get(0).getAvGain(), Settings.doubleEpsilon);
+		Assert.assertEquals(10.0, strategies.get(1).getAvGain(), Settings.doubleEpsilon);
+	}
+
+}
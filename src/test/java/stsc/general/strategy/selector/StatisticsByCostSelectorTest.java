@@ -1,7 +1,9 @@
 package stsc.general.strategy.selector;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -10,6 +12,7 @@ import stsc.common.Settings;
 import stsc.general.statistic.MetricType;
 import stsc.general.statistic.Metrics;
 import stsc.general.statistic.cost.comparator.MetricsSameComparator;
+import stsc.general.statistic.cost.function.CostFunction;
 import stsc.general.statistic.cost.function.CostWeightedSumFunction;
 import stsc.general.strategy.TradingStrategy;
 
@@ -61,4 +64,42 @@ public class StatisticsByCostSelectorTest {
 		justDeleted = selector.addStrategy(getTs(11.9, 1.72));
 		Assert.assertEquals(10.3, justDeleted.get(0).getAvGain(), Settings.doubleEpsilon);
 	}
+
+	@Test
+	public void testStatisticsByCostSelectorCalculatesCostOnce() {
+		final AtomicInteger calculations = new AtomicInteger();
+		final CostWeightedSumFunction costFunction = new CostWeightedSumFunction();
+		final CostFunction countingCostFunction = metrics -> {
+			calculations.incrementAndGet();
+			return costFunction.calculate(metrics);
+		};
+		final StatisticsByCostSelector selector = new StatisticsByCostSelector(2, countingCostFunction, new MetricsSameComparator());
+		final TradingStrategy strategy = getTs(10.5, 6.9);
+		Assert.assertTrue(selector.addStrategy(strategy).isEmpty());
+		Assert.assertTrue(selector.addStrategy(getTs(10.8, 4.2)).isEmpty());
+		Assert.assertEquals(10.5, strategy.getCost(countingCostFunction), Settings.doubleEpsilon);
+		Assert.assertTrue(selector.removeStrategy(strategy));
+		Assert.assertEquals(2, calculations.get());
+	}
+
+	@Test
+	public void testTradingStrategyCostCacheIsBounded() {
+		final AtomicInteger calculations = new AtomicInteger();
+		final CostWeightedSumFunction costFunction = new CostWeightedSumFunction();
+		final TradingStrategy strategy = getTs(10.5, 6.9);
+		final List<CostFunction> costFunctions = new ArrayList<>();
+		for (int i = 0; i < 9; ++i) {
+			costFunctions.add(metrics -> {
+				calculations.incrementAndGet();
+				return costFunction.calculate(metrics);
+			});
+		}
+		for (int i = 0; i < 2; ++i) {
+			for (CostFunction f : costFunctions) {
+				Assert.assertEquals(10.5, strategy.getCost(f), Settings.doubleEpsilon);
+			}
+		}
+		// only first eight costs are cached
+		Assert.assertEquals(10, calculations.get());
+	}
 }
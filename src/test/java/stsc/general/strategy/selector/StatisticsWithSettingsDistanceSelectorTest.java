@@ -0,0 +1,83 @@
+package stsc.general.strategy.selector;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import stsc.algorithms.primitive.eod.OneSideOpenAlgorithm;
+import stsc.common.FromToPeriod;
+import stsc.common.algorithms.EodExecutionInstance;
+import stsc.general.algorithm.AlgorithmConfigurationImpl;
+import stsc.general.simulator.Execution;
+import stsc.general.simulator.ExecutionImpl;
+import stsc.general.simulator.multistarter.genetic.settings.distance.SimulatorSettingsInterval;
+import stsc.general.simulator.multistarter.genetic.settings.distance.SimulatorSettingsIntervalImpl;
+import stsc.general.statistic.MetricType;
+import stsc.general.statistic.Metrics;
+import stsc.general.statistic.cost.function.CostWeightedSumFunction;
+import stsc.general.strategy.TradingStrategy;
+import stsc.general.trading.TradeProcessorInit;
+import stsc.storage.ExecutionInstancesStorage;
+import stsc.storage.mocks.StockStorageMock;
+
+/**
+ * Selectors with {@link SimulatorSettingsIntervalImpl} (settings are stored at index) should keep and delete the same strategies as
+ * selectors with interval without points (all stored settings are compared).
+ */
+public class StatisticsWithSettingsDistanceSelectorTest {
+
+	private static List<TradingStrategy> getStrategies(final int size) throws ParseException {
+		final Random random = new Random(7);
+		final FromToPeriod period = new FromToPeriod("01-09-2002", "27-09-2002");
+		final List<TradingStrategy> result = new ArrayList<>();
+		for (int i = 0; i < size; ++i) {
+			final ExecutionInstancesStorage executionsStorage = new ExecutionInstancesStorage();
+			final AlgorithmConfigurationImpl settings = new AlgorithmConfigurationImpl();
+			settings.setDouble("ratio", random.nextInt(20) / 4.0).setInteger("size", random.nextInt(10));
+			executionsStorage.addEodExecution(new EodExecutionInstance("eName", OneSideOpenAlgorithm.class, settings));
+			final Execution execution = new ExecutionImpl(i, new TradeProcessorInit(StockStorageMock.getStockStorage(), period, executionsStorage));
+			final HashMap<MetricType, Double> doubleMetrics = new HashMap<>();
+			// equal costs are frequent
+			doubleMetrics.put(MetricType.avGain, (double) random.nextInt(40));
+			result.add(new TradingStrategy(execution, new Metrics(doubleMetrics, new HashMap<>())));
+		}
+		return result;
+	}
+
+	private static SimulatorSettingsInterval withoutPoints(final SimulatorSettingsInterval interval) {
+		return (left, right) -> interval.calculateInterval(left, right);
+	}
+
+	private static void assertSameSelection(final StrategySelector indexed, final StrategySelector notIndexed, final List<TradingStrategy> strategies) {
+		for (TradingStrategy strategy : strategies) {
+			Assert.assertEquals(notIndexed.addStrategy(strategy), indexed.addStrategy(strategy));
+		}
+		Assert.assertEquals(notIndexed.getStrategies(), indexed.getStrategies());
+	}
+
+	@Test
+	public void testStatisticsWithSettingsDistanceSelectorIndex() throws ParseException {
+		final SimulatorSettingsInterval interval = new SimulatorSettingsIntervalImpl();
+		final CostWeightedSumFunction costFunction = new CostWeightedSumFunction();
+		assertSameSelection( //
+				new StatisticsWithSettingsDistanceSelector(30, interval, costFunction).setEpsilon(1.5), //
+				new StatisticsWithSettingsDistanceSelector(30, withoutPoints(interval), costFunction).setEpsilon(1.5), //
+				getStrategies(500));
+	}
+
+	@Test
+	public void testStatisticsWithSettingsClusterDistanceSelectorIndex() throws ParseException {
+		final SimulatorSettingsInterval interval = new SimulatorSettingsIntervalImpl();
+		final CostWeightedSumFunction costFunction = new CostWeightedSumFunction();
+		assertSameSelection( //
+				new StatisticsWithSettingsClusterDistanceSelector(8, 4, interval, costFunction).setEpsilon(2.5), //
+				new StatisticsWithSettingsClusterDistanceSelector(8, 4, withoutPoints(interval), costFunction).setEpsilon(2.5), //
+				getStrategies(500));
+	}
+
+}
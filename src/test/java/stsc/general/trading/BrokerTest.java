@@ -7,6 +7,7 @@ import java.net.URISyntaxException;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.text.ParseException;
+import java.util.Optional;
 
 import org.junit.Assert;
 import org.junit.Rule;
@@ -14,6 +15,7 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import stsc.common.Day;
+import stsc.common.FromToPeriod;
 import stsc.common.Side;
 import stsc.common.stocks.united.format.UnitedFormatStock;
 import stsc.storage.ThreadSafeStockStorage;
@@ -48,6 +50,8 @@ public class BrokerTest {
 		Assert.assertEquals(500, broker.sell("aapl", Side.LONG, 1000));
 		Assert.assertEquals(0, broker.buy("no30", Side.LONG, 1000));
 		Assert.assertEquals(0, broker.sell("no30", Side.SHORT, 2000));
+		Assert.assertEquals(0, broker.buy("unknown", Side.LONG, 1000));
+		Assert.assertEquals(-1, broker.getTradingLog().getSymbols().find("unknown"));
 
 		Assert.assertEquals(1000, broker.buy("aapl", Side.SHORT, 1000));
 		Assert.assertEquals(500, broker.buy("aapl", Side.LONG, 500));
@@ -86,4 +90,30 @@ public class BrokerTest {
 		broker.setToday(Day.createDate("04-11-2013"));
 		Assert.assertEquals(400, broker.sell("no30", Side.SHORT, 400));
 	}
+
+	@Test
+	public void testBrokerWithMarketDataTimeline() throws IOException, ParseException, URISyntaxException {
+		final ThreadSafeStockStorage stockStorage = new ThreadSafeStockStorage();
+
+		csvReaderHelper(stockStorage, "aapl");
+		csvReaderHelper(stockStorage, "gfi");
+		csvReaderHelper(stockStorage, "oldstock");
+		csvReaderHelper(stockStorage, "no30");
+
+		final MarketDataTimeline timeline = MarketDataTimeline.create(stockStorage, new FromToPeriod("30-10-2013", "06-11-2013"), Optional.empty());
+		final BrokerImpl broker = new BrokerImpl(stockStorage);
+		broker.setTimeline(timeline);
+		broker.setToday(timeline.getCalendar().getDate(0), 0);
+		Assert.assertEquals(200, broker.buy("aapl", Side.LONG, 200));
+		Assert.assertEquals(0, broker.buy("no30", Side.LONG, 200));
+		Assert.assertEquals(0, broker.buy("oldstock", Side.LONG, 200));
+
+		broker.setToday(timeline.getCalendar().getDate(4), 4);
+		Assert.assertEquals(200, broker.sell("aapl", Side.LONG, 200));
+		Assert.assertEquals(400, broker.buy("no30", Side.SHORT, 400));
+
+		broker.setToday(timeline.getCalendar().getDate(5), 5);
+		Assert.assertEquals(0, broker.buy("aapl", Side.LONG, 200));
+		Assert.assertEquals(400, broker.sell("no30", Side.SHORT, 400));
+	}
 }
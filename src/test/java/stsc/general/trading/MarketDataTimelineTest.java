@@ -0,0 +1,69 @@
+package stsc.general.trading;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import stsc.common.FromToPeriod;
+import stsc.common.stocks.united.format.UnitedFormatStock;
+import stsc.storage.ThreadSafeStockStorage;
+
+public final class MarketDataTimelineTest {
+
+	final private File resourceToPath(final String resourcePath) throws URISyntaxException {
+		return new File(MarketDataTimelineTest.class.getResource(resourcePath).toURI());
+	}
+
+	private void csvReaderHelper(final ThreadSafeStockStorage ss, final String stockName) throws IOException, ParseException, URISyntaxException {
+		ss.updateStock(UnitedFormatStock.readFromCsvFile(stockName, resourceToPath("trade_processor_tests").toPath().resolve(stockName + ".csv").toString()));
+	}
+
+	private int findStockId(final MarketDataTimeline timeline, final String stockName) {
+		for (int i = 0; i < timeline.getStocksAmount(); ++i) {
+			if (timeline.getStockName(i).equals(stockName)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Test
+	public void testMarketDataTimeline() throws Exception {
+		final ThreadSafeStockStorage ss = new ThreadSafeStockStorage();
+		csvReaderHelper(ss, "aapl");
+		csvReaderHelper(ss, "gfi");
+		csvReaderHelper(ss, "oldstock");
+		csvReaderHelper(ss, "no30");
+
+		final FromToPeriod period = new FromToPeriod("30-10-2013", "06-11-2013");
+		final MarketDataTimeline timeline = MarketDataTimeline.create(ss, period, Optional.empty());
+		Assert.assertEquals(6, timeline.getCalendar().size());
+		Assert.assertEquals(3, timeline.getStocksAmount());
+		Assert.assertEquals(-1, findStockId(timeline, "oldstock"));
+
+		final StockTimeline aapl = timeline.getStock(findStockId(timeline, "aapl"));
+		Assert.assertEquals(4, aapl.size());
+		Assert.assertEquals(0, aapl.getDayIndex(0));
+		Assert.assertEquals(4, aapl.getDayIndex(3));
+		Assert.assertEquals(0.54, aapl.getOpen(3), 0.000001);
+
+		final StockTimeline no30 = timeline.getStock(findStockId(timeline, "no30"));
+		Assert.assertEquals(3, no30.size());
+		Assert.assertEquals(3, no30.getDayIndex(0));
+
+		Assert.assertEquals(0, timeline.getDayEntriesFrom(0));
+		Assert.assertEquals(1, timeline.getDayEntriesTo(0));
+		Assert.assertEquals(3, timeline.getDayEntriesTo(4) - timeline.getDayEntriesFrom(4));
+		Assert.assertEquals(11, timeline.getDayEntriesTo(5));
+
+		Assert.assertTrue(timeline.isPreparedFor(ss, new FromToPeriod("30-10-2013", "06-11-2013"), Optional.empty()));
+		Assert.assertFalse(timeline.isPreparedFor(ss, period, Optional.of(Collections.singleton("aapl"))));
+		Assert.assertFalse(timeline.isPreparedFor(new ThreadSafeStockStorage(), period, Optional.empty()));
+	}
+}
@@ -0,0 +1,84 @@
+package stsc.general.trading;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.text.ParseException;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import stsc.common.Day;
+import stsc.common.Side;
+
+public class TradingLogTest {
+
+	@Rule
+	public TemporaryFolder testFolder = new TemporaryFolder();
+
+	@Test
+	public void testTradingLog() throws ParseException {
+		final TradingLog tradingLog = new TradingLog();
+		for (int i = 0; i < 20; ++i) {
+			tradingLog.addBuyRecord(Day.createDate("30-10-2013"), "aapl", Side.LONG, i + 1);
+		}
+		tradingLog.addSellRecord(Day.createDate("31-10-2013"), "gfi", Side.SHORT, 100);
+		tradingLog.addBuyRecord(Day.createDate("01-11-2013"), "gfi", Side.SHORT, 50);
+
+		Assert.assertEquals(22, tradingLog.size());
+		Assert.assertEquals(22, tradingLog.getRecords().size());
+		Assert.assertEquals(tradingLog.getSymbolId(0), tradingLog.getSymbolId(19));
+		Assert.assertNotEquals(tradingLog.getSymbolId(0), tradingLog.getSymbolId(20));
+		Assert.assertEquals(tradingLog.getEpochDay(0) + 1, tradingLog.getEpochDay(20));
+
+		Assert.assertTrue(tradingLog.isPurchase(0));
+		Assert.assertTrue(tradingLog.isLong(0));
+		Assert.assertFalse(tradingLog.isPurchase(20));
+		Assert.assertFalse(tradingLog.isLong(20));
+		Assert.assertTrue(tradingLog.isPurchase(21));
+		Assert.assertFalse(tradingLog.isLong(21));
+
+		final TradingRecord record = tradingLog.getRecords().get(20);
+		Assert.assertEquals("gfi", record.getStockName());
+		Assert.assertEquals(Side.SHORT, record.getSide());
+		Assert.assertFalse(record.isPurchase());
+		Assert.assertEquals(100, record.getAmount());
+		Assert.assertEquals(TradingCalendar.toEpochDay(Day.createDate("31-10-2013")), TradingCalendar.toEpochDay(record.getDate()));
+		Assert.assertEquals(20, tradingLog.getRecords().get(19).getAmount());
+	}
+
+	@Test
+	public void testMappedTradingLog() throws ParseException, IOException {
+		final TradingLog heapLog = new TradingLog();
+		final TradingLog mappedLog = new TradingLog(new MappedTradingLogStorage(testFolder.getRoot().toPath(), 4));
+		final String[] stocks = new String[] { "aapl", "gfi", "no30" };
+		for (int i = 0; i < 30; ++i) {
+			final String stockName = stocks[i % stocks.length];
+			final Side side = (i % 4 < 2) ? Side.LONG : Side.SHORT;
+			for (TradingLog log : new TradingLog[] { heapLog, mappedLog }) {
+				if (i % 2 == 0) {
+					log.addBuyRecord(Day.createDate("30-10-2013"), stockName, side, i + 1);
+				} else {
+					log.addSellRecord(Day.createDate("31-10-2013"), stockName, side, i + 1);
+				}
+			}
+		}
+		Assert.assertEquals(30, mappedLog.size());
+		for (int i = 0; i < heapLog.size(); ++i) {
+			Assert.assertEquals(heapLog.getEpochDay(i), mappedLog.getEpochDay(i));
+			Assert.assertEquals(heapLog.getSymbolId(i), mappedLog.getSymbolId(i));
+			Assert.assertEquals(heapLog.isPurchase(i), mappedLog.isPurchase(i));
+			Assert.assertEquals(heapLog.isLong(i), mappedLog.isLong(i));
+			Assert.assertEquals(heapLog.getAmount(i), mappedLog.getAmount(i));
+		}
+		final StringWriter heapOut = new StringWriter();
+		heapLog.printOut(heapOut);
+		final StringWriter mappedOut = new StringWriter();
+		mappedLog.printOut(mappedOut);
+		Assert.assertEquals(heapOut.toString(), mappedOut.toString());
+
+		mappedLog.close();
+		Assert.assertEquals(0, testFolder.getRoot().list().length);
+	}
+}